@@ -25,6 +25,8 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.PartitionAffinityExecutor;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
@@ -41,6 +43,7 @@ import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARTITION_AFFINITY;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 /**
@@ -294,6 +297,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         private final ExecutorService pool;
         private float[][][] scores;
         private final int concurrency;
+        private PartitionAffinityExecutor affinityExecutor;
 
         private ComputeSteps(
             AllocationTracker tracker,
@@ -319,21 +323,35 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         }
 
         private void run(int iterations) {
+            if (USE_PARTITION_AFFINITY.isEnabled() && pool != null) {
+                // every run gets its own workers, so concurrent runs don't queue up behind each other
+                try (var executor = Pools.newPartitionAffinityExecutor(concurrency)) {
+                    affinityExecutor = executor;
+                    runIterations(iterations);
+                } finally {
+                    affinityExecutor = null;
+                }
+            } else {
+                runIterations(iterations);
+            }
+        }
+
+        private void runIterations(int iterations) {
             didConverge = false;
-            ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+            runSteps();
             for (ranIterations = 0; ranIterations < iterations && !didConverge; ranIterations++) {
                 getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Start", ranIterations + 1));
                 // calculate scores
-                ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+                runSteps();
 
                 // sync scores
                 synchronizeScores();
-                ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+                runSteps();
                 didConverge = checkTolerance();
 
                 // normalize deltas
                 normalizeDeltas();
-                ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+                runSteps();
 
                 if ((ranIterations < iterations - 1) && !didConverge) {
                     getProgressLogger().reset(graph.relationshipCount());
@@ -343,6 +361,15 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             }
         }
 
+        private void runSteps() {
+            if (affinityExecutor != null) {
+                // every step allocates its arrays in the first run and keeps running on the same thread
+                affinityExecutor.run(steps, terminationFlag);
+            } else {
+                ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+            }
+        }
+
         private boolean checkTolerance() {
             return steps.stream().allMatch(ComputeStep::partitionIsStable);
         }
@@ -24,12 +24,14 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.concurrency.WorkStealing;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.DegreePartitioner;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
@@ -39,6 +41,7 @@ import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.neo4j.gds.embeddings.EmbeddingUtils.getCheckedDoubleNodeProperty;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_WORK_STEALING;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class FastRP extends Algorithm<FastRP, FastRP> {
@@ -161,7 +164,10 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
     }
 
     void propagateEmbeddings() {
-        long batchSize = ParallelUtil.adjustedBatchSize(graph.nodeCount(), concurrency, MIN_BATCH_SIZE);
+        // the partitions are computed once and shared by all iterations
+        List<Partition> partitions = USE_WORK_STEALING.isEnabled()
+            ? List.of()
+            : DegreePartitioner.degreePartitions(graph, concurrency, MIN_BATCH_SIZE, 1L, Pools.DEFAULT);
         for (int i = 0; i < iterationWeights.size(); i++) {
             progressLogger.reset(graph.relationshipCount());
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Start", i + 1));
@@ -170,15 +176,20 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
             var localPrevious = i % 2 == 0 ? embeddingB : embeddingA;
             double iterationWeight = iterationWeights.get(i).doubleValue();
 
-            List<Runnable> tasks = PartitionUtils.rangePartition(concurrency, graph.nodeCount(), batchSize)
-                .stream()
-                .map(partition -> new PropagateEmbeddingsTask(
-                    partition,
-                    localCurrent,
-                    localPrevious,
-                    iterationWeight))
-                .collect(Collectors.toList());
-            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+            if (USE_WORK_STEALING.isEnabled()) {
+                WorkStealing.forEachNodeChunk(graph, concurrency, () -> new PropagateEmbeddingsChunk(
+                    new EmbeddingPropagator(localCurrent, localPrevious, iterationWeight)
+                ));
+            } else {
+                List<Runnable> tasks = partitions
+                    .stream()
+                    .map(partition -> new PropagateEmbeddingsTask(
+                        partition,
+                        new EmbeddingPropagator(localCurrent, localPrevious, iterationWeight)
+                    ))
+                    .collect(Collectors.toList());
+                ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+            }
 
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Finished", i + 1));
         }
@@ -326,50 +337,92 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
     private final class PropagateEmbeddingsTask implements Runnable {
 
         private final Partition partition;
+        private final EmbeddingPropagator propagator;
+
+        private PropagateEmbeddingsTask(Partition partition, EmbeddingPropagator propagator) {
+            this.partition = partition;
+            this.propagator = propagator;
+        }
+
+        @Override
+        public void run() {
+            long degrees = 0;
+            for (long nodeId = partition.startNode(); nodeId < partition.startNode() + partition.nodeCount(); nodeId++) {
+                degrees += propagator.propagate(nodeId);
+                if (nodeId % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+            progressLogger.logProgress(degrees);
+        }
+    }
+
+    private final class PropagateEmbeddingsChunk implements WorkStealing.ChunkConsumer {
+
+        private final EmbeddingPropagator propagator;
+        private long degrees;
+
+        private PropagateEmbeddingsChunk(EmbeddingPropagator propagator) {
+            this.propagator = propagator;
+        }
+
+        @Override
+        public void accept(long nodeId) {
+            degrees += propagator.propagate(nodeId);
+            if (nodeId % RUN_CHECK_NODE_COUNT == 0) {
+                assertRunning();
+            }
+        }
+
+        @Override
+        public void finishChunk() {
+            progressLogger.logProgress(degrees);
+        }
+    }
+
+    private final class EmbeddingPropagator {
+
         private final HugeObjectArray<float[]> localCurrent;
         private final HugeObjectArray<float[]> localPrevious;
         private final double iterationWeight;
         private final Graph concurrentGraph;
+        private long relationshipsVisited;
 
-        private PropagateEmbeddingsTask(
-            Partition partition,
+        private EmbeddingPropagator(
             HugeObjectArray<float[]> localCurrent,
             HugeObjectArray<float[]> localPrevious,
             double iterationWeight
         ) {
-            this.partition = partition;
             this.localCurrent = localCurrent;
             this.localPrevious = localPrevious;
             this.iterationWeight = iterationWeight;
             this.concurrentGraph = graph.concurrentCopy();
         }
 
-        @Override
-        public void run() {
-            long degrees = 0;
-            for (long nodeId = partition.startNode(); nodeId < partition.startNode() + partition.nodeCount(); nodeId++) {
-                float[] embedding = embeddings.get(nodeId);
-                float[] currentEmbedding = localCurrent.get(nodeId);
-                Arrays.fill(currentEmbedding, 0.0f);
-
-                // Collect and combine the neighbour embeddings
-                concurrentGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
-                    embeddingCombiner.combine(currentEmbedding, localPrevious.get(target), weight);
-                    return true;
-                });
-
-                // Normalize neighbour embeddings
-                var degree = graph.degree(nodeId);
-                int adjustedDegree = degree == 0 ? 1 : degree;
-                double degreeScale = 1.0f / adjustedDegree;
-                multiplyArrayValues(currentEmbedding, degreeScale);
-                l2Normalize(currentEmbedding);
-
-                // Update the result embedding
-                updateEmbeddings(iterationWeight, embedding, currentEmbedding);
-                degrees += degree;
-            }
-            progressLogger.logProgress(degrees);
+        int propagate(long nodeId) {
+            float[] embedding = embeddings.get(nodeId);
+            float[] currentEmbedding = localCurrent.get(nodeId);
+            Arrays.fill(currentEmbedding, 0.0f);
+
+            // Collect and combine the neighbour embeddings
+            concurrentGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                embeddingCombiner.combine(currentEmbedding, localPrevious.get(target), weight);
+                if ((++relationshipsVisited & RUN_CHECK_RELATIONSHIP_MASK) == 0) {
+                    assertRunning();
+                }
+                return true;
+            });
+
+            // Normalize neighbour embeddings
+            var degree = graph.degree(nodeId);
+            int adjustedDegree = degree == 0 ? 1 : degree;
+            double degreeScale = 1.0f / adjustedDegree;
+            multiplyArrayValues(currentEmbedding, degreeScale);
+            l2Normalize(currentEmbedding);
+
+            // Update the result embedding
+            updateEmbeddings(iterationWeight, embedding, currentEmbedding);
+            return degree;
         }
     }
 }
@@ -24,33 +24,34 @@ import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public final class ColoringStep implements Runnable {
 
     public static final int INITIAL_FORBIDDEN_COLORS = 1000;
     
     private final RelationshipIterator graph;
     private final HugeLongArray colors;
-    private final BitSet nodesToColor;
+    private final Worklist worklist;
+    private final AtomicLong cursor;
     private final BitSet forbiddenColors;
-    private final long offset;
+    private final long batchSize;
     private final ProgressLogger progressLogger;
-    private final long batchEnd;
     private final long[] resetMask;
 
-    public ColoringStep(
+    ColoringStep(
         RelationshipIterator graph,
         HugeLongArray colors,
-        BitSet nodesToColor,
-        long nodeCount,
-        long offset,
+        Worklist worklist,
+        AtomicLong cursor,
         long batchSize,
         ProgressLogger progressLogger
     ) {
         this.graph = graph;
         this.colors = colors;
-        this.nodesToColor = nodesToColor;
-        this.offset = offset;
-        this.batchEnd = Math.min(offset + batchSize, nodeCount);
+        this.worklist = worklist;
+        this.cursor = cursor;
+        this.batchSize = batchSize;
         this.forbiddenColors = new BitSet(INITIAL_FORBIDDEN_COLORS);
         this.resetMask = new long[INITIAL_FORBIDDEN_COLORS];
         this.progressLogger = progressLogger;
@@ -58,8 +59,12 @@ public final class ColoringStep implements Runnable {
 
     @Override
     public void run() {
-        for (long nodeId = offset; nodeId < batchEnd; nodeId++) {
-            if (nodesToColor.get(nodeId)) {
+        long worklistSize = worklist.size();
+        long offset;
+        while ((offset = cursor.getAndAdd(batchSize)) < worklistSize) {
+            long batchEnd = Math.min(offset + batchSize, worklistSize);
+            for (long index = offset; index < batchEnd; index++) {
+                long nodeId = worklist.get(index);
                 resetForbiddenColors();
 
                 graph.forEachRelationship(nodeId, (s, target) -> {
@@ -75,9 +80,8 @@ public final class ColoringStep implements Runnable {
                 }
 
                 colors.set(nodeId, nextColor);
-
-                progressLogger.logProgress();
             }
+            progressLogger.logProgress(batchEnd - offset);
         }
     }
 
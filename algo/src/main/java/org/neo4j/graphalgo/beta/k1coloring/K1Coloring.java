@@ -24,15 +24,12 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.partition.Partition;
-import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
-import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -61,6 +58,12 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * The implementation is greedy, so it is not garantied to find an optimal solution, i.e. the coloring can be imperfect
  * and contain more colors as needed.
  * </p>
+ *
+ * <p>
+ * Every iteration colors the nodes of a worklist speculatively in parallel and then validates them.
+ * Only nodes that ended up in a conflict are collected into the worklist of the next iteration,
+ * so later iterations touch just the conflicting nodes instead of scanning all nodes again.
+ * </p>
  */
 public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
@@ -73,7 +76,8 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
     private final long maxIterations;
 
-    private BitSet nodesToColor;
+    private HugeAtomicBitSet nodesToColor;
+    private Worklist worklist;
     private HugeLongArray colors;
     private long ranIterations;
     private boolean didConverge;
@@ -90,7 +94,7 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         AllocationTracker tracker
     ) {
         this.graph = graph;
-        this.minBatchSize = minBatchSize;
+        this.minBatchSize = Math.max(1, minBatchSize);
         this.concurrency = concurrency;
         this.executor = executor;
         this.progressLogger = progressLogger;
@@ -99,8 +103,6 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         this.nodeCount = graph.nodeCount();
         this.maxIterations = maxIterations;
 
-        this.nodesToColor = new BitSet(nodeCount);
-
         if (maxIterations <= 0L) {
             throw new IllegalArgumentException("Must iterate at least 1 time");
         }
@@ -115,6 +117,10 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
     public void release() {
         graph.release();
         nodesToColor = null;
+        if (worklist != null) {
+            worklist.release();
+            worklist = null;
+        }
     }
 
     public long ranIterations() {
@@ -127,7 +133,7 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
     public BitSet usedColors() {
         if (usedColors == null) {
-            this.usedColors = new BitSet(nodeCount);
+            this.usedColors = new BitSet();
             graph.forEachNode((nodeId) -> {
                     usedColors.set(colors.get(nodeId));
                     return true;
@@ -149,9 +155,10 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         colors.setAll((nodeId) -> ColoringStep.INITIAL_FORBIDDEN_COLORS);
 
         ranIterations = 0L;
-        nodesToColor.set(0, nodeCount);
+        nodesToColor = HugeAtomicBitSet.create(nodeCount, tracker);
+        worklist = Worklist.allNodes(nodeCount);
 
-        while (ranIterations < maxIterations && !nodesToColor.isEmpty()) {
+        while (ranIterations < maxIterations && !worklist.isEmpty()) {
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Start", ranIterations + 1));
             assertRunning();
             runColoring();
@@ -161,8 +168,12 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
             ++ranIterations;
 
-            if (ranIterations < maxIterations && !nodesToColor.isEmpty()) {
-                getProgressLogger().reset(nodesToColor.cardinality() * 2);
+            worklist.release();
+            worklist = Worklist.of(nodesToColor, tracker);
+            nodesToColor.clear();
+
+            if (ranIterations < maxIterations && !worklist.isEmpty()) {
+                getProgressLogger().reset(worklist.size() * 2);
             }
 
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Finished", ranIterations));
@@ -175,52 +186,37 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
     }
 
     private void runColoring() {
-        long nodeCount = graph.nodeCount();
-        long approximateRelationshipCount = ceilDiv(graph.relationshipCount(), nodeCount) * nodesToColor.cardinality();
-        long adjustedBatchSize = ParallelUtil.adjustedBatchSize(
-            approximateRelationshipCount,
-            concurrency,
-            minBatchSize,
-            Integer.MAX_VALUE
-        );
-
-        List<Partition> degreePartitions = PartitionUtils.degreePartition(
-            new SetBitsIterable(nodesToColor).primitiveLongIterator(),
-            graph,
-            adjustedBatchSize
-        );
-
-        List<ColoringStep> steps = degreePartitions.stream().map(partition -> new ColoringStep(
+        var cursor = new AtomicLong();
+        var tasks = ParallelUtil.tasks(taskCount(), () -> new ColoringStep(
             graph.concurrentCopy(),
             colors,
-            nodesToColor,
-            nodeCount,
-            partition.startNode(),
-            partition.nodeCount(),
+            worklist,
+            cursor,
+            minBatchSize,
             getProgressLogger()
-        )).collect(Collectors.toList());
+        ));
 
-        ParallelUtil.runWithConcurrency(concurrency, steps, executor);
+        ParallelUtil.run(tasks, executor);
     }
 
     private void runValidation() {
-        BitSet nextNodesToColor = new BitSet(nodeCount);
-
-        // The nodesToColor bitset is not thread safe, therefore we have to align the batches to multiples of 64
-        List<Partition> partitions = PartitionUtils.numberAlignedPartitioning(concurrency, nodeCount, Long.SIZE);
-
-        List<ValidationStep> steps = partitions.stream().map(partition -> new ValidationStep(
+        // Only the nodes that were colored in this iteration can be in conflict with each other,
+        // the conflicting ones are marked in nodesToColor and make up the next worklist.
+        var cursor = new AtomicLong();
+        var tasks = ParallelUtil.tasks(taskCount(), () -> new ValidationStep(
             graph.concurrentCopy(),
             colors,
+            worklist,
+            cursor,
             nodesToColor,
-            nextNodesToColor,
-            nodeCount,
-            partition.startNode(),
-            partition.nodeCount(),
+            minBatchSize,
             getProgressLogger()
-        )).collect(Collectors.toList());
+        ));
+
+        ParallelUtil.run(tasks, executor);
+    }
 
-        ParallelUtil.runWithConcurrency(concurrency, steps, executor);
-        this.nodesToColor = nextNodesToColor;
+    private int taskCount() {
+        return (int) Math.min(concurrency, ceilDiv(worklist.size(), minBatchSize));
     }
 }
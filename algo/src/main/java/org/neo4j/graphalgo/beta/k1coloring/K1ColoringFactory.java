@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -56,7 +57,11 @@ public class K1ColoringFactory<T extends K1ColoringConfig> implements AlgorithmF
     public MemoryEstimation memoryEstimation(T config) {
         return MemoryEstimations.builder(K1Coloring.class)
             .perNode("colors", HugeLongArray::memoryEstimation)
-            .perNode("nodesToColor", MemoryUsage::sizeOfBitset)
+            .perNode("nodesToColor", MemoryUsage::sizeOfHugeAtomicBitset)
+            .rangePerNode(
+                "worklist", (nodeCount) ->
+                    MemoryRange.of(0, HugeLongArray.memoryEstimation(nodeCount))
+            )
             .perThread("coloring", MemoryEstimations.builder()
                 .field("coloringStep", ColoringStep.class)
                 .perNode("forbiddenColors", MemoryUsage::sizeOfBitset)
@@ -19,45 +19,49 @@
  */
 package org.neo4j.graphalgo.beta.k1coloring;
 
-import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 final class ValidationStep implements Runnable {
 
     private final RelationshipIterator graph;
     private final HugeLongArray colors;
-    private final BitSet currentNodesToColor;
-    private final BitSet nextNodesToColor;
-    private final long offset;
-    private final long batchEnd;
+    private final Worklist worklist;
+    private final AtomicLong cursor;
+    private final HugeAtomicBitSet nextNodesToColor;
+    private final long batchSize;
     private final ProgressLogger progressLogger;
 
     ValidationStep(
         RelationshipIterator graph,
         HugeLongArray colors,
-        BitSet currentNodesToColor,
-        BitSet nextNodesToColor,
-        long nodeCount,
-        long offset,
+        Worklist worklist,
+        AtomicLong cursor,
+        HugeAtomicBitSet nextNodesToColor,
         long batchSize,
         ProgressLogger progressLogger
     ) {
         this.graph = graph;
         this.colors = colors;
-        this.currentNodesToColor = currentNodesToColor;
+        this.worklist = worklist;
+        this.cursor = cursor;
         this.nextNodesToColor = nextNodesToColor;
-        this.offset = offset;
-        this.batchEnd = Math.min(offset + batchSize, nodeCount);
+        this.batchSize = batchSize;
         this.progressLogger = progressLogger;
     }
 
     @Override
     public void run() {
-        for (long nodeId = offset; nodeId < batchEnd; nodeId++) {
-            if (currentNodesToColor.get(nodeId)) {
-                graph.forEachRelationship(nodeId, (source, target) -> {
+        long worklistSize = worklist.size();
+        long offset;
+        while ((offset = cursor.getAndAdd(batchSize)) < worklistSize) {
+            long batchEnd = Math.min(offset + batchSize, worklistSize);
+            for (long index = offset; index < batchEnd; index++) {
+                graph.forEachRelationship(worklist.get(index), (source, target) -> {
                     if (
                         source != target &&
                         colors.get(source) == colors.get(target) &&
@@ -69,9 +73,8 @@ final class ValidationStep implements Runnable {
 
                     return true;
                 });
-
-                progressLogger.logProgress();
             }
+            progressLogger.logProgress(batchEnd - offset);
         }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * A compact list of the node ids that are colored in one iteration.
+ * The first iteration covers every node and does not materialize any ids,
+ * later iterations only hold the nodes that were found in a conflict.
+ */
+final class Worklist {
+
+    private final HugeLongArray nodes;
+    private final long size;
+
+    static Worklist allNodes(long nodeCount) {
+        return new Worklist(null, nodeCount);
+    }
+
+    static Worklist of(HugeAtomicBitSet nodesToColor, AllocationTracker tracker) {
+        long size = nodesToColor.cardinality();
+        HugeLongArray nodes = HugeLongArray.newArray(size, tracker);
+        long index = 0;
+        for (long nodeId = nodesToColor.nextSetBit(0); nodeId != -1; nodeId = nodesToColor.nextSetBit(nodeId + 1)) {
+            nodes.set(index++, nodeId);
+        }
+        return new Worklist(nodes, size);
+    }
+
+    private Worklist(HugeLongArray nodes, long size) {
+        this.nodes = nodes;
+        this.size = size;
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long get(long index) {
+        return nodes == null ? index : nodes.get(index);
+    }
+
+    void release() {
+        if (nodes != null) {
+            nodes.release();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the core value of every node, i.e. the largest k such that the node belongs to
+ * a subgraph in which every node has a degree of at least k.
+ *
+ * The implementation peels the graph level by level. For the current level k, a parallel scan
+ * collects all nodes whose remaining degree equals k into a frontier. Removing a frontier node
+ * decrements the degree of its neighbours that still have a degree above k, and every neighbour
+ * that drops to k forms the next frontier of the same level. Degrees are decremented with CAS,
+ * so every node enters a frontier exactly once, and the remaining degree of a node equals its
+ * core value once it has been peeled.
+ *
+ * Self loops are ignored, parallel relationships are counted individually.
+ */
+public class KCoreDecomposition extends Algorithm<KCoreDecomposition, KCoreDecomposition.Result> {
+
+    static final int BATCH_SIZE = 1024;
+    static final int BUFFER_SIZE = 1024;
+
+    private Graph graph;
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicLongArray coreValues;
+    private HugeLongArray frontier;
+    private HugeLongArray nextFrontier;
+
+    public KCoreDecomposition(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Result compute() {
+        coreValues = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        frontier = HugeLongArray.newArray(nodeCount, tracker);
+        nextFrontier = HugeLongArray.newArray(nodeCount, tracker);
+
+        initializeDegrees();
+
+        long remaining = nodeCount;
+        long level = 0;
+        long degeneracy = 0;
+        var frontierSize = new AtomicLong();
+        var nextFrontierSize = new AtomicLong();
+
+        while (remaining > 0) {
+            long minRemainingDegree = scan(level, frontierSize);
+            if (frontierSize.get() == 0) {
+                // no node left on this level, skip to the smallest remaining degree
+                level = minRemainingDegree;
+                scan(level, frontierSize);
+            }
+            degeneracy = level;
+
+            while (frontierSize.get() > 0) {
+                remaining -= frontierSize.get();
+                nextFrontierSize.set(0);
+                peel(level, frontierSize.get(), nextFrontierSize);
+
+                var tmp = frontier;
+                frontier = nextFrontier;
+                nextFrontier = tmp;
+                frontierSize.set(nextFrontierSize.get());
+            }
+
+            level++;
+        }
+
+        frontier.release();
+        nextFrontier.release();
+        frontier = null;
+        nextFrontier = null;
+
+        return Result.of(coreValues, degeneracy);
+    }
+
+    @Override
+    public KCoreDecomposition me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+    }
+
+    private void initializeDegrees() {
+        runOnPartitions(partitionGraph -> (start, end) -> {
+            var degree = new long[1];
+            for (long node = start; node < end; node++) {
+                degree[0] = 0;
+                partitionGraph.forEachRelationship(node, (source, target) -> {
+                    if (source != target) {
+                        degree[0]++;
+                    }
+                    return true;
+                });
+                coreValues.set(node, degree[0]);
+            }
+        });
+    }
+
+    /**
+     * Collects all nodes with a remaining degree of {@code level} into the frontier
+     * and returns the smallest remaining degree of at least {@code level}.
+     */
+    private long scan(long level, AtomicLong frontierSize) {
+        frontierSize.set(0);
+        var minRemainingDegree = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        runOnPartitions(partitionGraph -> (start, end) -> {
+            var buffer = new FrontierBuffer(frontier, frontierSize);
+            long localMin = Long.MAX_VALUE;
+            for (long node = start; node < end; node++) {
+                long degree = coreValues.get(node);
+                if (degree == level) {
+                    buffer.add(node);
+                }
+                if (degree >= level && degree < localMin) {
+                    localMin = degree;
+                }
+            }
+            buffer.flush();
+            minRemainingDegree.accumulate(localMin);
+        });
+        return minRemainingDegree.get();
+    }
+
+    private void peel(long level, long frontierSize, AtomicLong nextFrontierSize) {
+        var queue = new AtomicLong();
+        ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> () -> {
+            var localGraph = graph.concurrentCopy();
+            var buffer = new FrontierBuffer(nextFrontier, nextFrontierSize);
+            long start;
+            while ((start = queue.getAndAdd(BATCH_SIZE)) < frontierSize) {
+                long end = Math.min(start + BATCH_SIZE, frontierSize);
+                for (long index = start; index < end; index++) {
+                    localGraph.forEachRelationship(frontier.get(index), (source, target) -> {
+                        if (source != target) {
+                            decrement(target, level, buffer);
+                        }
+                        return true;
+                    });
+                }
+                progressLogger.logProgress(end - start);
+                terminationFlag.assertRunning();
+            }
+            buffer.flush();
+        }), executor);
+    }
+
+    private void decrement(long node, long level, FrontierBuffer buffer) {
+        long current = coreValues.get(node);
+        while (current > level) {
+            long witnessed = coreValues.compareAndExchange(node, current, current - 1);
+            if (witnessed == current) {
+                if (current - 1 == level) {
+                    buffer.add(node);
+                }
+                return;
+            }
+            current = witnessed;
+        }
+    }
+
+    private void runOnPartitions(PartitionTaskFactory taskFactory) {
+        List<Runnable> tasks = PartitionUtils
+            .rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                taskFactory
+                    .create(graph.concurrentCopy())
+                    .run(partition.startNode(), partition.startNode() + partition.nodeCount());
+                terminationFlag.assertRunning();
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.run(tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface PartitionTaskFactory {
+        PartitionTask create(Graph partitionGraph);
+    }
+
+    @FunctionalInterface
+    private interface PartitionTask {
+        void run(long start, long end);
+    }
+
+    /**
+     * Collects frontier nodes locally and appends them to the shared frontier in batches.
+     */
+    private static final class FrontierBuffer {
+
+        private final HugeLongArray target;
+        private final AtomicLong targetSize;
+        private final long[] buffer;
+        private int length;
+
+        FrontierBuffer(HugeLongArray target, AtomicLong targetSize) {
+            this.target = target;
+            this.targetSize = targetSize;
+            this.buffer = new long[BUFFER_SIZE];
+        }
+
+        void add(long node) {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = node;
+        }
+
+        void flush() {
+            long offset = targetSize.getAndAdd(length);
+            for (int i = 0; i < length; i++) {
+                target.set(offset + i, buffer[i]);
+            }
+            length = 0;
+        }
+    }
+
+    @ValueClass
+    public interface Result {
+
+        // value at index `i` is the core value of the node with id `i`
+        HugeAtomicLongArray coreValues();
+
+        // the largest core value in the graph
+        long degeneracy();
+
+        static Result of(HugeAtomicLongArray coreValues, long degeneracy) {
+            return ImmutableResult
+                .builder()
+                .coreValues(coreValues)
+                .degeneracy(degeneracy)
+                .build();
+        }
+
+        default LongNodeProperties asNodeProperties() {
+            return coreValues().asNodeProperties();
+        }
+    }
+}
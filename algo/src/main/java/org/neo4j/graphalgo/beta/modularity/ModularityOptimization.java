@@ -406,6 +406,30 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         return reverseSeedCommunityMapping.get(currentCommunities.get(nodeId));
     }
 
+    /**
+     * Returns the dense community id of the given node, which is always in {@code [0, nodeCount)}.
+     * Unlike {@link #getCommunityId(long)}, this does not map back to seed values.
+     */
+    public long getLocalCommunityId(long nodeId) {
+        return currentCommunities.get(nodeId);
+    }
+
+    /**
+     * Returns the node colouring used to parallelize the optimization.
+     * Only valid until {@link #release()} is called.
+     */
+    public HugeLongArray colors() {
+        return colors;
+    }
+
+    /**
+     * Returns the colours that have been assigned to at least one node.
+     * Only valid until {@link #release()} is called.
+     */
+    public BitSet usedColors() {
+        return colorsUsed;
+    }
+
     public int getIterations() {
         return this.iterationCounter;
     }
@@ -19,12 +19,14 @@
  */
 package org.neo4j.graphalgo.labelpropagation;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import static org.neo4j.graphalgo.labelpropagation.LabelPropagation.DEFAULT_WEIGHT;
@@ -37,6 +39,10 @@ final class ComputeStep implements Step {
     private final ProgressLogger progressLogger;
     private final ComputeStepConsumer consumer;
     private final Graph graph;
+    // nodes that need to be evaluated in this iteration, or null if all nodes are evaluated
+    private final @Nullable HugeAtomicBitSet activeNodes;
+    // nodes that need to be evaluated in the next iteration
+    private final @Nullable HugeAtomicBitSet nextActiveNodes;
 
     private boolean didChange = true;
 
@@ -45,8 +51,12 @@ final class ComputeStep implements Step {
             NodeProperties nodeWeights,
             ProgressLogger progressLogger,
             HugeLongArray existingLabels,
-            PrimitiveLongIterable nodes) {
+            PrimitiveLongIterable nodes,
+            @Nullable HugeAtomicBitSet activeNodes,
+            @Nullable HugeAtomicBitSet nextActiveNodes) {
         this.existingLabels = existingLabels;
+        this.activeNodes = activeNodes;
+        this.nextActiveNodes = nextActiveNodes;
         this.progressLogger = progressLogger;
         this.graph = graph;
         this.localRelationshipIterator = graph.concurrentCopy();
@@ -73,7 +83,9 @@ final class ComputeStep implements Step {
         boolean didChange = false;
         while (nodeIds.hasNext()) {
             long nodeId = nodeIds.next();
-            didChange = compute(nodeId, didChange);
+            if (activeNodes == null || activeNodes.get(nodeId)) {
+                didChange = compute(nodeId, didChange);
+            }
             progressLogger.logProgress(graph.degree(nodeId));
         }
         return didChange;
@@ -86,6 +98,13 @@ final class ComputeStep implements Step {
         long newLabel = consumer.tallyVotes(label);
         if (newLabel != label) {
             existingLabels.set(nodeId, newLabel);
+            if (nextActiveNodes != null) {
+                // the votes of all neighbours have changed, so they need to be re-evaluated
+                localRelationshipIterator.forEachRelationship(nodeId, (source, target) -> {
+                    nextActiveNodes.set(target);
+                    return true;
+                });
+            }
             return true;
         }
         return didChange;
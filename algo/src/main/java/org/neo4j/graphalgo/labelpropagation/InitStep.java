@@ -19,12 +19,14 @@
  */
 package org.neo4j.graphalgo.labelpropagation;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 final class InitStep implements Step {
@@ -36,6 +38,8 @@ final class InitStep implements Step {
     private final NodeProperties nodeWeights;
     private final ProgressLogger progressLogger;
     private final long maxLabelId;
+    private final @Nullable HugeAtomicBitSet activeNodes;
+    private final @Nullable HugeAtomicBitSet nextActiveNodes;
 
     InitStep(
             Graph graph,
@@ -44,7 +48,9 @@ final class InitStep implements Step {
             PrimitiveLongIterable nodes,
             HugeLongArray existingLabels,
             ProgressLogger progressLogger,
-            long maxLabelId) {
+            long maxLabelId,
+            @Nullable HugeAtomicBitSet activeNodes,
+            @Nullable HugeAtomicBitSet nextActiveNodes) {
         this.nodeProperties = nodeProperties;
         this.existingLabels = existingLabels;
         this.nodes = nodes;
@@ -52,6 +58,8 @@ final class InitStep implements Step {
         this.nodeWeights = nodeWeights;
         this.progressLogger = progressLogger;
         this.maxLabelId = maxLabelId;
+        this.activeNodes = activeNodes;
+        this.nextActiveNodes = nextActiveNodes;
     }
 
     @Override
@@ -90,7 +98,9 @@ final class InitStep implements Step {
                 nodeWeights,
                 progressLogger,
                 existingLabels,
-                nodes
+                nodes,
+                activeNodes,
+                nextActiveNodes
         );
     }
 }
@@ -31,6 +31,7 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import java.util.ArrayList;
@@ -55,6 +56,8 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
 
     private Graph graph;
     private HugeLongArray labels;
+    private HugeAtomicBitSet activeNodes;
+    private HugeAtomicBitSet nextActiveNodes;
     private final long maxLabelId;
     private long ranIterations;
     private boolean didConverge;
@@ -134,6 +137,15 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
         ranIterations = 0L;
         didConverge = false;
 
+        // A label can only change if the label of one of its neighbours changed.
+        // As nodes only vote along their outgoing relationships, we can only find
+        // the nodes affected by a change if the graph is undirected.
+        if (graph.isUndirected()) {
+            activeNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+            nextActiveNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+            activeNodes.set(0, nodeCount);
+        }
+
         List<StepRunner> stepRunners = stepRunners();
 
         while (ranIterations < config.maxIterations()) {
@@ -144,11 +156,18 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
             if (didConverge) {
                 break;
             }
+            if (activeNodes != null) {
+                activeNodes.clear();
+                activeNodes.or(nextActiveNodes);
+                nextActiveNodes.clear();
+            }
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Finished", ranIterations));
             getProgressLogger().reset(graph.relationshipCount());
         }
 
         stepRunners.forEach(StepRunner::release);
+        activeNodes = null;
+        nextActiveNodes = null;
         getProgressLogger().logMessage(":: Finished");
 
         return me();
@@ -174,7 +193,9 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
                 iter,
                 labels,
                 getProgressLogger(),
-                maxLabelId
+                maxLabelId,
+                activeNodes,
+                nextActiveNodes
             );
             StepRunner task = new StepRunner(initStep);
             tasks.add(task);
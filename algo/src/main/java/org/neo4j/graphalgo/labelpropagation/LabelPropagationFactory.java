@@ -64,6 +64,8 @@ public class LabelPropagationFactory<CONFIG extends LabelPropagationBaseConfig>
     public MemoryEstimation memoryEstimation(CONFIG config) {
         return MemoryEstimations.builder(LabelPropagation.class)
             .perNode("labels", HugeLongArray::memoryEstimation)
+            // only allocated for undirected graphs
+            .rangePerNode("activeNodes", nodeCount -> MemoryRange.of(0L, 2 * MemoryUsage.sizeOfHugeAtomicBitset(nodeCount)))
             .perThread("votes", MemoryEstimations.builder()
                 .field("init step", InitStep.class)
                 .field("compute step", ComputeStep.class)
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.leiden;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.construction.GraphContraction;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Leiden community detection.
+ *
+ * Like {@link org.neo4j.graphalgo.louvain.Louvain}, every level optimizes modularity and aggregates the graph.
+ * In between, the communities are refined into well connected sub-communities (see {@link LeidenRefinement}).
+ * The graph is aggregated based on the refined communities, while the next level starts from the unrefined ones.
+ * This avoids badly connected communities and usually needs fewer levels to converge.
+ *
+ * Traag, V.A., Waltman, L. & van Eck, N.J. From Louvain to Leiden: guaranteeing well-connected communities.
+ * Sci Rep 9, 5233 (2019).
+ */
+public final class Leiden extends Algorithm<Leiden, Leiden> {
+
+    private final Graph rootGraph;
+    private final LeidenBaseConfig config;
+    private final NodeProperties seedingValues;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    // results
+    private HugeLongArray[] dendrograms;
+    private double[] modularities;
+    private int ranLevels;
+
+    public Leiden(
+        Graph graph,
+        LeidenBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.config = config;
+        this.rootGraph = graph;
+        this.seedingValues = Optional.ofNullable(config.seedProperty()).map(graph::nodeProperties).orElse(null);
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.dendrograms = new HugeLongArray[config.maxLevels()];
+        this.modularities = new double[config.maxLevels()];
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Leiden compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        Graph workingGraph = rootGraph;
+        NodeProperties nextSeedingValues = seedingValues;
+        // maps every node of the root graph to its node in the working graph
+        HugeLongArray workingNodes = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+
+        long oldNodeCount = rootGraph.nodeCount();
+        for (ranLevels = 0; ranLevels < config.maxLevels(); ) {
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Start", ranLevels + 1));
+
+            assertRunning();
+
+            ModularityOptimization modularityOptimization = runModularityOptimization(
+                workingGraph,
+                nextSeedingValues
+            );
+
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Refinement :: Start", ranLevels + 1));
+            HugeLongArray refinedCommunities = new LeidenRefinement(
+                workingGraph,
+                modularityOptimization,
+                config.concurrency(),
+                executorService,
+                terminationFlag,
+                tracker
+            ).compute();
+            modularityOptimization.release();
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Refinement :: Finished", ranLevels + 1));
+
+            modularities[ranLevels] = modularityOptimization.getModularity();
+            dendrograms[ranLevels] = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+
+            Graph aggregatedGraph = aggregateGraph(workingGraph, refinedCommunities);
+            buildDendrogram(ranLevels, workingNodes, modularityOptimization, refinedCommunities, aggregatedGraph);
+            nextSeedingValues = aggregatedSeeds(workingGraph, aggregatedGraph, modularityOptimization, refinedCommunities);
+            tracker.remove(refinedCommunities.release());
+            workingGraph = aggregatedGraph;
+
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Finished", ranLevels + 1));
+
+            // a level that does not improve modularity is discarded
+            if (hasConverged()) {
+                break;
+            }
+
+            ranLevels++;
+
+            if (workingGraph.nodeCount() == oldNodeCount || workingGraph.nodeCount() == 1) {
+                break;
+            }
+            oldNodeCount = workingGraph.nodeCount();
+        }
+
+        tracker.remove(workingNodes.release());
+        resizeResultArrays();
+        getProgressLogger().logMessage(":: Finished");
+
+        return this;
+    }
+
+    private void resizeResultArrays() {
+        int numLevels = levels();
+        if (numLevels < this.dendrograms.length) {
+            this.dendrograms = Arrays.copyOf(this.dendrograms, numLevels);
+            this.modularities = Arrays.copyOf(this.modularities, numLevels);
+        }
+    }
+
+    private ModularityOptimization runModularityOptimization(Graph leidenGraph, NodeProperties seed) {
+        ModularityOptimizationStreamConfig modularityOptimizationConfig = ImmutableModularityOptimizationStreamConfig
+            .builder()
+            .maxIterations(config.maxIterations())
+            .tolerance(config.tolerance())
+            .concurrency(config.concurrency())
+            .batchSize(DEFAULT_BATCH_SIZE)
+            .build();
+
+        ModularityOptimization modularityOptimization = new ModularityOptimizationFactory<>()
+            .build(
+                leidenGraph,
+                modularityOptimizationConfig,
+                seed,
+                tracker,
+                progressLogger.getLog()
+            ).withTerminationFlag(terminationFlag);
+
+        modularityOptimization.compute();
+
+        return modularityOptimization;
+    }
+
+    private void buildDendrogram(
+        int level,
+        HugeLongArray workingNodes,
+        ModularityOptimization modularityOptimization,
+        HugeLongArray refinedCommunities,
+        Graph aggregatedGraph
+    ) {
+        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
+            long workingNode = level == 0 ? nodeId : workingNodes.get(nodeId);
+
+            dendrograms[level].set(nodeId, modularityOptimization.getCommunityId(workingNode));
+            workingNodes.set(nodeId, aggregatedGraph.toMappedNodeId(refinedCommunities.get(workingNode)));
+        });
+    }
+
+    /**
+     * Every node of the aggregated graph is seeded with the unrefined community its members belong to.
+     */
+    private NodeProperties aggregatedSeeds(
+        Graph workingGraph,
+        Graph aggregatedGraph,
+        ModularityOptimization modularityOptimization,
+        HugeLongArray refinedCommunities
+    ) {
+        HugeLongArray seeds = HugeLongArray.newArray(aggregatedGraph.nodeCount(), tracker);
+
+        ParallelUtil.parallelForEachNode(workingGraph, config.concurrency(), (nodeId) -> seeds.set(
+            aggregatedGraph.toMappedNodeId(refinedCommunities.get(nodeId)),
+            modularityOptimization.getCommunityId(nodeId)
+        ));
+
+        return seeds.asNodeProperties();
+    }
+
+    private Graph aggregateGraph(Graph workingGraph, HugeLongArray refinedCommunities) {
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(workingGraph.nodeCount() - 1)
+            .concurrency(config.concurrency())
+            .tracker(tracker)
+            .build();
+
+        assertRunning();
+
+        workingGraph.forEachNode((nodeId) -> {
+            nodesBuilder.addNode(refinedCommunities.get(nodeId));
+            return true;
+        });
+
+        assertRunning();
+
+        Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
+        IdMap idMap = nodesBuilder.build();
+        return GraphContraction.contract(
+            workingGraph,
+            idMap,
+            refinedCommunities::get,
+            orientation,
+            config.concurrency(),
+            executorService,
+            tracker
+        );
+    }
+
+    private boolean hasConverged() {
+        if (ranLevels == 0) {
+            return false;
+        }
+
+        double previousModularity = modularities[ranLevels - 1];
+        double currentModularity = modularities[ranLevels];
+        return !(currentModularity > previousModularity && Math.abs(currentModularity - previousModularity) > config.tolerance());
+    }
+
+    public LeidenBaseConfig config() {
+        return this.config;
+    }
+
+    public HugeLongArray[] dendrograms() {
+        return this.dendrograms;
+    }
+
+    public HugeLongArray finalDendrogram() {
+        return this.dendrograms[levels() - 1];
+    }
+
+    public long getCommunity(long nodeId) {
+        return dendrograms[levels() - 1].get(nodeId);
+    }
+
+    public long[] getCommunities(long nodeId) {
+        long[] communities = new long[dendrograms.length];
+
+        for (int i = 0; i < dendrograms.length; i++) {
+            communities[i] = dendrograms[i].get(nodeId);
+        }
+
+        return communities;
+    }
+
+    public int levels() {
+        return this.ranLevels == 0 ? 1 : this.ranLevels;
+    }
+
+    public double[] modularities() {
+        return this.modularities;
+    }
+
+    @Override
+    public void release() {
+        this.rootGraph.releaseTopology();
+    }
+
+    @Override
+    public Leiden me() {
+        return this;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.leiden;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongDoubleMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+
+/**
+ * Refines the communities found by {@link ModularityOptimization}.
+ *
+ * Every node starts in its own refined community and may only merge into refined communities
+ * that are part of the same optimized community. A node only moves if it is still a singleton
+ * and if both the node and the target are well connected to the rest of their optimized community.
+ * This guarantees that every refined community is connected.
+ *
+ * Nodes are processed one colour at a time, using the colouring of the modularity optimization.
+ * Nodes of the same colour are not adjacent, so their moves are independent and can run in parallel.
+ * A node never joins a refined community whose root has the current colour, as that root could move concurrently.
+ */
+final class LeidenRefinement {
+
+    static final MemoryEstimation MEMORY_ESTIMATION =
+        MemoryEstimations.builder(LeidenRefinement.class)
+            .perNode("refinedCommunities", HugeLongArray::memoryEstimation)
+            .perNode("nodeVolumes", HugeDoubleArray::memoryEstimation)
+            .perNode("communityVolumes", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("refinedVolumes", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("externalWeights", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("merged", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perThread("RefinementTask", MemoryEstimations.builder()
+                .rangePerNode(
+                    "communityInfluences",
+                    (nodeCount) -> MemoryRange.of(
+                        MemoryUsage.sizeOfLongDoubleHashMap(50),
+                        MemoryUsage.sizeOfLongDoubleHashMap(Math.max(50, nodeCount))
+                    )
+                )
+                .build()
+            )
+            .build();
+
+    private final Graph graph;
+    private final ModularityOptimization modularityOptimization;
+    private final long nodeCount;
+    private final int concurrency;
+    private final long batchSize;
+    private final ExecutorService executor;
+    private final TerminationFlag terminationFlag;
+    private final AllocationTracker tracker;
+
+    private double totalVolume;
+    private HugeLongArray refinedCommunities;
+    private HugeDoubleArray nodeVolumes;
+    private HugeAtomicDoubleArray communityVolumes;
+    private HugeAtomicDoubleArray refinedVolumes;
+    private HugeAtomicDoubleArray externalWeights;
+    private HugeAtomicBitSet merged;
+
+    LeidenRefinement(
+        Graph graph,
+        ModularityOptimization modularityOptimization,
+        int concurrency,
+        ExecutorService executor,
+        TerminationFlag terminationFlag,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.modularityOptimization = modularityOptimization;
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.terminationFlag = terminationFlag;
+        this.tracker = tracker;
+        this.batchSize = ParallelUtil.adjustedBatchSize(
+            nodeCount,
+            concurrency,
+            DEFAULT_BATCH_SIZE,
+            Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Returns the refined community of every node. Refined community ids are node ids of the refined graph.
+     * Must be called before the modularity optimization is released, as it uses its colouring.
+     */
+    HugeLongArray compute() {
+        init();
+
+        HugeLongArray colors = modularityOptimization.colors();
+        BitSet usedColors = modularityOptimization.usedColors();
+
+        long color = usedColors.nextSetBit(0);
+        while (color != -1) {
+            terminationFlag.assertRunning();
+            ParallelUtil.runWithConcurrency(concurrency, createRefinementTasks(colors, color), executor);
+            color = usedColors.nextSetBit(color + 1);
+        }
+
+        release();
+        return refinedCommunities;
+    }
+
+    private void init() {
+        this.refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        this.nodeVolumes = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.communityVolumes = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.refinedVolumes = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.externalWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.merged = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        var initTasks = PartitionUtils.rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> new InitTask(graph.concurrentCopy(), partition))
+            .collect(Collectors.toList());
+
+        ParallelUtil.run(initTasks, executor);
+
+        this.totalVolume = initTasks.stream().mapToDouble(InitTask::localVolume).sum();
+    }
+
+    private Collection<RefinementTask> createRefinementTasks(HugeLongArray colors, long color) {
+        Collection<RefinementTask> tasks = new ArrayList<>(concurrency);
+        for (long i = 0L; i < nodeCount; i += batchSize) {
+            tasks.add(new RefinementTask(graph, colors, color, i, Math.min(i + batchSize, nodeCount)));
+        }
+        return tasks;
+    }
+
+    private void release() {
+        tracker.remove(this.nodeVolumes.release());
+        tracker.remove(this.communityVolumes.release());
+        tracker.remove(this.refinedVolumes.release());
+        tracker.remove(this.externalWeights.release());
+        tracker.remove(this.merged.release());
+        this.merged = null;
+    }
+
+    /**
+     * A set of nodes is well connected to its community if the weight of the relationships
+     * leaving the set but staying within the community is at least what is expected at random.
+     */
+    private boolean isWellConnected(double externalWeight, double volume, double communityVolume) {
+        return externalWeight >= volume * (communityVolume - volume) / totalVolume;
+    }
+
+    private final class InitTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final Partition partition;
+        private double localVolume;
+
+        private InitTask(RelationshipIterator relationshipIterator, Partition partition) {
+            this.relationshipIterator = relationshipIterator;
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            var volume = new MutableDouble();
+            var externalWeight = new MutableDouble();
+
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                long community = modularityOptimization.getLocalCommunityId(nodeId);
+
+                volume.setValue(0.0D);
+                externalWeight.setValue(0.0D);
+
+                relationshipIterator.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
+                    volume.add(w);
+                    if (s != t && modularityOptimization.getLocalCommunityId(t) == community) {
+                        externalWeight.add(w);
+                    }
+                    return true;
+                });
+
+                double nodeVolume = volume.doubleValue();
+                refinedCommunities.set(nodeId, nodeId);
+                nodeVolumes.set(nodeId, nodeVolume);
+                refinedVolumes.set(nodeId, nodeVolume);
+                externalWeights.set(nodeId, externalWeight.doubleValue());
+                communityVolumes.update(community, acc -> acc + nodeVolume);
+
+                localVolume += nodeVolume;
+            }
+        }
+
+        double localVolume() {
+            return localVolume;
+        }
+    }
+
+    private final class RefinementTask implements Runnable {
+
+        private final Graph graph;
+        private final RelationshipIterator localGraph;
+        private final HugeLongArray colors;
+        private final long color;
+        private final long batchStart;
+        private final long batchEnd;
+
+        private RefinementTask(Graph graph, HugeLongArray colors, long color, long batchStart, long batchEnd) {
+            this.graph = graph;
+            this.localGraph = graph.concurrentCopy();
+            this.colors = colors;
+            this.color = color;
+            this.batchStart = batchStart;
+            this.batchEnd = batchEnd;
+        }
+
+        @Override
+        public void run() {
+            LongDoubleMap reuseCommunityInfluences = new LongDoubleHashMap(50);
+            for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
+                // only singletons move, and a refined community never loses nodes
+                if (colors.get(nodeId) != color || merged.get(nodeId)) {
+                    continue;
+                }
+
+                long community = modularityOptimization.getLocalCommunityId(nodeId);
+                double communityVolume = communityVolumes.get(community);
+                double nodeVolume = nodeVolumes.get(nodeId);
+                double nodeExternalWeight = externalWeights.get(nodeId);
+
+                if (!isWellConnected(nodeExternalWeight, nodeVolume, communityVolume)) {
+                    continue;
+                }
+
+                int degree = graph.degree(nodeId);
+                LongDoubleMap communityInfluences;
+                if (degree < 50) {
+                    reuseCommunityInfluences.clear();
+                    communityInfluences = reuseCommunityInfluences;
+                } else {
+                    communityInfluences = new LongDoubleHashMap(degree);
+                }
+
+                localGraph.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
+                    if (s != t && modularityOptimization.getLocalCommunityId(t) == community) {
+                        communityInfluences.addTo(refinedCommunities.get(t), w);
+                    }
+                    return true;
+                });
+
+                long nextCommunity = nodeId;
+                double maxGain = 0.0D;
+                double nextCommunityInfluence = 0.0D;
+
+                for (LongDoubleCursor cursor : communityInfluences) {
+                    long candidate = cursor.key;
+                    // a root of the current colour may be moving away in this very batch
+                    if (candidate == nodeId || colors.get(candidate) == color) {
+                        continue;
+                    }
+
+                    double candidateVolume = refinedVolumes.get(candidate);
+                    if (!isWellConnected(externalWeights.get(candidate), candidateVolume, communityVolume)) {
+                        continue;
+                    }
+
+                    double gain = cursor.value - nodeVolume * candidateVolume / totalVolume;
+                    if (gain > maxGain || (gain == maxGain && gain > 0.0D && candidate < nextCommunity)) {
+                        maxGain = gain;
+                        nextCommunity = candidate;
+                        nextCommunityInfluence = cursor.value;
+                    }
+                }
+
+                if (nextCommunity != nodeId) {
+                    // the relationships between the node and its new community are no longer external
+                    double externalWeightDelta = nodeExternalWeight - 2 * nextCommunityInfluence;
+
+                    refinedCommunities.set(nodeId, nextCommunity);
+                    merged.set(nodeId);
+                    merged.set(nextCommunity);
+                    refinedVolumes.update(nextCommunity, acc -> acc + nodeVolume);
+                    externalWeights.update(nextCommunity, acc -> acc + externalWeightDelta);
+                }
+            }
+        }
+    }
+}
@@ -23,22 +23,18 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
-import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
 import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
-import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.construction.GraphContraction;
 import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
-import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.partition.Partition;
-import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
@@ -46,7 +42,6 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -209,31 +204,15 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
         Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
         IdMap idMap = nodesBuilder.build();
-        RelationshipsBuilder relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
-            .nodes(idMap)
-            .orientation(orientation)
-            .loadRelationshipProperty(true)
-            .aggregation(Aggregation.SUM)
-            .preAggregate(true)
-            .executorService(executorService)
-            .tracker(tracker)
-            .build();
-
-        var relationshipCreators = PartitionUtils
-            .rangePartition(config.concurrency(), workingGraph.nodeCount())
-            .stream()
-            .map(partition ->
-                new RelationshipCreator(
-                    relationshipsBuilder,
-                    modularityOptimization,
-                    workingGraph.concurrentCopy(),
-                    partition
-                ))
-            .collect(Collectors.toList());
-
-        ParallelUtil.run(relationshipCreators, executorService);
-
-        return GraphFactory.create(idMap, relationshipsBuilder.build(), tracker);
+        return GraphContraction.contract(
+            workingGraph,
+            idMap,
+            modularityOptimization::getCommunityId,
+            orientation,
+            config.concurrency(),
+            executorService,
+            tracker
+        );
     }
 
     private boolean hasConverged() {
@@ -312,40 +291,4 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             return OptionalLong.empty();
         }
     }
-
-    static final class RelationshipCreator implements Runnable {
-
-        private final RelationshipsBuilder relationshipsBuilder;
-
-        private final ModularityOptimization modularityOptimization;
-
-        private final RelationshipIterator relationshipIterator;
-
-        private final Partition partition;
-
-
-        private RelationshipCreator(
-            RelationshipsBuilder relationshipsBuilder,
-            ModularityOptimization modularityOptimization,
-            RelationshipIterator relationshipIterator,
-            Partition partition
-        ) {
-            this.relationshipsBuilder = relationshipsBuilder;
-            this.modularityOptimization = modularityOptimization;
-            this.relationshipIterator = relationshipIterator;
-            this.partition = partition;
-        }
-
-        @Override
-        public void run() {
-            long endNodeId = partition.startNode() + partition.nodeCount();
-            for (long nodeId = partition.startNode(); nodeId < endNodeId; nodeId++) {
-                long communityId = modularityOptimization.getCommunityId(nodeId);
-                relationshipIterator.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
-                    relationshipsBuilder.add(communityId, modularityOptimization.getCommunityId(target), property);
-                    return true;
-                });
-            }
-        }
-    }
 }
@@ -33,6 +33,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.loading.construction.GraphContraction;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -93,6 +94,7 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> implements Algorit
 
                 return MemoryRange.of(1L, maxGraphSize); // rough estimate of graph size
             })
+            .add("graphContraction()", GraphContraction.MEMORY_ESTIMATION)
             .rangePerNode("dendrograms", (nodeCount) -> MemoryRange.of(
                 HugeLongArray.memoryEstimation(nodeCount),
                 HugeLongArray.memoryEstimation(nodeCount) * config.maxLevels()
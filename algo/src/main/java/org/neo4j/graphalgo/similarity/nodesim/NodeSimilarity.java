@@ -30,14 +30,18 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.DegreePartitioner;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.similarity.SimilarityGraphBuilder;
 import org.neo4j.graphalgo.similarity.SimilarityGraphResult;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -158,30 +162,44 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             weights = HugeObjectArray.newArray(double[].class, graph.nodeCount(), tracker);
         }
 
+        List<Runnable> tasks = DegreePartitioner
+            .degreePartitions(graph, config.concurrency(), executorService)
+            .stream()
+            .map(partition -> (Runnable) () -> prepare(partition))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executorService);
+
+        // the node filter is not thread-safe, so it is filled once all vectors are computed
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            if (vectors.get(node) != null) {
+                nodesToCompare++;
+                nodeFilter.set(node);
+            }
+        }
+        progressLogger.logMessage("Finish :: NodeSimilarity#prepare");
+    }
+
+    private void prepare(Partition partition) {
+        Graph localGraph = graph.concurrentCopy();
         DegreeComputer degreeComputer = new DegreeComputer();
-        VectorComputer vectorComputer = VectorComputer.of(graph, weighted);
-        vectors.setAll(node -> {
-            graph.forEachRelationship(node, degreeComputer);
+        VectorComputer vectorComputer = VectorComputer.of(localGraph, weighted);
+
+        long end = partition.startNode() + partition.nodeCount();
+        for (long node = partition.startNode(); node < end; node++) {
+            localGraph.forEachRelationship(node, degreeComputer);
             int degree = degreeComputer.degree;
             degreeComputer.reset();
-            vectorComputer.reset(degree);
+            progressLogger.logProgress(localGraph.degree(node));
 
             if (degree >= config.degreeCutoff()) {
-                nodesToCompare++;
-                nodeFilter.set(node);
-
-                progressLogger.logProgress(graph.degree(node));
+                vectorComputer.reset(degree);
                 vectorComputer.forEachRelationship(node);
+                vectors.set(node, vectorComputer.targetIds.buffer);
                 if (weighted) {
                     weights.set(node, vectorComputer.getWeights());
                 }
-                return vectorComputer.targetIds.buffer;
             }
-
-            progressLogger.logProgress(graph.degree(node));
-            return null;
-        });
-        progressLogger.logMessage("Finish :: NodeSimilarity#prepare");
+        }
     }
 
     private Stream<SimilarityResult> computeSimilarityResultStream() {
@@ -36,6 +36,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT;
+
 /**
  * TriangleCount counts the number of triangles in the Graph as well
  * as the number of triangles that passes through a node.
@@ -55,6 +57,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
     private Graph graph;
     private final TriangleCountBaseConfig config;
+    private final AllocationTracker tracker;
     private ExecutorService executorService;
     private final AtomicLong queue;
 
@@ -74,6 +77,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         this.graph = graph;
         this.config = config;
         this.executorService = executorService;
+        this.tracker = tracker;
         triangleCounts = HugeAtomicLongArray.newArray(graph.nodeCount(), tracker);
         globalTriangleCounter = new LongAdder();
         queue = new AtomicLong();
@@ -104,6 +108,22 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
     @Override
     public TriangleCountResult compute() {
+        if (USE_ORIENTED_TRIANGLE_COUNT.isEnabled() || config.samplingProbability() < 1.0) {
+            globalTriangleCount = new OrientedTriangleCount(
+                graph,
+                config,
+                executorService,
+                tracker,
+                terminationFlag,
+                progressLogger
+            ).compute(triangleCounts);
+
+            return TriangleCountResult.of(
+                triangleCounts,
+                globalTriangleCount
+            );
+        }
+
         queue.set(0);
         globalTriangleCounter.reset();
         // create tasks
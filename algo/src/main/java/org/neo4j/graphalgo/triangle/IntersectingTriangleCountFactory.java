@@ -27,9 +27,13 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.Log;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT;
+
 public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseConfig> implements AlgorithmFactory<IntersectingTriangleCount, CONFIG> {
 
     @Override
@@ -55,9 +59,23 @@ public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseCo
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG configuration) {
-        return MemoryEstimations
+        var builder = MemoryEstimations
             .builder(IntersectingTriangleCount.class)
-            .perNode("triangle-counts", HugeAtomicLongArray::memoryEstimation)
-            .build();
+            .perNode("triangle-counts", HugeAtomicLongArray::memoryEstimation);
+
+        if (USE_ORIENTED_TRIANGLE_COUNT.isEnabled() || configuration.samplingProbability() < 1.0) {
+            // every sampled undirected relationship is stored once in the forward adjacency
+            double samplingProbability = configuration.samplingProbability();
+            builder
+                .perNode("forward-offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+                .perGraphDimension(
+                    "forward-targets",
+                    (dimensions, concurrency) -> MemoryRange.of(HugeLongArray.memoryEstimation(
+                        (long) Math.ceil(samplingProbability * dimensions.maxRelCount() / 2)
+                    ))
+                );
+        }
+
+        return builder.build();
     }
 }
@@ -69,7 +69,12 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
     @Override
     public Result compute() {
 
-        if (null == triangleCountProperty) {
+        if (configuration.approximate()) {
+            localClusteringCoefficients = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+            double coefficientSum = new WedgeSamplingClusteringCoefficient(graph, configuration, progressLogger)
+                .compute(localClusteringCoefficients);
+            averageClusteringCoefficient = coefficientSum / graph.nodeCount();
+        } else if (null == triangleCountProperty) {
             HugeAtomicLongArray triangleCounts = computeTriangleCounts();
             calculateCoefficients((nodeId) -> Long.valueOf(triangleCounts.get(nodeId)).doubleValue());
         } else {
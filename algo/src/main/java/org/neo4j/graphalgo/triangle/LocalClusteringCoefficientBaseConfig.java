@@ -50,6 +50,52 @@ public interface LocalClusteringCoefficientBaseConfig extends AlgoBaseConfig, Co
         return "triangleCountProperty";
     }
 
+    /**
+     * The absolute error allowed for every local clustering coefficient.
+     * Values above 0 estimate the coefficients by sampling wedges instead of counting triangles.
+     */
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, maxInclusive = false)
+    default double errorBound() {
+        return 0.0;
+    }
+
+    /**
+     * The probability with which every estimated coefficient is within {@link #errorBound()}.
+     */
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false, maxInclusive = false)
+    default double confidence() {
+        return 0.95;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1;
+    }
+
+    @Configuration.Ignore
+    default boolean approximate() {
+        return errorBound() > 0;
+    }
+
+    /**
+     * The number of wedges sampled per node, as given by Hoeffding's inequality.
+     */
+    @Configuration.Ignore
+    default long wedgeSampleSize() {
+        return (long) Math.ceil(Math.log(2 / (1 - confidence())) / (2 * errorBound() * errorBound()));
+    }
+
+    @Value.Check
+    default void validateErrorBound() {
+        if (approximate() && seedProperty() != null) {
+            throw new IllegalArgumentException(
+                "The 'errorBound' parameter cannot be used together with the 'triangleCountProperty' parameter."
+            );
+        }
+    }
+
     static LocalClusteringCoefficientBaseConfig of(
         String username,
         Optional<String> graphName,
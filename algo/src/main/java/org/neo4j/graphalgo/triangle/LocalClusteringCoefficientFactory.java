@@ -57,7 +57,8 @@ public class LocalClusteringCoefficientFactory<CONFIG extends LocalClusteringCoe
             .builder(LocalClusteringCoefficient.class)
             .perNode("local-clustering-coefficient", HugeDoubleArray::memoryEstimation);
 
-        if(null == configuration.seedProperty()) {
+        // wedge sampling only needs the adjacency of the node at hand
+        if(null == configuration.seedProperty() && !configuration.approximate()) {
             builder.add(
                 "computed-triangle-counts",
                 new IntersectingTriangleCountFactory<>().memoryEstimation(createTriangleCountConfig(configuration))
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.triangle.IntersectingTriangleCount.EXCLUDED_NODE_TRIANGLE_COUNT;
+
+/**
+ * Counts triangles on a forward adjacency in which every relationship is oriented from the node
+ * of lower degree to the node of higher degree, ties broken by node id.
+ * Every triangle is found exactly once from its lowest ranked node, and forward degrees are
+ * bounded by O(sqrt(m)), which bounds the total work by O(m^1.5).
+ * Long forward lists are intersected through a hash set, short ones by merging the sorted lists.
+ *
+ * Nodes with a degree above {@link TriangleCountBaseConfig#maxDegree()} are left out of the
+ * forward adjacency and are marked as excluded, like in {@link IntersectingTriangleCount}.
+ *
+ * With a {@link TriangleCountBaseConfig#samplingProbability()} below 1, every relationship is kept
+ * with that probability and the counts are scaled by its inverse cube (DOULION).
+ * Whether a relationship is kept is decided by hashing its end nodes, so both passes over the
+ * graph agree on the sample without materializing it.
+ */
+final class OrientedTriangleCount {
+
+    private static final int BATCH_SIZE = 64;
+    static final int HASH_THRESHOLD = 64;
+
+    private final Graph graph;
+    private final long nodeCount;
+    private final long maxDegree;
+    private final double samplingProbability;
+    private final long samplingThreshold;
+    private final long seed;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final TerminationFlag terminationFlag;
+    private final ProgressLogger progressLogger;
+
+    private HugeLongArray offsets;
+    private HugeLongArray targets;
+
+    OrientedTriangleCount(
+        Graph graph,
+        TriangleCountBaseConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        TerminationFlag terminationFlag,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.maxDegree = config.maxDegree();
+        this.samplingProbability = config.samplingProbability();
+        // compare against the upper 53 bits of the hash, which are uniform in [0, 2^53)
+        this.samplingThreshold = (long) (samplingProbability * (1L << 53));
+        this.seed = config.randomSeed() == -1L
+            ? new SplittableRandom().nextLong()
+            : config.randomSeed();
+        this.concurrency = config.concurrency();
+        this.executor = executor;
+        this.tracker = tracker;
+        this.terminationFlag = terminationFlag;
+        this.progressLogger = progressLogger;
+    }
+
+    /**
+     * Adds the local triangle counts to {@code triangleCounts} and returns the global count.
+     */
+    long compute(HugeAtomicLongArray triangleCounts) {
+        buildForwardAdjacency(triangleCounts);
+
+        var globalTriangles = new LongAdder();
+        var queue = new AtomicLong();
+        ParallelUtil.run(
+            ParallelUtil.tasks(concurrency, () -> new CountTask(queue, triangleCounts, globalTriangles)),
+            executor
+        );
+
+        offsets = null;
+        targets = null;
+
+        if (samplingProbability < 1.0) {
+            double scale = 1.0 / (samplingProbability * samplingProbability * samplingProbability);
+            ParallelUtil.parallelForEachNode(graph, concurrency, node -> {
+                long triangles = triangleCounts.get(node);
+                if (triangles > 0) {
+                    triangleCounts.set(node, Math.round(triangles * scale));
+                }
+            });
+            return Math.round(globalTriangles.sum() * scale);
+        }
+
+        return globalTriangles.sum();
+    }
+
+    private void buildForwardAdjacency(HugeAtomicLongArray triangleCounts) {
+        offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+
+        forEachNodeInParallel((neighbours, node) -> {
+            if (neighbours.isExcluded(node)) {
+                triangleCounts.set(node, EXCLUDED_NODE_TRIANGLE_COUNT);
+                offsets.set(node, 0L);
+            } else {
+                offsets.set(node, neighbours.collect(node));
+            }
+        });
+
+        long offset = 0L;
+        for (long node = 0; node < nodeCount; node++) {
+            long forwardDegree = offsets.get(node);
+            offsets.set(node, offset);
+            offset += forwardDegree;
+        }
+        offsets.set(nodeCount, offset);
+        targets = HugeLongArray.newArray(offset, tracker);
+
+        forEachNodeInParallel((neighbours, node) -> {
+            if (!neighbours.isExcluded(node)) {
+                int length = neighbours.collect(node);
+                long start = offsets.get(node);
+                for (int i = 0; i < length; i++) {
+                    targets.set(start + i, neighbours.buffer[i]);
+                }
+            }
+        });
+    }
+
+    private void forEachNodeInParallel(NodeAction action) {
+        List<Runnable> tasks = PartitionUtils
+            .rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var neighbours = new ForwardNeighbours(graph.concurrentCopy());
+                long end = partition.startNode() + partition.nodeCount();
+                for (long node = partition.startNode(); node < end; node++) {
+                    action.accept(neighbours, node);
+                }
+                terminationFlag.assertRunning();
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.run(tasks, executor);
+    }
+
+    private boolean isSampled(long source, long target) {
+        if (samplingThreshold >= (1L << 53)) {
+            return true;
+        }
+        long hash = mix(mix(seed ^ source) ^ target);
+        return (hash >>> 11) < samplingThreshold;
+    }
+
+    // the finalizer of SplitMix64
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @FunctionalInterface
+    private interface NodeAction {
+        void accept(ForwardNeighbours neighbours, long node);
+    }
+
+    /**
+     * Collects the sorted and distinct forward neighbours of a node.
+     * Every instance works on its own copy of the graph, as degree lookups are not thread-safe.
+     */
+    private final class ForwardNeighbours {
+
+        private final Graph graph;
+        private long[] buffer;
+        private int length;
+
+        ForwardNeighbours(Graph graph) {
+            this.graph = graph;
+            this.buffer = new long[16];
+        }
+
+        boolean isExcluded(long node) {
+            return graph.degree(node) > maxDegree;
+        }
+
+        private boolean precedes(long nodeA, long nodeB) {
+            int degreeA = graph.degree(nodeA);
+            int degreeB = graph.degree(nodeB);
+            return degreeA < degreeB || (degreeA == degreeB && nodeA < nodeB);
+        }
+
+        int collect(long node) {
+            length = 0;
+            graph.forEachRelationship(node, (source, target) -> {
+                if (source != target && !isExcluded(target) && precedes(source, target) && isSampled(source, target)) {
+                    if (length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    buffer[length++] = target;
+                }
+                return true;
+            });
+
+            Arrays.sort(buffer, 0, length);
+            int distinct = 0;
+            for (int i = 0; i < length; i++) {
+                if (distinct == 0 || buffer[distinct - 1] != buffer[i]) {
+                    buffer[distinct++] = buffer[i];
+                }
+            }
+            length = distinct;
+            return distinct;
+        }
+    }
+
+    private final class CountTask implements Runnable {
+
+        private final AtomicLong queue;
+        private final HugeAtomicLongArray triangleCounts;
+        private final LongAdder globalTriangles;
+        private final LongHashSet forwardSet;
+        private long[] forwardList;
+        private long triangles;
+
+        CountTask(AtomicLong queue, HugeAtomicLongArray triangleCounts, LongAdder globalTriangles) {
+            this.queue = queue;
+            this.triangleCounts = triangleCounts;
+            this.globalTriangles = globalTriangles;
+            this.forwardSet = new LongHashSet();
+            this.forwardList = new long[16];
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = queue.getAndAdd(BATCH_SIZE)) < nodeCount) {
+                long end = Math.min(start + BATCH_SIZE, nodeCount);
+                for (long node = start; node < end; node++) {
+                    countTriangles(node);
+                }
+                progressLogger.logProgress(end - start);
+                terminationFlag.assertRunning();
+            }
+            globalTriangles.add(triangles);
+        }
+
+        private void countTriangles(long nodeA) {
+            long start = offsets.get(nodeA);
+            int degreeA = (int) (offsets.get(nodeA + 1) - start);
+            if (degreeA < 2) {
+                return;
+            }
+
+            if (forwardList.length < degreeA) {
+                forwardList = new long[Math.max(degreeA, forwardList.length * 2)];
+            }
+            for (int i = 0; i < degreeA; i++) {
+                forwardList[i] = targets.get(start + i);
+            }
+
+            boolean useHashSet = degreeA >= HASH_THRESHOLD;
+            if (useHashSet) {
+                forwardSet.clear();
+                for (int i = 0; i < degreeA; i++) {
+                    forwardSet.add(forwardList[i]);
+                }
+            }
+
+            for (int i = 0; i < degreeA; i++) {
+                long nodeB = forwardList[i];
+                long startB = offsets.get(nodeB);
+                long endB = offsets.get(nodeB + 1);
+                if (useHashSet) {
+                    for (long j = startB; j < endB; j++) {
+                        long nodeC = targets.get(j);
+                        if (forwardSet.contains(nodeC)) {
+                            emit(nodeA, nodeB, nodeC);
+                        }
+                    }
+                } else {
+                    int a = 0;
+                    long j = startB;
+                    while (a < degreeA && j < endB) {
+                        long nodeCa = forwardList[a];
+                        long nodeCb = targets.get(j);
+                        if (nodeCa < nodeCb) {
+                            a++;
+                        } else if (nodeCa > nodeCb) {
+                            j++;
+                        } else {
+                            emit(nodeA, nodeB, nodeCa);
+                            a++;
+                            j++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void emit(long nodeA, long nodeB, long nodeC) {
+            triangleCounts.update(nodeA, previous -> previous + 1);
+            triangleCounts.update(nodeB, previous -> previous + 1);
+            triangleCounts.update(nodeC, previous -> previous + 1);
+            triangles++;
+        }
+    }
+}
@@ -39,6 +39,21 @@ public interface TriangleCountBaseConfig extends AlgoBaseConfig {
         return Long.MAX_VALUE;
     }
 
+    /**
+     * The probability with which every relationship is kept when counting triangles.
+     * Values below 1 count triangles on a sparsified graph and scale the counts (DOULION).
+     */
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false)
+    default double samplingProbability() {
+        return 1.0;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1;
+    }
+
     @Value.Check
     default void validateMaxDegree() {
         if (maxDegree() < 2) {
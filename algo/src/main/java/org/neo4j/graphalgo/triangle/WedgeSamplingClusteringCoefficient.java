@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Estimates local clustering coefficients by sampling wedges, i.e. pairs of neighbours of a node,
+ * and checking whether they are connected.
+ * The number of wedges sampled per node follows from Hoeffding's inequality, so that every estimate
+ * is within {@link LocalClusteringCoefficientBaseConfig#errorBound()} of the exact coefficient
+ * with probability {@link LocalClusteringCoefficientBaseConfig#confidence()}.
+ * Nodes with fewer wedges than that are evaluated exactly.
+ * Wedges are checked by scanning the adjacency list of one neighbour once and looking up its targets
+ * in the sorted neighbours of the node, instead of searching a relationship per wedge.
+ *
+ * The random choices for a node only depend on the seed and the node id,
+ * which makes the estimates reproducible regardless of the concurrency.
+ */
+final class WedgeSamplingClusteringCoefficient {
+
+    private static final int MAX_SAMPLES_PER_ROUND = 1 << 16;
+
+    private final Graph graph;
+    private final int concurrency;
+    private final long sampleSize;
+    private final long seed;
+    private final ProgressLogger progressLogger;
+
+    WedgeSamplingClusteringCoefficient(
+        Graph graph,
+        LocalClusteringCoefficientBaseConfig config,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.concurrency = config.concurrency();
+        this.sampleSize = config.wedgeSampleSize();
+        this.seed = config.randomSeed() == -1L
+            ? new SplittableRandom().nextLong()
+            : config.randomSeed();
+        this.progressLogger = progressLogger;
+    }
+
+    /**
+     * Writes the estimated coefficients to {@code coefficients} and returns their sum.
+     */
+    double compute(HugeDoubleArray coefficients) {
+        ThreadLocal<Estimator> estimators = ThreadLocal.withInitial(() -> new Estimator(graph.concurrentCopy()));
+        DoubleAdder coefficientSum = new DoubleAdder();
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            double coefficient = estimators.get().estimate(nodeId);
+            coefficients.set(nodeId, coefficient);
+            coefficientSum.add(coefficient);
+            progressLogger.logProgress();
+        });
+        return coefficientSum.doubleValue();
+    }
+
+    private final class Estimator {
+
+        private final Graph graph;
+        private long[] neighbours;
+        private int degree;
+        private int selfLoopIndex;
+
+        // marks[i] == epoch iff neighbours[i] is adjacent to the most recently marked neighbour
+        private int[] marks;
+        private int epoch;
+
+        private int[] sampleKeys;
+        private int[] sampleOthers;
+        private int[] groupedOthers;
+        private int[] groupEnds;
+
+        Estimator(Graph graph) {
+            this.graph = graph;
+            this.neighbours = new long[16];
+            this.marks = new int[16];
+            this.sampleKeys = new int[0];
+            this.sampleOthers = new int[0];
+            this.groupedOthers = new int[0];
+            this.groupEnds = new int[0];
+        }
+
+        double estimate(long nodeId) {
+            collectNeighbours(nodeId);
+            if (degree < 2) {
+                return 0.0;
+            }
+            // a self loop is a neighbour that never closes a wedge
+            selfLoopIndex = Arrays.binarySearch(neighbours, 0, degree, nodeId);
+
+            long wedges = (long) degree * (degree - 1) / 2;
+            long closed = 0;
+            if (wedges <= sampleSize) {
+                for (int i = 0; i < degree; i++) {
+                    if (i == selfLoopIndex) {
+                        continue;
+                    }
+                    markNeighboursOf(i);
+                    for (int j = i + 1; j < degree; j++) {
+                        if (j != selfLoopIndex && marks[j] == epoch) {
+                            closed++;
+                        }
+                    }
+                }
+                return (double) closed / wedges;
+            }
+
+            var random = new SplittableRandom(seed ^ (nodeId * 0x9E3779B97F4A7C15L));
+            for (long remaining = sampleSize; remaining > 0; remaining -= MAX_SAMPLES_PER_ROUND) {
+                closed += closedSamples(random, (int) Math.min(remaining, MAX_SAMPLES_PER_ROUND));
+            }
+            return (double) closed / sampleSize;
+        }
+
+        /**
+         * Draws the given number of wedges and groups them by the neighbour with the smaller degree,
+         * so that the adjacency list of every neighbour is scanned at most once per round.
+         */
+        private long closedSamples(SplittableRandom random, int samples) {
+            if (sampleKeys.length < samples) {
+                sampleKeys = new int[samples];
+                sampleOthers = new int[samples];
+                groupedOthers = new int[samples];
+            }
+            if (groupEnds.length < degree) {
+                groupEnds = new int[neighbours.length];
+            }
+            Arrays.fill(groupEnds, 0, degree, 0);
+
+            for (int sample = 0; sample < samples; sample++) {
+                int i = random.nextInt(degree);
+                int j = random.nextInt(degree - 1);
+                if (j >= i) {
+                    j++;
+                }
+                if (graph.degree(neighbours[j]) < graph.degree(neighbours[i])) {
+                    int tmp = i;
+                    i = j;
+                    j = tmp;
+                }
+                sampleKeys[sample] = i;
+                sampleOthers[sample] = j;
+                groupEnds[i]++;
+            }
+            for (int i = 1; i < degree; i++) {
+                groupEnds[i] += groupEnds[i - 1];
+            }
+            for (int sample = samples - 1; sample >= 0; sample--) {
+                groupedOthers[--groupEnds[sampleKeys[sample]]] = sampleOthers[sample];
+            }
+
+            long closed = 0;
+            for (int key = 0; key < degree; key++) {
+                int groupStart = groupEnds[key];
+                int groupEnd = key == degree - 1 ? samples : groupEnds[key + 1];
+                if (groupStart == groupEnd || key == selfLoopIndex) {
+                    continue;
+                }
+                markNeighboursOf(key);
+                for (int sample = groupStart; sample < groupEnd; sample++) {
+                    int other = groupedOthers[sample];
+                    if (other != selfLoopIndex && marks[other] == epoch) {
+                        closed++;
+                    }
+                }
+            }
+            return closed;
+        }
+
+        private void markNeighboursOf(int index) {
+            if (++epoch == 0) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+            graph.forEachRelationship(neighbours[index], (source, target) -> {
+                int position = Arrays.binarySearch(neighbours, 0, degree, target);
+                if (position >= 0) {
+                    marks[position] = epoch;
+                }
+                return true;
+            });
+        }
+
+        private void collectNeighbours(long nodeId) {
+            degree = 0;
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                if (degree == neighbours.length) {
+                    neighbours = Arrays.copyOf(neighbours, neighbours.length * 2);
+                }
+                neighbours[degree++] = target;
+                return true;
+            });
+            if (marks.length < neighbours.length) {
+                marks = Arrays.copyOf(marks, neighbours.length);
+            }
+
+            // parallel relationships do not form additional wedges and a self loop adds one to the degree,
+            // which matches the degree without parallel relationships used by the exact computation
+            Arrays.sort(neighbours, 0, degree);
+            int distinct = 0;
+            for (int i = 0; i < degree; i++) {
+                if (distinct == 0 || neighbours[distinct - 1] != neighbours[i]) {
+                    neighbours[distinct++] = neighbours[i];
+                }
+            }
+            degree = distinct;
+        }
+    }
+}
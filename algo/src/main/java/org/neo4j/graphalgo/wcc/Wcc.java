@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongLongHashMap;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -26,35 +27,48 @@ import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.WorkStealing;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.partition.DegreePartitioner;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
-import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_AFFOREST;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_WORK_STEALING;
 
 /**
  * Parallel Union-Find Algorithm based on the
  * "Wait-free Parallel Algorithms for the Union-Find Problem" paper.
  *
+ * On undirected graphs and with {@link org.neo4j.graphalgo.utils.GdsFeatureToggles#USE_AFFOREST} enabled,
+ * the first few neighbours of every node are linked before the largest intermediate component is
+ * determined by sampling. Only nodes outside of that component process their remaining relationships,
+ * as described in "Afforest: A Fast Concurrent Graph Connectivity Algorithm".
+ *
  * @see HugeAtomicDisjointSetStruct
  * @see <a href="http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.56.8354&rep=rep1&type=pdf">the paper</a>
+ * @see <a href="https://doi.org/10.1109/IPDPS.2019.00027">Afforest</a>
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    private static final int NEIGHBOUR_ROUNDS = 2;
+    private static final int SAMPLING_SIZE = 1024;
+    private static final long NO_NODE = -1L;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
-    private final long nodeCount;
-    private final long batchSize;
-    private final int threadSize;
+    private final long minBatchSize;
 
     private Graph graph;
 
@@ -80,25 +94,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             : null;
         this.executor = executor;
         this.tracker = tracker;
-        this.nodeCount = graph.nodeCount();
-        this.batchSize = ParallelUtil.adjustedBatchSize(
-            nodeCount,
-            config.concurrency(),
-            minBatchSize,
-            Integer.MAX_VALUE
-        );
-
-        long threadSize = ParallelUtil.threadCount(batchSize, nodeCount);
-        if (threadSize > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(formatWithLocale(
-                "Too many nodes (%d) to run union find with the given concurrency (%d) and batchSize (%d)",
-                nodeCount,
-                config.concurrency(),
-                batchSize
-            ));
-        }
-        this.threadSize = (int) threadSize;
-
+        this.minBatchSize = minBatchSize;
         this.progressLogger = progressLogger;
     }
 
@@ -112,14 +108,18 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
-            tasks.add(wccTask);
+        if (USE_AFFOREST.isEnabled() && graph.isUndirected()) {
+            computeAfforest(dss);
+        } else if (USE_WORK_STEALING.isEnabled()) {
+            WorkStealing.forEachNode(graph, config.concurrency(), () -> newTask(dss, 0L, 0L)::processNode);
+        } else {
+            List<Runnable> tasks = DegreePartitioner
+                .degreePartitions(graph, config.concurrency(), minBatchSize, 1L, executor)
+                .stream()
+                .map(partition -> newTask(dss, partition.startNode(), partition.nodeCount()))
+                .collect(Collectors.toList());
+            ParallelUtil.run(tasks, executor);
         }
-        ParallelUtil.run(tasks, executor);
 
         progressLogger.logMessage(":: Finished");
         return dss;
@@ -139,6 +139,75 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return config.threshold();
     }
 
+    private void computeAfforest(DisjointSetStruct dss) {
+        // link one neighbour per node and round, which already connects most of the large components
+        for (int round = 0; round < NEIGHBOUR_ROUNDS; round++) {
+            int neighbour = round;
+            List<Runnable> tasks = PartitionUtils
+                .rangePartition(config.concurrency(), graph.nodeCount())
+                .stream()
+                .map(partition -> new AfforestTask(
+                    dss,
+                    partition.startNode(),
+                    partition.nodeCount(),
+                    neighbour,
+                    neighbour + 1,
+                    NO_NODE,
+                    false
+                ))
+                .collect(Collectors.toList());
+            ParallelUtil.run(tasks, executor);
+        }
+
+        // relationships between the largest component and any other node are seen from the other node
+        long largestComponentNode = sampleLargestComponent(dss);
+        List<Runnable> tasks = DegreePartitioner
+            .degreePartitions(graph, config.concurrency(), minBatchSize, 1L, executor)
+            .stream()
+            .map(partition -> new AfforestTask(
+                dss,
+                partition.startNode(),
+                partition.nodeCount(),
+                NEIGHBOUR_ROUNDS,
+                Long.MAX_VALUE,
+                largestComponentNode,
+                true
+            ))
+            .collect(Collectors.toList());
+        ParallelUtil.run(tasks, executor);
+    }
+
+    /**
+     * Returns a node of the most frequent component among a fixed number of sampled nodes.
+     */
+    private long sampleLargestComponent(DisjointSetStruct dss) {
+        long nodeCount = graph.nodeCount();
+        if (nodeCount == 0) {
+            return NO_NODE;
+        }
+
+        var random = new SplittableRandom(nodeCount);
+        var sampleCounts = new LongLongHashMap();
+        long largestComponentNode = NO_NODE;
+        long largestSampleCount = 0;
+
+        for (int i = 0; i < SAMPLING_SIZE; i++) {
+            long node = random.nextLong(nodeCount);
+            long sampleCount = sampleCounts.addTo(dss.setIdOf(node), 1);
+            if (sampleCount > largestSampleCount) {
+                largestSampleCount = sampleCount;
+                largestComponentNode = node;
+            }
+        }
+        return largestComponentNode;
+    }
+
+    private WCCTask newTask(DisjointSetStruct dss, long offset, long length) {
+        return Double.isNaN(threshold()) || threshold() == 0
+            ? new WCCTask(dss, offset, length)
+            : new WCCWithThresholdTask(threshold(), dss, offset, length);
+    }
+
     private static double defaultWeight(double threshold) {
         return threshold + 1;
     }
@@ -149,24 +218,29 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         final RelationshipIterator rels;
         private final long offset;
         private final long end;
+        private long relationshipsVisited;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        WCCTask(DisjointSetStruct struct, long offset, long length) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
             this.offset = offset;
-            this.end = Math.min(offset + batchSize, nodeCount);
+            this.end = offset + length;
         }
 
         @Override
         public void run() {
             for (long node = offset; node < end; node++) {
-                compute(node);
-                if (node % RUN_CHECK_NODE_COUNT == 0) {
-                    assertRunning();
-                }
+                processNode(node);
+            }
+        }
 
-                getProgressLogger().logProgress(graph.degree(node));
+        void processNode(long node) {
+            compute(node);
+            if (node % RUN_CHECK_NODE_COUNT == 0) {
+                assertRunning();
             }
+
+            getProgressLogger().logProgress(graph.degree(node));
         }
 
         void compute(final long node) {
@@ -176,6 +250,89 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         @Override
         public boolean accept(final long sourceNodeId, final long targetNodeId) {
             struct.union(sourceNodeId, targetNodeId);
+            checkTermination();
+            return true;
+        }
+
+        // a single supernode can take long enough to delay cancellation noticeably
+        void checkTermination() {
+            if ((++relationshipsVisited & RUN_CHECK_RELATIONSHIP_MASK) == 0) {
+                assertRunning();
+            }
+        }
+    }
+
+    /**
+     * Links the relationships in {@code [firstRelationship, lastRelationship)} of every node,
+     * counting only relationships that pass the threshold. Nodes in the same set as
+     * {@code skipComponentOf} are skipped entirely.
+     */
+    private final class AfforestTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final DisjointSetStruct struct;
+        private final RelationshipIterator rels;
+        private final long offset;
+        private final long end;
+        private final long firstRelationship;
+        private final long lastRelationship;
+        private final long skipComponentOf;
+        private final boolean logProgress;
+        private final boolean hasThreshold;
+        private final double threshold;
+        private long relationshipIndex;
+        private long relationshipsVisited;
+
+        AfforestTask(
+            DisjointSetStruct struct,
+            long offset,
+            long length,
+            long firstRelationship,
+            long lastRelationship,
+            long skipComponentOf,
+            boolean logProgress
+        ) {
+            this.struct = struct;
+            this.rels = graph.concurrentCopy();
+            this.offset = offset;
+            this.end = offset + length;
+            this.firstRelationship = firstRelationship;
+            this.lastRelationship = lastRelationship;
+            this.skipComponentOf = skipComponentOf;
+            this.logProgress = logProgress;
+            this.hasThreshold = !(Double.isNaN(threshold()) || threshold() == 0);
+            this.threshold = threshold();
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                if (skipComponentOf == NO_NODE || !struct.sameSet(node, skipComponentOf)) {
+                    relationshipIndex = 0;
+                    rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+                if (logProgress) {
+                    getProgressLogger().logProgress(graph.degree(node));
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(final long sourceNodeId, final long targetNodeId, final double property) {
+            if (!hasThreshold || property > threshold) {
+                long index = relationshipIndex++;
+                if (index >= lastRelationship) {
+                    return false;
+                }
+                if (index >= firstRelationship) {
+                    struct.union(sourceNodeId, targetNodeId);
+                }
+            }
+            if ((++relationshipsVisited & RUN_CHECK_RELATIONSHIP_MASK) == 0) {
+                assertRunning();
+            }
             return true;
         }
     }
@@ -184,8 +341,8 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         private final double threshold;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset, long length) {
+            super(struct, offset, length);
             this.threshold = threshold;
         }
 
@@ -199,6 +356,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             if (property > threshold) {
                 struct.union(sourceNodeId, targetNodeId);
             }
+            checkTermination();
             return true;
         }
     }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of new relationships to previously computed components.
+ * Only the new relationships are visited, the graph itself is not scanned again.
+ * Relationships are given as pairs of mapped node ids.
+ */
+public class WccUpdate extends Algorithm<WccUpdate, DisjointSetStruct> {
+
+    private final DisjointSetStruct dss;
+    private final long[] sourceNodes;
+    private final long[] targetNodes;
+    private final int concurrency;
+    private final ExecutorService executor;
+
+    public WccUpdate(
+        DisjointSetStruct dss,
+        long[] sourceNodes,
+        long[] targetNodes,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        if (sourceNodes.length != targetNodes.length) {
+            throw new IllegalArgumentException("Source and target nodes must have the same length.");
+        }
+        this.dss = dss;
+        this.sourceNodes = sourceNodes;
+        this.targetNodes = targetNodes;
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    @Override
+    public DisjointSetStruct compute() {
+        List<Runnable> tasks = PartitionUtils
+            .rangePartition(concurrency, sourceNodes.length)
+            .stream()
+            .map(this::unionTask)
+            .collect(Collectors.toList());
+        ParallelUtil.run(tasks, executor);
+        return dss;
+    }
+
+    private Runnable unionTask(Partition partition) {
+        return () -> {
+            long end = partition.startNode() + partition.nodeCount();
+            for (int i = (int) partition.startNode(); i < end; i++) {
+                dss.union(sourceNodes[i], targetNodes[i]);
+                if ((i & RUN_CHECK_RELATIONSHIP_MASK) == 0) {
+                    assertRunning();
+                }
+            }
+        };
+    }
+
+    @Override
+    public WccUpdate me() {
+        return this;
+    }
+
+    @Override
+    public void release() {}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class KCoreDecompositionTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldComputeCoreValues(int concurrency) {
+        var graph = fromGdl(
+            "CREATE" +
+            "  (a)-[:REL]->(b)" +
+            ", (a)-[:REL]->(c)" +
+            ", (a)-[:REL]->(d)" +
+            ", (b)-[:REL]->(c)" +
+            ", (b)-[:REL]->(d)" +
+            ", (c)-[:REL]->(d)" +
+            ", (e)-[:REL]->(a)" +
+            ", (e)-[:REL]->(b)" +
+            ", (f)-[:REL]->(e)" +
+            ", (g)",
+            UNDIRECTED
+        );
+
+        var result = compute(graph, concurrency);
+
+        assertEquals(3, result.coreValues().get(graph.toMappedNodeId("a")));
+        assertEquals(3, result.coreValues().get(graph.toMappedNodeId("b")));
+        assertEquals(3, result.coreValues().get(graph.toMappedNodeId("c")));
+        assertEquals(3, result.coreValues().get(graph.toMappedNodeId("d")));
+        assertEquals(2, result.coreValues().get(graph.toMappedNodeId("e")));
+        assertEquals(1, result.coreValues().get(graph.toMappedNodeId("f")));
+        assertEquals(0, result.coreValues().get(graph.toMappedNodeId("g")));
+        assertEquals(3, result.degeneracy());
+    }
+
+    @Test
+    void shouldIgnoreSelfLoops() {
+        var graph = fromGdl("CREATE (a)-[:REL]->(a), (a)-[:REL]->(b)", UNDIRECTED);
+
+        var result = compute(graph, 1);
+
+        assertEquals(1, result.coreValues().get(graph.toMappedNodeId("a")));
+        assertEquals(1, result.coreValues().get(graph.toMappedNodeId("b")));
+        assertEquals(1, result.degeneracy());
+    }
+
+    @Test
+    void shouldComputeZeroWithoutRelationships() {
+        var graph = fromGdl("CREATE (a), (b)", UNDIRECTED);
+
+        var result = compute(graph, 4);
+
+        assertEquals(0, result.coreValues().get(0));
+        assertEquals(0, result.coreValues().get(1));
+        assertEquals(0, result.degeneracy());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchSequentialPeeling(int concurrency) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(2_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .build()
+            .generate();
+
+        var result = compute(graph, concurrency);
+        var expected = sequentialCoreValues(graph);
+
+        long degeneracy = 0;
+        for (int node = 0; node < expected.length; node++) {
+            assertEquals(expected[node], result.coreValues().get(node), "core value of node " + node);
+            degeneracy = Math.max(degeneracy, expected[node]);
+        }
+        assertEquals(degeneracy, result.degeneracy());
+    }
+
+    // repeatedly removes a node of minimum remaining degree
+    private static long[] sequentialCoreValues(Graph graph) {
+        int nodeCount = (int) graph.nodeCount();
+        long[] degrees = new long[nodeCount];
+        boolean[] removed = new boolean[nodeCount];
+        long[] coreValues = new long[nodeCount];
+
+        for (int node = 0; node < nodeCount; node++) {
+            int source = node;
+            graph.forEachRelationship(node, (s, t) -> {
+                if (s != t) {
+                    degrees[source]++;
+                }
+                return true;
+            });
+        }
+
+        long level = 0;
+        for (int round = 0; round < nodeCount; round++) {
+            int next = -1;
+            for (int node = 0; node < nodeCount; node++) {
+                if (!removed[node] && (next == -1 || degrees[node] < degrees[next])) {
+                    next = node;
+                }
+            }
+            level = Math.max(level, degrees[next]);
+            coreValues[next] = level;
+            removed[next] = true;
+            graph.forEachRelationship(next, (s, t) -> {
+                if (s != t && !removed[(int) t]) {
+                    degrees[(int) t]--;
+                }
+                return true;
+            });
+        }
+        return coreValues;
+    }
+
+    private static KCoreDecomposition.Result compute(Graph graph, int concurrency) {
+        return new KCoreDecomposition(
+            graph,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.empty(),
+            ProgressLogger.NULL_LOGGER
+        ).compute();
+    }
+}
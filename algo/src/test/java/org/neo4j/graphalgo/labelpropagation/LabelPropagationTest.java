@@ -53,6 +53,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -86,9 +87,19 @@ class LabelPropagationTest {
         ", (nMichael)-[:FOLLOW]->(nBridget)" +
         ", (nCharles)-[:FOLLOW]->(nDoug)";
 
+    @GdlGraph(graphNamePrefix = "undirected", orientation = UNDIRECTED)
+    private static final String UNDIRECTED_GRAPH =
+        "CREATE" +
+        "  (a)-[:REL]->(b)-[:REL]->(c)-[:REL]->(a)" +
+        ", (d)-[:REL]->(e)-[:REL]->(f)-[:REL]->(d)" +
+        ", (f)-[:REL]->(g)";
+
     @Inject
     private TestGraph graph;
 
+    @Inject
+    private TestGraph undirectedGraph;
+
     @Test
     void shouldUseOriginalNodeIdWhenSeedPropertyIsMissing() {
         LabelPropagation lp = new LabelPropagation(
@@ -202,11 +213,34 @@ class LabelPropagationTest {
         return cluster;
     }
 
+    @Test
+    void shouldOnlyRevisitNodesWithChangedNeighboursOnUndirectedGraphs() {
+        LabelPropagation lp = new LabelPropagation(
+            undirectedGraph,
+            ImmutableLabelPropagationStreamConfig.builder().maxIterations(10).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        );
+
+        HugeLongArray labels = lp.compute().labels();
+
+        assertTrue(lp.didConverge());
+        long firstLabel = labels.get(undirectedGraph.toMappedNodeId("a"));
+        long secondLabel = labels.get(undirectedGraph.toMappedNodeId("d"));
+        assertEquals(firstLabel, labels.get(undirectedGraph.toMappedNodeId("b")));
+        assertEquals(firstLabel, labels.get(undirectedGraph.toMappedNodeId("c")));
+        assertEquals(secondLabel, labels.get(undirectedGraph.toMappedNodeId("e")));
+        assertEquals(secondLabel, labels.get(undirectedGraph.toMappedNodeId("f")));
+        assertEquals(secondLabel, labels.get(undirectedGraph.toMappedNodeId("g")));
+        assertTrue(firstLabel != secondLabel);
+    }
+
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1, 800_480L, 4_994_656L),
-            Arguments.of(4, 801_560L, 17_578_264L),
-            Arguments.of(42, 815_240L, 176_970_632L)
+            Arguments.of(1, 800_480L, 5_019_744L),
+            Arguments.of(4, 801_560L, 17_603_352L),
+            Arguments.of(42, 815_240L, 176_995_720L)
         );
     }
 
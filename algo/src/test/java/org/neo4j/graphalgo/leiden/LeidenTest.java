@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.leiden;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongHashSet;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.louvain.ImmutableLouvainStreamConfig;
+import org.neo4j.graphalgo.louvain.LouvainFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
+import static org.neo4j.graphalgo.TestSupport.ids;
+import static org.neo4j.graphalgo.core.ProcedureConstants.TOLERANCE_DEFAULT;
+import static org.neo4j.graphalgo.graphbuilder.TransactionTerminationTestUtils.assertTerminates;
+
+@GdlExtension
+class LeidenTest {
+
+    static ImmutableLeidenStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableLeidenStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .tolerance(TOLERANCE_DEFAULT)
+            .includeIntermediateCommunities(true)
+            .concurrency(1);
+    }
+
+    @GdlGraph(orientation = UNDIRECTED)
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {seed: 1})" +
+        ", (b:Node {seed: 1})" +
+        ", (c:Node {seed: 1})" +
+        ", (d:Node {seed: 1})" +
+        ", (e:Node {seed: 1})" +
+        ", (f:Node {seed: 1})" +
+        ", (g:Node {seed: 2})" +
+        ", (h:Node {seed: 2})" +
+        ", (i:Node {seed: 2})" +
+        ", (j:Node {seed: 42})" +
+        ", (k:Node {seed: 42})" +
+        ", (l:Node {seed: 42})" +
+        ", (m:Node {seed: 42})" +
+        ", (n:Node {seed: 42})" +
+        ", (x:Node {seed: 1})" +
+
+        ", (a)-[:TYPE]->(b)" +
+        ", (a)-[:TYPE]->(d)" +
+        ", (a)-[:TYPE]->(f)" +
+        ", (b)-[:TYPE]->(d)" +
+        ", (b)-[:TYPE]->(x)" +
+        ", (b)-[:TYPE]->(g)" +
+        ", (b)-[:TYPE]->(e)" +
+        ", (c)-[:TYPE]->(x)" +
+        ", (c)-[:TYPE]->(f)" +
+        ", (d)-[:TYPE]->(k)" +
+        ", (e)-[:TYPE]->(x)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (e)-[:TYPE]->(h)" +
+        ", (f)-[:TYPE]->(g)" +
+        ", (g)-[:TYPE]->(h)" +
+        ", (h)-[:TYPE]->(i)" +
+        ", (h)-[:TYPE]->(j)" +
+        ", (i)-[:TYPE]->(k)" +
+        ", (j)-[:TYPE]->(k)" +
+        ", (j)-[:TYPE]->(m)" +
+        ", (j)-[:TYPE]->(n)" +
+        ", (k)-[:TYPE]->(m)" +
+        ", (k)-[:TYPE]->(l)" +
+        ", (l)-[:TYPE]->(n)" +
+        ", (m)-[:TYPE]->(n)";
+
+    @GdlGraph(graphNamePrefix = "cliques", orientation = UNDIRECTED)
+    private static final String CLIQUES_CYPHER =
+        "CREATE" +
+        "  (a), (b), (c), (d)" +
+        ", (e), (f), (g), (h)" +
+
+        ", (a)-[:TYPE]->(b)" +
+        ", (a)-[:TYPE]->(c)" +
+        ", (a)-[:TYPE]->(d)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (b)-[:TYPE]->(d)" +
+        ", (c)-[:TYPE]->(d)" +
+
+        ", (e)-[:TYPE]->(f)" +
+        ", (e)-[:TYPE]->(g)" +
+        ", (e)-[:TYPE]->(h)" +
+        ", (f)-[:TYPE]->(g)" +
+        ", (f)-[:TYPE]->(h)" +
+        ", (g)-[:TYPE]->(h)" +
+
+        ", (d)-[:TYPE]->(e)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private Graph cliquesGraph;
+
+    @Inject
+    private IdFunction cliquesIdFunction;
+
+    @Test
+    void testCliques() {
+        Leiden algorithm = new Leiden(
+            cliquesGraph,
+            defaultConfigBuilder().build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        assertCommunities(
+            algorithm.finalDendrogram(),
+            ids(cliquesIdFunction, "a", "b", "c", "d"),
+            ids(cliquesIdFunction, "e", "f", "g", "h")
+        );
+
+        double[] modularities = algorithm.modularities();
+        assertEquals(algorithm.levels(), modularities.length);
+        assertEquals(0.42, modularities[modularities.length - 1], 0.01);
+    }
+
+    @Test
+    void testCommunitiesAreConnected() {
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().concurrency(4).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        for (HugeLongArray dendrogram : algorithm.dendrograms()) {
+            assertConnectedCommunities(graph, dendrogram);
+        }
+
+        double[] modularities = algorithm.modularities();
+        assertTrue(modularities[modularities.length - 1] > 0.3);
+    }
+
+    @Test
+    void testSeeded() {
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().seedProperty("seed").build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        // refined communities are seeded with the unrefined ones, so seed values survive every level
+        for (HugeLongArray dendrogram : algorithm.dendrograms()) {
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                assertTrue(Set.of(1L, 2L, 42L).contains(dendrogram.get(nodeId)));
+            }
+        }
+    }
+
+    @Test
+    void testMaxLevels() {
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().maxLevels(1).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        assertEquals(1, algorithm.levels());
+    }
+
+    @Test
+    void testMemoryEstimationIncludesRefinement() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000L)
+            .maxRelCount(500_000L)
+            .build();
+
+        MemoryRange leidenEstimate = new LeidenFactory<>()
+            .memoryEstimation(defaultConfigBuilder().build())
+            .estimate(dimensions, 4)
+            .memoryUsage();
+
+        MemoryRange louvainEstimate = new LouvainFactory<>()
+            .memoryEstimation(ImmutableLouvainStreamConfig.builder()
+                .maxLevels(10)
+                .maxIterations(10)
+                .tolerance(TOLERANCE_DEFAULT)
+                .concurrency(1)
+                .build())
+            .estimate(dimensions, 4)
+            .memoryUsage();
+
+        assertTrue(leidenEstimate.min > louvainEstimate.min);
+        assertTrue(leidenEstimate.max > louvainEstimate.max);
+    }
+
+    @Test
+    void testCanBeInterruptedByTxCancellation() {
+        HugeGraph randomGraph = RandomGraphGenerator.builder()
+            .nodeCount(100_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        assertTerminates((terminationFlag) ->
+            new Leiden(
+                randomGraph,
+                defaultConfigBuilder().concurrency(2).build(),
+                Pools.DEFAULT,
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+                .withTerminationFlag(terminationFlag)
+                .compute(), 500, 1000
+        );
+    }
+
+    private static void assertConnectedCommunities(Graph graph, HugeLongArray communities) {
+        Map<Long, Long> representatives = new HashMap<>();
+        Map<Long, Long> sizes = new HashMap<>();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            representatives.putIfAbsent(communities.get(nodeId), nodeId);
+            sizes.merge(communities.get(nodeId), 1L, Long::sum);
+        }
+
+        representatives.forEach((community, start) -> {
+            LongHashSet visited = new LongHashSet();
+            LongArrayDeque queue = new LongArrayDeque();
+            visited.add(start);
+            queue.addLast(start);
+
+            while (!queue.isEmpty()) {
+                graph.forEachRelationship(queue.removeFirst(), (source, target) -> {
+                    if (communities.get(target) == community && visited.add(target)) {
+                        queue.addLast(target);
+                    }
+                    return true;
+                });
+            }
+
+            assertEquals((long) sizes.get(community), visited.size(), "community " + community + " is not connected");
+        });
+    }
+}
@@ -322,12 +322,12 @@ class LouvainTest {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 1, 6414145, 23941616),
-            arguments(1, 10, 6414145, 31141976),
-            arguments(4, 1, 6417433, 29745992),
-            arguments(4, 10, 6417433, 36946352),
-            arguments(42, 1, 6459081, 105719480),
-            arguments(42, 10, 6459081, 112919840)
+            arguments(1, 1, 8814305, 26341776),
+            arguments(1, 10, 8814305, 33542136),
+            arguments(4, 1, 8817593, 32146152),
+            arguments(4, 10, 8817593, 39346512),
+            arguments(42, 1, 8859241, 108119640),
+            arguments(42, 10, 8859241, 115320000)
         );
     }
 
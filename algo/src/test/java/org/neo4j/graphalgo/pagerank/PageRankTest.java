@@ -26,6 +26,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
@@ -42,6 +43,7 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARTITION_AFFINITY;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @GdlExtension
@@ -120,6 +122,33 @@ final class PageRankTest {
         assertResult(reverseGraph, PageRankAlgorithmType.NON_WEIGHTED, expected);
     }
 
+    @Test
+    void testWithPartitionAffinity() {
+        var sequentialResult = PageRankAlgorithmType.NON_WEIGHTED
+            .create(naturalGraph, DEFAULT_CONFIG, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        USE_PARTITION_AFFINITY.enableAndRun(() -> {
+            var affinityResult = PageRankAlgorithmType.NON_WEIGHTED
+                .create(
+                    naturalGraph,
+                    LongStream.empty(),
+                    defaultConfigBuilder().concurrency(4).build(),
+                    Pools.DEFAULT,
+                    1,
+                    ProgressLogger.NULL_LOGGER,
+                    AllocationTracker.empty()
+                )
+                .compute()
+                .result();
+
+            for (long nodeId = 0; nodeId < naturalGraph.nodeCount(); nodeId++) {
+                assertEquals(sequentialResult.score(nodeId), affinityResult.score(nodeId), 1e-5);
+            }
+        });
+    }
+
     @Test
     void correctPartitionBoundariesForAllNodes() {
         // explicitly list all source nodes to prevent the 'we got everything' optimization
@@ -514,12 +514,40 @@ class IntersectingTriangleCountTest {
         assertEquals(1, result.globalTriangles());
     }
 
+    @Test
+    void testSampledTriangleCount() {
+        int cliqueSize = 40;
+        var gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < cliqueSize; i++) {
+            for (int j = i + 1; j < cliqueSize; j++) {
+                gdl.append(formatWithLocale("%s(n%d)-[:T]->(n%d)", gdl.length() > 7 ? ", " : "", i, j));
+            }
+        }
+        var graph = fromGdl(gdl.toString(), UNDIRECTED);
+
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig
+            .builder()
+            .samplingProbability(0.5)
+            .randomSeed(42L)
+            .concurrency(4)
+            .build();
+
+        TriangleCountResult result = compute(graph, config);
+
+        long exactTriangles = (long) cliqueSize * (cliqueSize - 1) * (cliqueSize - 2) / 6;
+        assertEquals(exactTriangles, result.globalTriangles(), 0.3 * exactTriangles);
+        assertEquals(result.globalTriangles(), compute(graph, config).globalTriangles());
+        for (int i = 0; i < cliqueSize; i++) {
+            assertEquals(result.localTriangles().get(i), compute(graph, config).localTriangles().get(i));
+        }
+    }
+
     private TriangleCountResult compute(Graph graph) {
         TriangleCountStatsConfig config = ImmutableTriangleCountStatsConfig.builder().build();
         return compute(graph, config);
     }
 
-    private TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
+    TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
         return new IntersectingTriangleCount(
             graph,
             config,
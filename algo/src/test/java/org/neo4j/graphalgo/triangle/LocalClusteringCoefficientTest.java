@@ -35,7 +35,9 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -314,10 +316,117 @@ class LocalClusteringCoefficientTest {
         assertEquals(0, result.localClusteringCoefficients().get(14)); // o
     }
 
+    @Test
+    void approximateIsExactForNodesWithFewWedges() {
+        var graph = fromGdl(
+            "CREATE" +
+            " (a)-[:T]->(b)-[:T]->(b)-[:T]->(c)-[:T]->(a)" +
+            ", (c)-[:T]->(d)-[:T]->(e)-[:T]->(f)-[:T]->(d)" +
+            ", (f)-[:T]->(g)-[:T]->(h)-[:T]->(f)" +
+            ", (a)-[:T]->(b)" +
+            ", (o)",
+            UNDIRECTED
+        );
+
+        LocalClusteringCoefficient.Result exact = compute(graph);
+        LocalClusteringCoefficient.Result approximate = compute(
+            graph,
+            createConfig().errorBound(0.1).randomSeed(42L).build()
+        );
+
+        assertEquals(exact.averageClusteringCoefficient(), approximate.averageClusteringCoefficient(), 1e-10);
+        for (int i = 0; i < exact.localClusteringCoefficients().size(); ++i) {
+            assertEquals(
+                exact.localClusteringCoefficients().get(i),
+                approximate.localClusteringCoefficients().get(i),
+                1e-10
+            );
+        }
+    }
+
+    @Test
+    void approximateIsWithinErrorBound() {
+        int ringSize = 300;
+        StringBuilder gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < ringSize; ++i) {
+            gdl.append(formatWithLocale(
+                "%s(center)-[:T]->(n%d), (n%d)-[:T]->(n%d)",
+                i == 0 ? "" : ", ",
+                i,
+                i,
+                (i + 1) % ringSize
+            ));
+        }
+        var graph = fromGdl(gdl.toString(), UNDIRECTED);
+
+        double errorBound = 0.05;
+        LocalClusteringCoefficient.Result exact = compute(graph);
+        LocalClusteringCoefficient.Result approximate = compute(
+            graph,
+            createConfig().errorBound(errorBound).randomSeed(42L).concurrency(4).build()
+        );
+
+        for (int i = 0; i < exact.localClusteringCoefficients().size(); ++i) {
+            assertEquals(
+                exact.localClusteringCoefficients().get(i),
+                approximate.localClusteringCoefficients().get(i),
+                errorBound
+            );
+        }
+    }
+
+    @Test
+    void approximateIgnoresParallelRelationships() {
+        int ringSize = 300;
+        StringBuilder gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < ringSize; ++i) {
+            gdl.append(formatWithLocale(
+                "%s(center)-[:T]->(n%d), (center)-[:T]->(n%d), (n%d)-[:T]->(n%d)",
+                i == 0 ? "" : ", ",
+                i,
+                i,
+                i,
+                (i + 1) % ringSize
+            ));
+        }
+        gdl.append(", (center)-[:T]->(center)");
+        var graph = fromGdl(gdl.toString(), UNDIRECTED);
+
+        double errorBound = 0.05;
+        LocalClusteringCoefficient.Result exact = compute(graph);
+        LocalClusteringCoefficient.Result approximate = compute(
+            graph,
+            createConfig().errorBound(errorBound).randomSeed(42L).concurrency(4).build()
+        );
+
+        // the center has 301 distinct neighbours including itself and 300 closed wedges
+        assertEquals(300.0 / (301 * 300 / 2), exact.localClusteringCoefficients().get(0), 1e-10);
+        for (int i = 0; i < exact.localClusteringCoefficients().size(); ++i) {
+            assertEquals(
+                exact.localClusteringCoefficients().get(i),
+                approximate.localClusteringCoefficients().get(i),
+                errorBound
+            );
+        }
+    }
+
+    @Test
+    void shouldFailOnErrorBoundWithTriangleCountProperty() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> createConfig().errorBound(0.1).seedProperty("triangles").build()
+        );
+        assertThat(exception.getMessage()).contains("errorBound");
+    }
+
     private LocalClusteringCoefficient.Result compute(Graph graph) {
+        return compute(graph, createConfig().build());
+    }
+
+    private LocalClusteringCoefficient.Result compute(Graph graph, LocalClusteringCoefficientBaseConfig config) {
         return new LocalClusteringCoefficient(
             graph,
-            createConfig().build(),
+            config,
             AllocationTracker.empty(),
             ProgressLogger.NULL_LOGGER
         ).compute();
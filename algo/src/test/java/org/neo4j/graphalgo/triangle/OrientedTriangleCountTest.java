@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT;
+
+class OrientedTriangleCountTest extends IntersectingTriangleCountTest {
+
+    @Override
+    TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
+        var result = new AtomicReference<TriangleCountResult>();
+        USE_ORIENTED_TRIANGLE_COUNT.enableAndRun(() -> result.set(new IntersectingTriangleCount(
+            graph,
+            config,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute()));
+        return result.get();
+    }
+
+    @Test
+    void shouldIntersectLongForwardListsOnAClique() {
+        int cliqueSize = 2 * OrientedTriangleCount.HASH_THRESHOLD;
+        var gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < cliqueSize; i++) {
+            for (int j = i + 1; j < cliqueSize; j++) {
+                if (gdl.length() > "CREATE ".length()) {
+                    gdl.append(", ");
+                }
+                gdl.append("(n").append(i).append(")-[:T]->(n").append(j).append(")");
+            }
+        }
+        var graph = fromGdl(gdl.toString(), UNDIRECTED);
+
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig.builder().concurrency(4).build();
+        TriangleCountResult result = compute(graph, config);
+
+        long n = cliqueSize;
+        assertEquals(n * (n - 1) * (n - 2) / 6, result.globalTriangles());
+        for (int i = 0; i < cliqueSize; i++) {
+            assertEquals((n - 1) * (n - 2) / 2, result.localTriangles().get(i));
+        }
+    }
+}
@@ -38,12 +38,16 @@ import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_AFFOREST;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_WORK_STEALING;
 
 class WccTest {
 
@@ -102,6 +106,61 @@ class WccTest {
         });
     }
 
+    @Test
+    void shouldComputeComponentsWithWorkStealing() {
+        var graph = createTestGraph(Orientation.NATURAL);
+
+        var resultHolder = new AtomicReference<DisjointSetStruct>();
+        USE_WORK_STEALING.enableAndRun(() -> resultHolder.set(run(graph)));
+        var result = resultHolder.get();
+
+        assertEquals(SETS_COUNT, getSetCount(result));
+        graph.forEachNode(nodeId -> {
+            assertEquals(result.setIdOf(nodeId - nodeId % SET_SIZE), result.setIdOf(nodeId));
+            return true;
+        });
+    }
+
+    @ParameterizedTest(name = "orientation = {0}")
+    @EnumSource(Orientation.class)
+    void shouldComputeComponentsWithAfforest(Orientation orientation) {
+        var graph = createTestGraph(orientation);
+
+        var resultHolder = new AtomicReference<DisjointSetStruct>();
+        USE_AFFOREST.enableAndRun(() -> resultHolder.set(run(graph)));
+        var result = resultHolder.get();
+
+        assertEquals(SETS_COUNT, getSetCount(result));
+        graph.forEachNode(nodeId -> {
+            assertEquals(result.setIdOf(nodeId - nodeId % SET_SIZE), result.setIdOf(nodeId));
+            return true;
+        });
+    }
+
+    @Test
+    void shouldRespectThresholdWithAfforest() {
+        var graph = fromGdl(
+            "(a)-[:REL {w: 2.0}]->(b)-[:REL {w: 0.5}]->(c)-[:REL {w: 2.0}]->(d)" +
+            ",(a)-[:REL {w: 0.5}]->(d)" +
+            ",(e)-[:REL {w: 2.0}]->(f)",
+            Orientation.UNDIRECTED
+        );
+        var config = ImmutableWccStreamConfig.builder()
+            .relationshipWeightProperty("w")
+            .threshold(1.0)
+            .build();
+
+        var resultHolder = new AtomicReference<DisjointSetStruct>();
+        USE_AFFOREST.enableAndRun(() -> resultHolder.set(run(graph, config)));
+        var result = resultHolder.get();
+
+        assertEquals(3, getSetCount(result));
+        assertTrue(result.sameSet(graph.toMappedNodeId("a"), graph.toMappedNodeId("b")));
+        assertTrue(result.sameSet(graph.toMappedNodeId("c"), graph.toMappedNodeId("d")));
+        assertTrue(result.sameSet(graph.toMappedNodeId("e"), graph.toMappedNodeId("f")));
+        assertFalse(result.sameSet(graph.toMappedNodeId("a"), graph.toMappedNodeId("c")));
+    }
+
     @Test
     void shouldLogProgress() {
         var graph = createTestGraph(Orientation.NATURAL);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class WccUpdateTest {
+
+    private static final String GRAPH =
+        "(a)-->(b)-->(c)" +
+        ",(d)-->(e)" +
+        ",(f)-->(g)" +
+        ",(h)";
+
+    @Test
+    void shouldMergeComponentsOfNewRelationships() {
+        var graph = fromGdl(GRAPH);
+        var dss = computeComponents(graph);
+        assertEquals(4, WccTest.getSetCount(dss));
+
+        new WccUpdate(
+            dss,
+            new long[]{graph.toMappedNodeId("c"), graph.toMappedNodeId("h")},
+            new long[]{graph.toMappedNodeId("d"), graph.toMappedNodeId("h")},
+            4,
+            Pools.DEFAULT
+        ).compute();
+
+        assertEquals(3, WccTest.getSetCount(dss));
+        assertTrue(dss.sameSet(graph.toMappedNodeId("a"), graph.toMappedNodeId("e")));
+        assertFalse(dss.sameSet(graph.toMappedNodeId("a"), graph.toMappedNodeId("f")));
+        assertFalse(dss.sameSet(graph.toMappedNodeId("a"), graph.toMappedNodeId("h")));
+    }
+
+    @Test
+    void shouldMatchRecomputationOnTheUpdatedGraph() {
+        var graph = fromGdl(GRAPH);
+        var dss = computeComponents(graph);
+
+        new WccUpdate(
+            dss,
+            new long[]{graph.toMappedNodeId("e"), graph.toMappedNodeId("g")},
+            new long[]{graph.toMappedNodeId("f"), graph.toMappedNodeId("h")},
+            1,
+            Pools.DEFAULT
+        ).compute();
+
+        var updatedGraph = fromGdl(GRAPH + ",(e)-->(f),(g)-->(h)");
+        var expected = computeComponents(updatedGraph);
+
+        assertEquals(WccTest.getSetCount(expected), WccTest.getSetCount(dss));
+        for (var first : new String[]{"a", "b", "c", "d", "e", "f", "g", "h"}) {
+            for (var second : new String[]{"a", "b", "c", "d", "e", "f", "g", "h"}) {
+                assertEquals(
+                    expected.sameSet(updatedGraph.toMappedNodeId(first), updatedGraph.toMappedNodeId(second)),
+                    dss.sameSet(graph.toMappedNodeId(first), graph.toMappedNodeId(second)),
+                    first + " and " + second
+                );
+            }
+        }
+    }
+
+    @Test
+    void shouldFailOnDifferentLengths() {
+        var graph = fromGdl(GRAPH);
+        var dss = computeComponents(graph);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new WccUpdate(dss, new long[]{0L}, new long[0], 1, Pools.DEFAULT)
+        );
+    }
+
+    private static DisjointSetStruct computeComponents(TestGraph graph) {
+        return new Wcc(
+            graph,
+            Pools.DEFAULT,
+            10,
+            ImmutableWccStreamConfig.builder().build(),
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.scc;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel strongly connected components algorithm for large directed graphs.
+ * <p>
+ * Nodes without incoming or outgoing relationships are trimmed as trivial components first.
+ * A forward-backward pass from a high degree pivot then assigns the component of that pivot,
+ * which is usually the giant component. The remaining nodes are handled in colouring rounds:
+ * the largest node id is propagated forward along relationships, and every node that keeps its
+ * own id as colour is the root of a component made of all nodes of that colour that reach the root.
+ * <p>
+ * Only outgoing relationships are available, so the reverse relationships are built once as a compressed
+ * adjacency list (offsets and sources per target node). Backward reachability is a parallel frontier search on them.
+ * Component ids are the node ids of the component roots.
+ *
+ * specified in: Fleischer, Hendrickson, Pinar, "On Identifying Strongly Connected Components in Parallel"
+ * and Orzan, "On Distributed Verification and Verified Distribution".
+ */
+public class ParallelSccAlgorithm extends Algorithm<ParallelSccAlgorithm, HugeLongArray> {
+
+    private static final long UNASSIGNED = -1L;
+    private static final long NO_COLOR = -1L;
+    private static final int TRIM_ROUNDS = 3;
+
+    private Graph graph;
+    private final long nodeCount;
+    private final ExecutorService executor;
+    private final List<Partition> partitions;
+
+    private HugeLongArray components;
+    private HugeAtomicLongArray colors;
+    private HugeAtomicBitSet frontier;
+    private HugeAtomicBitSet nextFrontier;
+    private HugeAtomicBitSet marked;
+    private HugeLongArray reverseOffsets;
+    private HugeLongArray reverseSources;
+    private final LongAdder assignedNodes;
+
+    private long setCount;
+    private long minSetSize;
+    private long maxSetSize;
+
+    public ParallelSccAlgorithm(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.executor = executor;
+        this.partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+        this.components = HugeLongArray.newArray(nodeCount, tracker);
+        this.colors = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.frontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.nextFrontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.marked = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.reverseOffsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        this.reverseSources = HugeLongArray.newArray(graph.relationshipCount(), tracker);
+        this.assignedNodes = new LongAdder();
+    }
+
+    @Override
+    public HugeLongArray compute() {
+        components.fill(UNASSIGNED);
+        assignedNodes.reset();
+
+        buildReverseRelationships();
+        trim();
+        if (assignedNodes.sum() < nodeCount) {
+            forwardBackward(selectPivot());
+        }
+        while (assignedNodes.sum() < nodeCount) {
+            trim();
+            if (assignedNodes.sum() < nodeCount) {
+                colouringRound();
+            }
+        }
+
+        computeSetStatistics();
+        return components;
+    }
+
+    @Override
+    public ParallelSccAlgorithm me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+        colors = null;
+        frontier = null;
+        nextFrontier = null;
+        marked = null;
+        reverseOffsets = null;
+        reverseSources = null;
+    }
+
+    /**
+     * number of connected components in the graph
+     */
+    public long getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * minimum set size
+     */
+    public long getMinSetSize() {
+        return minSetSize;
+    }
+
+    /**
+     * maximum component size
+     */
+    public long getMaxSetSize() {
+        return maxSetSize;
+    }
+
+    /**
+     * Builds the reverse adjacency list without self-loops.
+     * The in-degrees and then the insert positions are kept in {@link #colors}, which is not needed at that point.
+     */
+    private void buildReverseRelationships() {
+        colors.setAll(0L);
+        forEachNode((rels, node) -> rels.forEachRelationship(node, (source, target) -> {
+            if (source != target) {
+                colors.update(target, inDegree -> inDegree + 1);
+            }
+            return true;
+        }));
+
+        long offset = 0L;
+        for (long node = 0L; node < nodeCount; node++) {
+            reverseOffsets.set(node, offset);
+            offset += colors.get(node);
+        }
+        reverseOffsets.set(nodeCount, offset);
+
+        forEachNode((rels, node) -> colors.set(node, reverseOffsets.get(node)));
+        forEachNode((rels, node) -> rels.forEachRelationship(node, (source, target) -> {
+            if (source != target) {
+                reverseSources.set(getAndIncrement(colors, target), source);
+            }
+            return true;
+        }));
+    }
+
+    private static long getAndIncrement(HugeAtomicLongArray array, long index) {
+        long current = array.get(index);
+        while (true) {
+            long witness = array.compareAndExchange(index, current, current + 1);
+            if (witness == current) {
+                return current;
+            }
+            current = witness;
+        }
+    }
+
+    /**
+     * Assigns every node without active in- or out-neighbours to its own component.
+     * The in-degrees are counted in {@link #colors}, which is not needed at that point.
+     */
+    private void trim() {
+        for (int round = 0; round < TRIM_ROUNDS; round++) {
+            colors.setAll(0L);
+            forEachActiveNode((rels, node) -> rels.forEachRelationship(node, (source, target) -> {
+                if (source != target && isActive(target)) {
+                    colors.update(target, inDegree -> inDegree + 1);
+                }
+                return true;
+            }));
+
+            var trimmed = new LongAdder();
+            forEachActiveNode((rels, node) -> {
+                if (colors.get(node) == 0L || !hasActiveOutNeighbour(rels, node)) {
+                    components.set(node, node);
+                    trimmed.increment();
+                }
+            });
+            assignNodes(trimmed.sum());
+
+            if (trimmed.sum() == 0L) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Picks the active node with the largest product of in- and out-degree,
+     * relying on the in-degrees of the last trimming round.
+     */
+    private long selectPivot() {
+        var pivot = new AtomicLong(UNASSIGNED);
+        var pivotScore = new AtomicLong(-1L);
+        forEachActiveNode((rels, node) -> {
+            long score = (colors.get(node) + 1) * (graph.degree(node) + 1);
+            if (score > pivotScore.get()) {
+                synchronized (pivot) {
+                    if (score > pivotScore.get()) {
+                        pivotScore.set(score);
+                        pivot.set(node);
+                    }
+                }
+            }
+        });
+        return pivot.get();
+    }
+
+    private void forwardBackward(long pivot) {
+        colors.setAll(NO_COLOR);
+        colors.set(pivot, pivot);
+        frontier.clear();
+        frontier.set(pivot);
+
+        propagateColors();
+        markBackward();
+        assignMarkedNodes();
+    }
+
+    private void colouringRound() {
+        frontier.clear();
+        forEachNode((rels, node) -> {
+            if (isActive(node)) {
+                colors.set(node, node);
+                frontier.set(node);
+            } else {
+                colors.set(node, NO_COLOR);
+            }
+        });
+
+        propagateColors();
+        markBackward();
+        assignMarkedNodes();
+    }
+
+    /**
+     * Raises the colour of active out-neighbours of the frontier until no colour changes anymore.
+     */
+    private void propagateColors() {
+        while (!frontier.isEmpty()) {
+            forEachFrontierNode((rels, node) -> {
+                long color = colors.get(node);
+                rels.forEachRelationship(node, (source, target) -> {
+                    if (isActive(target) && raiseColor(target, color)) {
+                        nextFrontier.set(target);
+                    }
+                    return true;
+                });
+            });
+
+            var tmp = frontier;
+            frontier = nextFrontier;
+            nextFrontier = tmp;
+            nextFrontier.clear();
+        }
+    }
+
+    private boolean raiseColor(long node, long color) {
+        long current = colors.get(node);
+        while (current < color) {
+            long witness = colors.compareAndExchange(node, current, color);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Marks every node that reaches the root of its colour by searching the reverse relationships
+     * from the roots themselves. Only active nodes carry a colour, so the search never leaves them.
+     */
+    private void markBackward() {
+        marked.clear();
+        frontier.clear();
+        forEachActiveNode((rels, node) -> {
+            if (colors.get(node) == node) {
+                marked.set(node);
+                frontier.set(node);
+            }
+        });
+
+        while (!frontier.isEmpty()) {
+            forEachFrontierNode((rels, node) -> {
+                long color = colors.get(node);
+                long end = reverseOffsets.get(node + 1);
+                for (long offset = reverseOffsets.get(node); offset < end; offset++) {
+                    long source = reverseSources.get(offset);
+                    if (colors.get(source) == color && !marked.getAndSet(source)) {
+                        nextFrontier.set(source);
+                    }
+                }
+            });
+
+            var tmp = frontier;
+            frontier = nextFrontier;
+            nextFrontier = tmp;
+            nextFrontier.clear();
+        }
+    }
+
+    private void assignMarkedNodes() {
+        var assigned = new LongAdder();
+        forEachMarkedNode(node -> {
+            components.set(node, colors.get(node));
+            assigned.increment();
+        });
+        assignNodes(assigned.sum());
+    }
+
+    private void assignNodes(long count) {
+        assignedNodes.add(count);
+        getProgressLogger().logProgress(assignedNodes.sum(), nodeCount);
+    }
+
+    private void computeSetStatistics() {
+        colors.setAll(0L);
+        forEachNode((rels, node) -> colors.update(components.get(node), size -> size + 1));
+
+        var sets = new LongAdder();
+        var minSize = new AtomicLong(Long.MAX_VALUE);
+        var maxSize = new AtomicLong(0L);
+        forEachNode((rels, node) -> {
+            if (components.get(node) == node) {
+                long size = colors.get(node);
+                sets.increment();
+                minSize.accumulateAndGet(size, Math::min);
+                maxSize.accumulateAndGet(size, Math::max);
+            }
+        });
+
+        setCount = sets.sum();
+        minSetSize = setCount == 0 ? 0 : minSize.get();
+        maxSetSize = maxSize.get();
+    }
+
+    private boolean isActive(long node) {
+        return components.get(node) == UNASSIGNED;
+    }
+
+    private boolean hasActiveOutNeighbour(RelationshipIterator rels, long node) {
+        var found = new boolean[1];
+        rels.forEachRelationship(node, (source, target) -> {
+            if (source != target && isActive(target)) {
+                found[0] = true;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    private void forEachActiveNode(NodeAction action) {
+        forEachNode((rels, node) -> {
+            if (isActive(node)) {
+                action.accept(rels, node);
+            }
+        });
+    }
+
+    private void forEachNode(NodeAction action) {
+        run(partition -> () -> {
+            var rels = graph.concurrentCopy();
+            long end = partition.startNode() + partition.nodeCount();
+            for (long node = partition.startNode(); node < end; node++) {
+                action.accept(rels, node);
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+        });
+    }
+
+    private void forEachFrontierNode(NodeAction action) {
+        run(partition -> () -> {
+            var rels = graph.concurrentCopy();
+            long end = partition.startNode() + partition.nodeCount();
+            for (long node = frontier.nextSetBit(partition.startNode(), end); node != -1L; node = frontier.nextSetBit(node + 1, end)) {
+                action.accept(rels, node);
+            }
+            assertRunning();
+        });
+    }
+
+    private void forEachMarkedNode(LongConsumer action) {
+        run(partition -> () -> {
+            long end = partition.startNode() + partition.nodeCount();
+            for (long node = marked.nextSetBit(partition.startNode(), end); node != -1L; node = marked.nextSetBit(node + 1, end)) {
+                action.accept(node);
+            }
+        });
+    }
+
+    private void run(Function<Partition, Runnable> taskFactory) {
+        List<Runnable> tasks = partitions.stream().map(taskFactory).collect(Collectors.toList());
+        ParallelUtil.run(tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface NodeAction {
+        void accept(RelationshipIterator rels, long node);
+    }
+}
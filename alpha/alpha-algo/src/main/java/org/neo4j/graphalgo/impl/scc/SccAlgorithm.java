@@ -22,14 +22,22 @@ package org.neo4j.graphalgo.impl.scc;
 import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.PagedLongStack;
 
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARALLEL_SCC;
+
 /**
  * huge iterative (non recursive) sequential strongly connected components algorithm.
  *
  * specified in:  http://code.activestate.com/recipes/578507-strongly-connected-components-of-a-directed-graph/
+ *
+ * With {@link org.neo4j.graphalgo.utils.GdsFeatureToggles#USE_PARALLEL_SCC} enabled and a concurrency
+ * greater than one, the components are computed by {@link ParallelSccAlgorithm} instead.
  */
 public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
 
@@ -55,14 +63,23 @@ public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
     private PagedLongStack stack;
     private PagedLongStack boundaries;
     private PagedLongStack todo; // stores pairs of (node-Id, TODO-Id)
-    private int setCount;
+    private ParallelSccAlgorithm parallelScc;
+    private long setCount;
 
-    private int minSetSize;
-    private int maxSetSize;
+    private long minSetSize;
+    private long maxSetSize;
 
     public SccAlgorithm(Graph graph, AllocationTracker tracker) {
+        this(graph, tracker, 1, Pools.DEFAULT);
+    }
+
+    public SccAlgorithm(Graph graph, AllocationTracker tracker, int concurrency, ExecutorService executor) {
         this.graph = graph;
         nodeCount = graph.nodeCount();
+        if (USE_PARALLEL_SCC.isEnabled() && concurrency > 1) {
+            parallelScc = new ParallelSccAlgorithm(graph, concurrency, executor, tracker);
+            return;
+        }
         index = HugeLongArray.newArray(nodeCount, tracker);
         stack = new PagedLongStack(nodeCount, tracker);
         boundaries = new PagedLongStack(nodeCount, tracker);
@@ -75,6 +92,16 @@ public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
      * compute scc
      */
     public HugeLongArray compute() {
+        if (parallelScc != null) {
+            HugeLongArray components = parallelScc
+                .withTerminationFlag(terminationFlag)
+                .withProgressLogger(progressLogger)
+                .compute();
+            setCount = parallelScc.getSetCount();
+            minSetSize = parallelScc.getMinSetSize();
+            maxSetSize = parallelScc.getMaxSetSize();
+            return components;
+        }
         setCount = 0;
         minSetSize = Integer.MAX_VALUE;
         maxSetSize = 0;
@@ -97,6 +124,10 @@ public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
      */
     @Override
     public void release() {
+        if (parallelScc != null) {
+            parallelScc.release();
+            parallelScc = null;
+        }
         graph = null;
         index = null;
         visited = null;
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.scc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARALLEL_SCC;
+
+@GdlExtension
+class ParallelSccAlgorithmTest {
+
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (g:Node)" +
+        ", (h:Node)" +
+        ", (i:Node)" +
+        ", (j:Node)" +
+        ", (k:Node)" +
+
+        ", (a)-[:TYPE]->(b)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(a)" +
+
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(d)" +
+        ", (e)-[:TYPE]->(d)" +
+
+        ", (a)-[:TYPE]->(d)" +
+
+        ", (g)-[:TYPE]->(h)" +
+        ", (h)-[:TYPE]->(i)" +
+        ", (i)-[:TYPE]->(g)" +
+
+        ", (j)-[:TYPE]->(j)" +
+        ", (k)-[:TYPE]->(g)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void shouldComputeComponents() {
+        var scc = new ParallelSccAlgorithm(graph, 4, Pools.DEFAULT, AllocationTracker.empty());
+        HugeLongArray components = scc.compute();
+
+        assertSameComponent(components, "a", "b", "c");
+        assertSameComponent(components, "d", "e", "f");
+        assertSameComponent(components, "g", "h", "i");
+        assertNotEquals(components.get(idFunction.of("a")), components.get(idFunction.of("d")));
+        assertNotEquals(components.get(idFunction.of("a")), components.get(idFunction.of("g")));
+        assertNotEquals(components.get(idFunction.of("d")), components.get(idFunction.of("g")));
+        assertEquals(idFunction.of("j"), components.get(idFunction.of("j")));
+        assertEquals(idFunction.of("k"), components.get(idFunction.of("k")));
+
+        assertEquals(5, scc.getSetCount());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(3, scc.getMaxSetSize());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchSequentialAlgorithm(int concurrency) {
+        Graph randomGraph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .build()
+            .generate();
+
+        HugeLongArray expected = new SccAlgorithm(randomGraph, AllocationTracker.empty()).compute();
+        var parallelScc = new ParallelSccAlgorithm(randomGraph, concurrency, Pools.DEFAULT, AllocationTracker.empty());
+        HugeLongArray actual = parallelScc.compute();
+
+        var expectedToActual = new HashMap<Long, Long>();
+        var actualToExpected = new HashMap<Long, Long>();
+        for (long node = 0; node < randomGraph.nodeCount(); node++) {
+            long expectedComponent = expected.get(node);
+            long actualComponent = actual.get(node);
+            assertEquals(actualComponent, (long) expectedToActual.computeIfAbsent(expectedComponent, ignore -> actualComponent));
+            assertEquals(expectedComponent, (long) actualToExpected.computeIfAbsent(actualComponent, ignore -> expectedComponent));
+        }
+        assertEquals(expectedToActual.size(), parallelScc.getSetCount());
+    }
+
+    @Test
+    void shouldComputeComponentOfLongCycle() {
+        int cycleLength = 1_000;
+        var gdl = new StringBuilder("(n0)");
+        for (int i = 1; i < cycleLength; i++) {
+            gdl.append("-->(n").append(i).append(")");
+        }
+        gdl.append("-->(n0), (n0)-->(tail)");
+        Graph cycle = GdlFactory.of(gdl.toString()).build().graphStore().getUnion();
+
+        var scc = new ParallelSccAlgorithm(cycle, 4, Pools.DEFAULT, AllocationTracker.empty());
+        scc.compute();
+
+        assertEquals(2, scc.getSetCount());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(cycleLength, scc.getMaxSetSize());
+    }
+
+    @Test
+    void shouldDelegateToParallelAlgorithmWhenEnabled() {
+        var setCount = new AtomicReference<Long>();
+        USE_PARALLEL_SCC.enableAndRun(() -> {
+            var scc = new SccAlgorithm(graph, AllocationTracker.empty(), 4, Pools.DEFAULT);
+            HugeLongArray components = scc.compute();
+            assertSameComponent(components, "d", "e", "f");
+            setCount.set(scc.getSetCount());
+        });
+        assertEquals(5L, setCount.get());
+    }
+
+    private void assertSameComponent(HugeLongArray components, String... variables) {
+        long expected = components.get(idFunction.of(variables[0]));
+        for (String variable : variables) {
+            assertEquals(expected, components.get(idFunction.of(variable)), variable);
+        }
+    }
+}
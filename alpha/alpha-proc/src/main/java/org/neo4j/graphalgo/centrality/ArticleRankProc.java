@@ -86,7 +86,7 @@ public final class ArticleRankProc extends AlgoBaseProc<PageRank, PageRank, Arti
             NodePropertyExporter exporter = NodePropertyExporter
                 .builder(api, graph, algo.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build();
             algo.result().export(config.writeProperty(), exporter);
         }
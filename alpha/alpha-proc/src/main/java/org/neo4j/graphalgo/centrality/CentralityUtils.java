@@ -54,7 +54,7 @@ public final class CentralityUtils {
             NodePropertyExporter exporter = NodePropertyExporter
                 .builder(api, graph, terminationFlag)
                 .withLog(log)
-                .parallel(Pools.DEFAULT, configuration.writeConcurrency())
+                .parallel(Pools.IO, configuration.writeConcurrency())
                 .build();
             result.export(propertyName, exporter);
         }
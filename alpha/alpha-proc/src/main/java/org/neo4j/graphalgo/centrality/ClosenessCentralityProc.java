@@ -101,7 +101,7 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
         try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
             NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
+                .parallel(Pools.IO, computationResult.config().writeConcurrency())
                 .build();
             algorithm.export(config.writeProperty(), exporter);
         }
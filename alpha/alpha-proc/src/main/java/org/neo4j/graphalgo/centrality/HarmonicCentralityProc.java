@@ -97,7 +97,7 @@ public class HarmonicCentralityProc extends AlgoBaseProc<HarmonicCentrality, Har
         try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
             NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
+                .parallel(Pools.IO, computationResult.config().writeConcurrency())
                 .build();
 
             exporter.write(
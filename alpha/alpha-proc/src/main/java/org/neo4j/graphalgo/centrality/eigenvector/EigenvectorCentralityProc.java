@@ -84,7 +84,7 @@ public final class EigenvectorCentralityProc extends AlgoBaseProc<PageRank, Page
             NodePropertyExporter exporter = NodePropertyExporter
                 .builder(api, computationResult.graph(), algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build();
             normalizedResults.export(config.writeProperty(), exporter);
         }
@@ -93,7 +93,7 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
         try (ProgressTimer ignored = ProgressTimer.start(writeBuilder::withWriteMillis)) {
             NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build();
             exporter
                 .write(
@@ -146,7 +146,7 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
     @Override
     protected AlgorithmFactory<SccAlgorithm, SccConfig> algorithmFactory() {
         return (AlphaAlgorithmFactory<SccAlgorithm, SccConfig>) (graph, configuration, tracker, log) ->
-            new SccAlgorithm(graph, tracker)
+            new SccAlgorithm(graph, tracker, configuration.concurrency(), Pools.DEFAULT)
                 .withTerminationFlag(TerminationFlag.wrap(transaction));
     }
 
@@ -108,7 +108,7 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
             NodePropertyExporter
                 .builder(api, graph, algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build()
                 .write(
                     config.writeProperty(),
@@ -86,7 +86,7 @@ public class ShortestPathsProc extends AlgoBaseProc<ShortestPaths, ShortestPaths
             ShortestPathsConfig config = computationResult.config();
             NodePropertyExporter.builder(api, computationResult.graph(), algorithm.getTerminationFlag())
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build()
                 .write(
                     config.writeProperty(),
@@ -97,7 +97,7 @@ public class KSpanningTreeProc extends AlgoBaseProc<KSpanningTree, SpanningTree,
         try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
             final NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, TerminationFlag.wrap(transaction))
                 .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .build();
 
             exporter.write(
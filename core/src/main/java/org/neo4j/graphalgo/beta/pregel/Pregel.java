@@ -31,6 +31,9 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.PartitionAffinityExecutor;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -43,7 +46,6 @@ import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -53,6 +55,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARTITION_AFFINITY;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
@@ -69,11 +72,14 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final CompositeNodeValue nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
 
     private final int concurrency;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
+    private final boolean usePartitionAffinity;
+
+    private PartitionAffinityExecutor affinityExecutor;
 
     public static <CONFIG extends PregelConfig> Pregel<CONFIG> create(
             Graph graph,
@@ -168,11 +174,29 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.concurrency = config.concurrency();
         this.executor = executor;
         this.tracker = tracker;
+        this.usePartitionAffinity = USE_PARTITION_AFFINITY.isEnabled() && ParallelUtil.canRunInParallel(executor);
 
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        if (!usePartitionAffinity) {
+            this.messageQueues = initLinkedQueues(graph, tracker);
+        }
     }
 
     public PregelResult run() {
+        if (usePartitionAffinity) {
+            // every run gets its own workers, which create the message queues of their partitions.
+            // The node values are allocated by the constructing thread and are not placed by partition.
+            try (var executor = Pools.newPartitionAffinityExecutor(concurrency)) {
+                affinityExecutor = executor;
+                messageQueues = initLinkedQueues(graph, tracker);
+                return runIterations();
+            } finally {
+                affinityExecutor = null;
+            }
+        }
+        return runIterations();
+    }
+
+    private PregelResult runIterations() {
         boolean didConverge = false;
         // Tracks if a node received messages in the current iteration
         HugeAtomicBitSet messageBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
@@ -216,7 +240,9 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public void release() {
-        messageQueues.release();
+        if (messageQueues != null) {
+            messageQueues.release();
+        }
     }
 
     private List<ComputeStep<CONFIG>> createComputeSteps(HugeAtomicBitSet voteBits) {
@@ -241,7 +267,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     private void runComputeSteps(
-        Collection<ComputeStep<CONFIG>> computeSteps,
+        List<ComputeStep<CONFIG>> computeSteps,
         final int iteration,
         HugeAtomicBitSet messageBits
     ) {
@@ -262,7 +288,11 @@ public final class Pregel<CONFIG extends PregelConfig> {
             }
         }
 
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
+        if (affinityExecutor != null) {
+            affinityExecutor.run(computeSteps, TerminationFlag.RUNNING_TRUE);
+        } else {
+            ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
+        }
     }
 
     @SuppressWarnings({"unchecked"})
@@ -275,10 +305,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 graph.nodeCount(),
                 tracker);
 
-        ParallelUtil.parallelStreamConsume(
+        if (affinityExecutor != null) {
+            // create the queues of a partition on the thread that runs its compute step
+            List<Runnable> tasks = PartitionUtils.rangePartition(concurrency, graph.nodeCount())
+                .stream()
+                .map(partition -> (Runnable) () -> {
+                    long end = partition.startNode() + partition.nodeCount();
+                    for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                        messageQueues.set(nodeId, new MpscLinkedQueue<>());
+                    }
+                })
+                .collect(Collectors.toList());
+            affinityExecutor.run(tasks, TerminationFlag.RUNNING_TRUE);
+        } else {
+            ParallelUtil.parallelStreamConsume(
                 LongStream.range(0, graph.nodeCount()),
                 concurrency,
                 nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, new MpscLinkedQueue<Double>())));
+        }
 
         return messageQueues;
     }
@@ -348,23 +392,48 @@ public final class Pregel<CONFIG extends PregelConfig> {
             long batchStart = nodeBatch.startNode();
             long batchEnd = batchStart + nodeBatch.nodeCount();
 
-            for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
-
-                if (computeContext.isInitialSuperstep()) {
+            if (computeContext.isInitialSuperstep()) {
+                for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
                     initContext.setNodeId(nodeId);
                     computation.init(initContext);
-                }
 
-                if (prevMessageBits.get(nodeId) || !voteBits.get(nodeId)) {
-                    voteBits.clear(nodeId);
-                    computeContext.setNodeId(nodeId);
+                    if (prevMessageBits.get(nodeId) || !voteBits.get(nodeId)) {
+                        compute(nodeId, messageIterator, messages);
+                    }
+                }
+                return;
+            }
 
-                    messageIterator.init(receiveMessages(nodeId));
-                    computation.compute(computeContext, messages);
+            // A node is active if it received messages or did not vote to halt.
+            // Instead of testing every node, we skip ahead to the next active node word by word.
+            // Only the computation of a node itself changes its vote bit, so the next candidates stay valid.
+            long nextWithMessages = nextOrEnd(prevMessageBits.nextSetBit(batchStart, batchEnd), batchEnd);
+            long nextNotHalted = nextOrEnd(voteBits.nextClearBit(batchStart, batchEnd), batchEnd);
+            long nodeId;
+            while ((nodeId = Math.min(nextWithMessages, nextNotHalted)) < batchEnd) {
+                compute(nodeId, messageIterator, messages);
+
+                if (nextWithMessages == nodeId) {
+                    nextWithMessages = nextOrEnd(prevMessageBits.nextSetBit(nodeId + 1, batchEnd), batchEnd);
+                }
+                if (nextNotHalted == nodeId) {
+                    nextNotHalted = nextOrEnd(voteBits.nextClearBit(nodeId + 1, batchEnd), batchEnd);
                 }
             }
         }
 
+        private void compute(long nodeId, MessageIterator messageIterator, Messages messages) {
+            voteBits.clear(nodeId);
+            computeContext.setNodeId(nodeId);
+
+            messageIterator.init(receiveMessages(nodeId));
+            computation.compute(computeContext, messages);
+        }
+
+        private static long nextOrEnd(long index, long end) {
+            return index == -1L ? end : index;
+        }
+
         public int iteration() {
             return iteration;
         }
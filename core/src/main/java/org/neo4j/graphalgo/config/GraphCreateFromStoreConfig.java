@@ -50,6 +50,9 @@ public interface GraphCreateFromStoreConfig extends GraphCreateConfig {
     String RELATIONSHIP_PROJECTION_KEY = "relationshipProjection";
     String NODE_PROPERTIES_KEY = "nodeProperties";
     String RELATIONSHIP_PROPERTIES_KEY = "relationshipProperties";
+    String NODE_SAMPLING_RATIO_KEY = "nodeSamplingRatio";
+    String RELATIONSHIP_SAMPLING_RATIO_KEY = "relationshipSamplingRatio";
+    String SAMPLING_SEED_KEY = "samplingSeed";
 
     @Key(NODE_PROJECTION_KEY)
     @ConvertWith("org.neo4j.graphalgo.AbstractNodeProjections#fromObject")
@@ -73,6 +76,39 @@ public interface GraphCreateFromStoreConfig extends GraphCreateConfig {
         return PropertyMappings.of();
     }
 
+    /**
+     * Fraction of the projected nodes that is sampled uniformly at random during the node scan.
+     * Relationships are only loaded if both of their end nodes have been sampled.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Key(NODE_SAMPLING_RATIO_KEY)
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false)
+    default double nodeSamplingRatio() {
+        return 1.0;
+    }
+
+    /**
+     * Fraction of the projected relationships that is sampled uniformly at random during the relationship scan.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Key(RELATIONSHIP_SAMPLING_RATIO_KEY)
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false)
+    default double relationshipSamplingRatio() {
+        return 1.0;
+    }
+
+    /**
+     * Seed for node and relationship sampling, {@code -1} picks a random seed for every projection.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Key(SAMPLING_SEED_KEY)
+    default long samplingSeed() {
+        return -1;
+    }
+
     @Configuration.Ignore
     @Override
     default GraphStoreFactory.Supplier graphStoreFactory() {
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.mem.GcListenerExtension;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Admission control for algorithm executions.
+ *
+ * Every job declares the number of threads it is going to use and the memory it is estimated to need.
+ * A job is only admitted if it stays within the global, per-user and per-database concurrency limits
+ * and its estimated memory fits into the free memory. Running jobs reserve the part of their estimate
+ * that they have not allocated yet, since everything they did allocate is already missing from the free memory.
+ * Jobs that cannot be admitted wait in a queue, ordered by the priority of their user and their arrival.
+ * A job that does not fit into the free memory while no other job is running is rejected,
+ * as there is no running job that could free memory for it.
+ *
+ * Waiting jobs are admitted as soon as they fit, so small jobs can overtake larger jobs of the same priority.
+ * A job that is blocked by the global limits prevents jobs of lower priority from being admitted,
+ * so that high priority jobs are not starved by a stream of low priority ones.
+ */
+public final class JobScheduler {
+
+    public enum Priority {
+        LOW, NORMAL, HIGH
+    }
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final long CHECK_INTERVAL_MILLIS = 100L;
+
+    private static final JobScheduler INSTANCE = new JobScheduler(
+        Runtime.getRuntime().availableProcessors(),
+        GcListenerExtension::freeMemory
+    );
+
+    public static JobScheduler instance() {
+        return INSTANCE;
+    }
+
+    private final int defaultMaxConcurrency;
+    private final LongSupplier freeMemory;
+
+    private final ReentrantLock lock;
+    private final Condition stateChanged;
+    private final NavigableSet<Job> waiting;
+    private final Set<Job> running;
+    private final Map<String, Integer> runningPerUser;
+    private final Map<String, Integer> runningPerDatabase;
+    private final Map<String, Priority> userPriorities;
+
+    private volatile int maxConcurrency;
+    private volatile int maxConcurrencyPerUser;
+    private volatile int maxConcurrencyPerDatabase;
+
+    private int runningConcurrency;
+    private long nextSequence;
+
+    JobScheduler(int maxConcurrency, LongSupplier freeMemory) {
+        this.defaultMaxConcurrency = maxConcurrency;
+        this.freeMemory = freeMemory;
+        this.lock = new ReentrantLock();
+        this.stateChanged = lock.newCondition();
+        this.waiting = new TreeSet<>(Comparator
+            .comparing((Job job) -> job.priority)
+            .reversed()
+            .thenComparingLong(job -> job.sequence));
+        this.running = new HashSet<>();
+        this.runningPerUser = new HashMap<>();
+        this.runningPerDatabase = new HashMap<>();
+        this.userPriorities = new ConcurrentHashMap<>();
+        resetLimits();
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = validateLimit(maxConcurrency, "maxConcurrency");
+        reschedule();
+    }
+
+    public void setMaxConcurrencyPerUser(int maxConcurrencyPerUser) {
+        this.maxConcurrencyPerUser = validateLimit(maxConcurrencyPerUser, "maxConcurrencyPerUser");
+        reschedule();
+    }
+
+    public void setMaxConcurrencyPerDatabase(int maxConcurrencyPerDatabase) {
+        this.maxConcurrencyPerDatabase = validateLimit(maxConcurrencyPerDatabase, "maxConcurrencyPerDatabase");
+        reschedule();
+    }
+
+    public void setUserPriority(String username, Priority priority) {
+        userPriorities.put(username, priority);
+    }
+
+    public void resetLimits() {
+        this.maxConcurrency = defaultMaxConcurrency;
+        this.maxConcurrencyPerUser = UNLIMITED;
+        this.maxConcurrencyPerDatabase = UNLIMITED;
+        this.userPriorities.clear();
+        reschedule();
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int maxConcurrencyPerUser() {
+        return maxConcurrencyPerUser;
+    }
+
+    public int maxConcurrencyPerDatabase() {
+        return maxConcurrencyPerDatabase;
+    }
+
+    public Priority userPriority(String username) {
+        return userPriorities.getOrDefault(username, Priority.NORMAL);
+    }
+
+    public Permit admit(
+        String username,
+        String databaseName,
+        int concurrency,
+        long estimatedMemory,
+        TerminationFlag terminationFlag
+    ) {
+        return admit(username, databaseName, concurrency, estimatedMemory, () -> 0L, terminationFlag);
+    }
+
+    /**
+     * Blocks until the job is admitted and returns a permit that needs to be closed once the job is done.
+     * The declared concurrency is capped by the configured limits, so every job is eventually admitted
+     * unless it does not fit into memory on its own.
+     *
+     * @param allocatedMemory the number of bytes the job has allocated so far, once it is running
+     * @throws IllegalStateException if the estimated memory exceeds the free memory while no other job is running
+     * @throws org.neo4j.graphdb.TransactionTerminatedException if the termination flag is raised while waiting
+     */
+    public Permit admit(
+        String username,
+        String databaseName,
+        int concurrency,
+        long estimatedMemory,
+        LongSupplier allocatedMemory,
+        TerminationFlag terminationFlag
+    ) {
+        lock.lock();
+        try {
+            var job = new Job(
+                username,
+                databaseName,
+                Math.max(1, Math.min(concurrency, Math.min(maxConcurrency, Math.min(maxConcurrencyPerUser, maxConcurrencyPerDatabase)))),
+                Math.max(0L, estimatedMemory),
+                allocatedMemory,
+                userPriority(username),
+                nextSequence++
+            );
+            waiting.add(job);
+            scheduleWaitingJobs();
+
+            while (!job.admitted) {
+                if (job.rejection != null) {
+                    throw new IllegalStateException(job.rejection);
+                }
+                try {
+                    stateChanged.await(CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    cancel(job);
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                if (!job.admitted && job.rejection == null) {
+                    if (!terminationFlag.running()) {
+                        cancel(job);
+                        terminationFlag.assertRunning();
+                    }
+                    // memory may have been freed in the meantime
+                    scheduleWaitingJobs();
+                }
+            }
+            return new Permit(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int waitingJobs() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int runningConcurrency() {
+        lock.lock();
+        try {
+            return runningConcurrency;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Job job) {
+        waiting.remove(job);
+        // the cancelled job might have blocked jobs of lower priority
+        scheduleWaitingJobs();
+    }
+
+    private void reschedule() {
+        lock.lock();
+        try {
+            scheduleWaitingJobs();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleWaitingJobs() {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        long availableMemory = freeMemory.getAsLong() - unallocatedReservations();
+        Priority blockedPriority = null;
+        boolean stateChangedAny = false;
+
+        Iterator<Job> jobs = waiting.iterator();
+        while (jobs.hasNext()) {
+            Job job = jobs.next();
+            if (blockedPriority != null && job.priority.compareTo(blockedPriority) < 0) {
+                break;
+            }
+            if (!fitsIntoQuotas(job)) {
+                continue;
+            }
+            boolean fitsIntoMemory = job.estimatedMemory <= availableMemory;
+            if (!fitsIntoMemory && running.isEmpty()) {
+                jobs.remove();
+                job.rejection = formatWithLocale(
+                    "Procedure was blocked since minimum estimated memory (%s) exceeds current free memory (%s).",
+                    MemoryUsage.humanReadable(job.estimatedMemory),
+                    MemoryUsage.humanReadable(availableMemory)
+                );
+                stateChangedAny = true;
+                continue;
+            }
+            boolean fitsGlobally = runningConcurrency + job.concurrency <= maxConcurrency && fitsIntoMemory;
+            if (!fitsGlobally) {
+                if (blockedPriority == null) {
+                    blockedPriority = job.priority;
+                }
+                continue;
+            }
+
+            jobs.remove();
+            start(job);
+            availableMemory -= job.estimatedMemory;
+            stateChangedAny = true;
+        }
+
+        if (stateChangedAny) {
+            stateChanged.signalAll();
+        }
+    }
+
+    private long unallocatedReservations() {
+        long unallocated = 0L;
+        for (Job job : running) {
+            unallocated += Math.max(0L, job.estimatedMemory - job.allocatedMemory.getAsLong());
+        }
+        return unallocated;
+    }
+
+    private boolean fitsIntoQuotas(Job job) {
+        return runningPerUser.getOrDefault(job.username, 0) + job.concurrency <= maxConcurrencyPerUser
+               && runningPerDatabase.getOrDefault(job.databaseName, 0) + job.concurrency <= maxConcurrencyPerDatabase;
+    }
+
+    private void start(Job job) {
+        running.add(job);
+        runningConcurrency += job.concurrency;
+        runningPerUser.merge(job.username, job.concurrency, Integer::sum);
+        runningPerDatabase.merge(job.databaseName, job.concurrency, Integer::sum);
+        job.admitted = true;
+    }
+
+    private void finish(Job job) {
+        lock.lock();
+        try {
+            running.remove(job);
+            runningConcurrency -= job.concurrency;
+            runningPerUser.computeIfPresent(job.username, (user, running) -> running == job.concurrency ? null : running - job.concurrency);
+            runningPerDatabase.computeIfPresent(job.databaseName, (database, running) -> running == job.concurrency ? null : running - job.concurrency);
+            scheduleWaitingJobs();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int validateLimit(int limit, String name) {
+        if (limit < 1) {
+            throw new IllegalArgumentException(formatWithLocale("Invalid value for %s, must be at least 1", name));
+        }
+        return limit;
+    }
+
+    private static final class Job {
+        final String username;
+        final String databaseName;
+        final int concurrency;
+        final long estimatedMemory;
+        final LongSupplier allocatedMemory;
+        final Priority priority;
+        final long sequence;
+        boolean admitted;
+        String rejection;
+
+        Job(
+            String username,
+            String databaseName,
+            int concurrency,
+            long estimatedMemory,
+            LongSupplier allocatedMemory,
+            Priority priority,
+            long sequence
+        ) {
+            this.username = username;
+            this.databaseName = databaseName;
+            this.concurrency = concurrency;
+            this.estimatedMemory = estimatedMemory;
+            this.allocatedMemory = allocatedMemory;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final Job job;
+        private boolean released;
+
+        private Permit(Job job) {
+            this.job = job;
+        }
+
+        public int concurrency() {
+            return job.concurrency;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                finish(job);
+            }
+        }
+    }
+}
@@ -59,6 +59,7 @@ import java.util.stream.BaseStream;
 import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.utils.ExceptionUtil.throwIfUnchecked;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_WORK_STEALING;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public final class ParallelUtil {
@@ -67,6 +68,7 @@ public final class ParallelUtil {
 
     private static final long DEFAULT_WAIT_TIME_NANOS = 1000;
     private static final long DEFAULT_MAX_NUMBER_OF_RETRIES = (long) 2.5e11; // about 3 days in micros
+    private static final long TERMINATION_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
 
     // prevent instantiation of factory
     private ParallelUtil() {}
@@ -76,13 +78,16 @@ public final class ParallelUtil {
      * The concurrency value is assumed to already be validated towards the edition limitation.
      */
     public static <T extends BaseStream<?, T>, R> R parallelStream(T data, int concurrency, Function<T, R> fn) {
-        ForkJoinPool pool = getFJPoolWithConcurrency(concurrency);
+        boolean useSharedPool = USE_WORK_STEALING.isEnabled();
+        ForkJoinPool pool = useSharedPool ? Pools.forkJoinPool(concurrency) : getFJPoolWithConcurrency(concurrency);
         try {
             return pool.submit(() -> fn.apply(data.parallel())).get();
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
-            pool.shutdown();
+            if (!useSharedPool) {
+                pool.shutdown();
+            }
         }
     }
 
@@ -98,6 +103,10 @@ public final class ParallelUtil {
     }
 
     public static void parallelForEachNode(Graph graph, int concurrency, LongConsumer consumer) {
+        if (USE_WORK_STEALING.isEnabled()) {
+            WorkStealing.forEachNode(graph, concurrency, () -> consumer);
+            return;
+        }
         parallelStreamConsume(LongStream.range(0, graph.nodeCount()), concurrency, (stream) -> {
             stream.forEach(consumer);
         });
@@ -234,6 +243,11 @@ public final class ParallelUtil {
         }
     }
 
+    /**
+     * Calls the task for consecutive ranges that together cover {@code [0, size)}.
+     * When work stealing is enabled, the ranges run on the shared {@link Pools#forkJoinPool(int)}
+     * instead of the given executor, which then only decides whether the ranges run in parallel at all.
+     */
     public static void readParallel(
         final int concurrency,
         final long size,
@@ -241,6 +255,11 @@ public final class ParallelUtil {
         final BiLongConsumer task
     ) {
 
+        if (USE_WORK_STEALING.isEnabled() && canRunInParallel(executor) && concurrency > 1) {
+            WorkStealing.forEachRange(size, concurrency, task);
+            return;
+        }
+
         long batchSize = threadCount(concurrency, size);
         if (!canRunInParallel(executor) || concurrency == 1) {
             for (long start = 0L; start < size; start += batchSize) {
@@ -821,7 +840,7 @@ public final class ParallelUtil {
             while (ts.hasNext()) {
                 if (completionService.hasTasks()) {
                     try {
-                        completionService.awaitNext();
+                        completionService.awaitNext(terminationFlag);
                     } catch (ExecutionException e) {
                         error = ExceptionUtil.chain(error, e.getCause());
                     } catch (CancellationException ignore) {
@@ -847,7 +866,7 @@ public final class ParallelUtil {
             while (completionService.hasTasks()) {
                 terminationFlag.assertRunning();
                 try {
-                    completionService.awaitNext();
+                    completionService.awaitNext(terminationFlag);
                 } catch (ExecutionException e) {
                     error = ExceptionUtil.chain(error, e.getCause());
                 } catch (CancellationException ignore) {
@@ -1004,8 +1023,13 @@ public final class ParallelUtil {
             return !(running.isEmpty() && completionQueue.isEmpty());
         }
 
-        void awaitNext() throws InterruptedException, ExecutionException {
-            completionQueue.take().get();
+        void awaitNext(TerminationFlag terminationFlag) throws InterruptedException, ExecutionException {
+            Future<Void> next;
+            // don't block indefinitely, a single long-running task must not delay termination
+            while ((next = completionQueue.poll(TERMINATION_CHECK_INTERVAL_NANOS, TimeUnit.NANOSECONDS)) == null) {
+                terminationFlag.assertRunning();
+            }
+            next.get();
         }
 
         void cancelAll() {
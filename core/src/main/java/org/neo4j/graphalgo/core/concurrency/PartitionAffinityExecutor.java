@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the i-th task of a list always on the same worker thread, {@code i % concurrency}.
+ *
+ * Algorithms that split their state into partitions can allocate the partition's arrays
+ * in the first task they run for it, so the memory is first touched by the thread that
+ * keeps processing the partition in every later iteration. With a NUMA-aware heap
+ * ({@code -XX:+UseNUMA}) the allocations then land on the memory node of that thread
+ * and the thread no longer competes for cross-socket bandwidth.
+ *
+ * The JVM does not allow pinning threads to cores; we only keep the assignment of
+ * partitions to threads stable and rely on the operating system to keep the threads local.
+ */
+public final class PartitionAffinityExecutor implements AutoCloseable {
+
+    private final ExecutorService[] workers;
+
+    PartitionAffinityExecutor(int concurrency, String threadNamePrefix) {
+        this.workers = new ExecutorService[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(NamedThreadFactory.daemon(threadNamePrefix + "-" + i));
+        }
+    }
+
+    public int concurrency() {
+        return workers.length;
+    }
+
+    /**
+     * Runs all tasks and waits for them to finish. Task {@code i} is executed by worker {@code i % concurrency()}.
+     */
+    public void run(List<? extends Runnable> tasks, TerminationFlag terminationFlag) {
+        terminationFlag.assertRunning();
+        Collection<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            futures.add(workers[i % workers.length].submit(tasks.get(i)));
+        }
+        ParallelUtil.awaitTermination(futures);
+        terminationFlag.assertRunning();
+    }
+
+    /**
+     * Stops the worker threads once their current tasks are done.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+    }
+}
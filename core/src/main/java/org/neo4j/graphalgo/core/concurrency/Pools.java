@@ -21,13 +21,19 @@ package org.neo4j.graphalgo.core.concurrency;
 
 import org.neo4j.graphalgo.core.GdsEdition;
 import org.neo4j.internal.helpers.NamedThreadFactory;
+import org.neo4j.util.FeatureToggles;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +48,33 @@ public final class Pools {
 
     private static final String THREAD_NAME_PREFIX = "gds";
 
+    // The I/O pool runs the write and export phases, which mostly wait on kernel transactions.
+    // Virtual threads are used if the JVM offers them, otherwise the thread budget bounds a cached pool.
+    private static final boolean USE_VIRTUAL_THREADS = FeatureToggles.flag(Pools.class, "useVirtualThreads", true);
+    private static final int IO_THREAD_BUDGET = FeatureToggles.getInteger(
+        Pools.class,
+        "ioThreadBudget",
+        Runtime.getRuntime().availableProcessors() * 2
+    );
+
+    /**
+     * Executor for I/O-bound work, such as writing results back to the database.
+     * Keeps those tasks from occupying the threads of {@link #DEFAULT} that are needed for computation.
+     */
+    public static final ExecutorService IO = createIoPool(USE_VIRTUAL_THREADS, IO_THREAD_BUDGET);
+
+    /**
+     * Executor for the relationship store scans of the pipelined native projection, which run alongside
+     * the node import on {@link #DEFAULT}. Threads are shared between projections and released when idle.
+     */
+    public static final ExecutorService PREFETCH = Executors.newCachedThreadPool(
+        NamedThreadFactory.daemon(THREAD_NAME_PREFIX + "-prefetch")
+    );
+    // CPU-bound work gains nothing from more workers than processors,
+    // capping the parallelism also bounds the number of pools that are kept around
+    private static final int MAX_FORK_JOIN_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final Map<Integer, ForkJoinPool> FORK_JOIN_POOLS = new ConcurrentHashMap<>();
+
     private Pools() {
         throw new UnsupportedOperationException();
     }
@@ -66,6 +99,65 @@ public final class Pools {
         );
     }
 
+    static ExecutorService createIoPool(boolean useVirtualThreads, int threadBudget) {
+        if (useVirtualThreads) {
+            var virtualThreadPool = createVirtualThreadPool();
+            if (virtualThreadPool.isPresent()) {
+                return virtualThreadPool.get();
+            }
+        }
+
+        var pool = new ThreadPoolExecutor(
+            threadBudget,
+            threadBudget,
+            30L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            NamedThreadFactory.daemon(THREAD_NAME_PREFIX + "-io")
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static Optional<ExecutorService> createVirtualThreadPool() {
+        // virtual threads are only available on newer JVMs, we build against Java 11
+        try {
+            var factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) factoryMethod.invoke(null));
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a shared work-stealing pool with the given parallelism, capped at the number of available processors.
+     * Pools are created on first use and kept for the lifetime of the JVM, so there are at most as many pools
+     * as processors. Their threads are daemon threads and are released when idle.
+     */
+    public static ForkJoinPool forkJoinPool(int concurrency) {
+        int parallelism = Math.max(1, Math.min(concurrency, MAX_FORK_JOIN_PARALLELISM));
+        return FORK_JOIN_POOLS.computeIfAbsent(parallelism, Pools::createForkJoinPool);
+    }
+
+    private static ForkJoinPool createForkJoinPool(int parallelism) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(THREAD_NAME_PREFIX + "-fj-" + parallelism + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+
+    /**
+     * Creates an executor that runs the same partition always on the same thread.
+     * Every job creates its own executor, so that jobs don't wait for each other's partitions,
+     * and closes it once it is done. Its threads are daemon threads.
+     */
+    public static PartitionAffinityExecutor newPartitionAffinityExecutor(int concurrency) {
+        return new PartitionAffinityExecutor(concurrency, THREAD_NAME_PREFIX + "-affinity");
+    }
+
     public static ExecutorService createDefaultSingleThreadPool() {
         return Executors.newSingleThreadExecutor(NamedThreadFactory.daemon("algo"));
     }
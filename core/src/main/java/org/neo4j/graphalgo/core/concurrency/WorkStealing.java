@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.BiLongConsumer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Runs work over a range of node ids on a {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * The range is split recursively into a few tasks per thread so that idle threads can steal work.
+ * Node based tasks additionally split lazily: while processing its range a task sums the degrees
+ * of the processed nodes and hands the second half of its remaining range off to the pool
+ * once it has done enough work and the other threads are running out of tasks.
+ * Ranges containing high degree nodes are thereby split finer than ranges with low degree nodes.
+ */
+public final class WorkStealing {
+
+    // number of tasks per thread that the range is eagerly split into
+    private static final int TASKS_PER_THREAD = 4;
+    // minimum work (degrees + nodes) a task processes before it considers splitting off its remaining range
+    private static final long MIN_WEIGHT_PER_SPLIT = 1024L;
+
+    private WorkStealing() {}
+
+    /**
+     * Calls a consumer for every node in the graph.
+     * Every split task gets its own consumer from the given {@code consumerSupplier},
+     * which can be used to create thread-local state such as {@link Graph#concurrentCopy()}.
+     */
+    public static void forEachNode(
+        Graph graph,
+        int concurrency,
+        Supplier<? extends LongConsumer> consumerSupplier
+    ) {
+        forEachNodeChunk(graph, concurrency, () -> {
+            ChunkConsumer consumer = consumerSupplier.get();
+            return new ChunkConsumer() {
+                @Override
+                public void accept(long node) {
+                    consumer.accept(node);
+                }
+
+                @Override
+                public void finishChunk() {}
+            };
+        });
+    }
+
+    /**
+     * Calls a consumer for every node in the graph, like {@link #forEachNode(Graph, int, Supplier)}.
+     * Every split task calls {@link ChunkConsumer#finishChunk()} on its consumer once it has processed its range,
+     * which can be used to report per-chunk results such as progress.
+     */
+    public static void forEachNodeChunk(
+        Graph graph,
+        int concurrency,
+        Supplier<? extends ChunkConsumer> consumerSupplier
+    ) {
+        long nodeCount = graph.nodeCount();
+        if (nodeCount == 0) {
+            return;
+        }
+        long totalWeight = graph.relationshipCount() + nodeCount;
+        long weightPerSplit = Math.max(MIN_WEIGHT_PER_SPLIT, totalWeight / ((long) concurrency * TASKS_PER_THREAD * 4));
+        var task = new NodeRangeTask(
+            0L,
+            nodeCount,
+            grainSize(nodeCount, concurrency),
+            weightPerSplit,
+            node -> graph.degree(node) + 1L,
+            consumerSupplier
+        );
+        Pools.forkJoinPool(concurrency).invoke(task);
+    }
+
+    /**
+     * Calls the given task for consecutive, non-overlapping ranges {@code [start, end)} that together cover {@code [0, size)}.
+     */
+    public static void forEachRange(long size, int concurrency, BiLongConsumer task) {
+        if (size == 0) {
+            return;
+        }
+        Pools.forkJoinPool(concurrency).invoke(new RangeTask(0L, size, grainSize(size, concurrency), task));
+    }
+
+    /**
+     * Consumes the nodes of a single chunk of work.
+     */
+    public interface ChunkConsumer extends LongConsumer {
+
+        /**
+         * Called after the last node of the chunk has been consumed.
+         */
+        void finishChunk();
+    }
+
+    private static long grainSize(long size, int concurrency) {
+        return Math.max(1L, size / ((long) concurrency * TASKS_PER_THREAD));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final long start;
+        private final long end;
+        private final long grainSize;
+        private final BiLongConsumer task;
+
+        RangeTask(long start, long end, long grainSize, BiLongConsumer task) {
+            this.start = start;
+            this.end = end;
+            this.grainSize = grainSize;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grainSize) {
+                task.apply(start, end);
+                return;
+            }
+            long mid = (start + end) >>> 1;
+            invokeAll(
+                new RangeTask(start, mid, grainSize, task),
+                new RangeTask(mid, end, grainSize, task)
+            );
+        }
+    }
+
+    private static final class NodeRangeTask extends RecursiveAction {
+
+        private final long start;
+        private final long end;
+        private final long grainSize;
+        private final long weightPerSplit;
+        private final LongUnaryOperator weight;
+        private final Supplier<? extends ChunkConsumer> consumerSupplier;
+
+        NodeRangeTask(
+            long start,
+            long end,
+            long grainSize,
+            long weightPerSplit,
+            LongUnaryOperator weight,
+            Supplier<? extends ChunkConsumer> consumerSupplier
+        ) {
+            this.start = start;
+            this.end = end;
+            this.grainSize = grainSize;
+            this.weightPerSplit = weightPerSplit;
+            this.weight = weight;
+            this.consumerSupplier = consumerSupplier;
+        }
+
+        @Override
+        protected void compute() {
+            var forked = new ArrayDeque<NodeRangeTask>();
+            long end = this.end;
+
+            // eager splitting by node count
+            while (end - start > grainSize) {
+                long mid = (start + end) >>> 1;
+                forked.push(forkRange(mid, end));
+                end = mid;
+            }
+
+            // lazy splitting by processed degrees
+            ChunkConsumer consumer = consumerSupplier.get();
+            long processedWeight = 0L;
+            for (long node = start; node < end; node++) {
+                consumer.accept(node);
+                processedWeight += weight.applyAsLong(node);
+                if (processedWeight >= weightPerSplit && end - node > 2 && getSurplusQueuedTaskCount() <= 0) {
+                    long mid = (node + 1 + end) >>> 1;
+                    forked.push(forkRange(mid, end));
+                    end = mid;
+                    processedWeight = 0L;
+                }
+            }
+            consumer.finishChunk();
+
+            while (!forked.isEmpty()) {
+                forked.pop().join();
+            }
+        }
+
+        private NodeRangeTask forkRange(long start, long end) {
+            var task = new NodeRangeTask(start, end, grainSize, weightPerSplit, weight, consumerSupplier);
+            task.fork();
+            return task;
+        }
+    }
+}
@@ -169,6 +169,13 @@ public class NodeFilteredGraph extends CSRFilterGraph {
         return filteredIdMap.hasLabel(nodeId, label);
     }
 
+    /**
+     * Returns the ids of all nodes that have all of the given labels, in ascending order.
+     */
+    public PrimitiveLongIterator nodeIteratorWithLabels(Collection<NodeLabel> nodeLabels) {
+        return filteredIdMap.nodeIteratorWithLabels(nodeLabels);
+    }
+
     @Override
     public NodeProperties nodeProperties(String propertyKey) {
         NodeProperties properties = graph.nodeProperties(propertyKey);
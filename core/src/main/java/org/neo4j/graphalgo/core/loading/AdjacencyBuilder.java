@@ -219,6 +219,7 @@ public final class AdjacencyBuilder {
             ThreadLocalRelationshipsBuilder builder = localBuilders[index];
             CompressedLongArray[] allTargets = compressedAdjacencyLists[index];
             LongsRef buffer = buffers[index];
+            var sortBuffers = new AdjacencyCompression.SortBuffers();
             long importedRelationships = 0L;
             for (int localId = 0; localId < allTargets.length; ++localId) {
                 CompressedLongArray compressedAdjacencyList = allTargets[localId];
@@ -226,6 +227,7 @@ public final class AdjacencyBuilder {
                     importedRelationships += builder.applyVariableDeltaEncoding(
                         compressedAdjacencyList,
                         buffer,
+                        sortBuffers,
                         localId
                     );
 
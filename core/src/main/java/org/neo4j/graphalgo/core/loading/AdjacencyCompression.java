@@ -19,10 +19,9 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
-import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 
 import java.util.Arrays;
 
@@ -30,6 +29,11 @@ import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
 
 public final class AdjacencyCompression {
 
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int RADIX = 8;
+    private static final int HIST_SIZE = 1 << RADIX;
+    private static final long RADIX_MASK = HIST_SIZE - 1;
+
     private static long[] growWithDestroy(long[] values, int newLength) {
         if (values.length < newLength) {
             // give leeway in case of nodes with a reference to themselves
@@ -53,31 +57,24 @@ public final class AdjacencyCompression {
         return data.length = applyDelta(data.longs, data.length, aggregation);
     }
 
-    // TODO: requires lots of additional memory ... inline indirect sort to make reuse of - to be created - buffers
     static int applyDeltaEncoding(LongsRef data, long[][] weights, Aggregation[] aggregations, boolean noAggregation) {
-        int[] order = IndirectSort.mergesort(0, data.length, new AscendingLongComparator(data.longs));
-
-        long[] sortedValues = new long[data.length];
-        long[][] sortedWeights = new long[weights.length][data.length];
-
-        data.length = applyDelta(
-                order,
-                data.longs,
-                sortedValues,
-                weights,
-                sortedWeights,
-                data.length,
-                aggregations,
-                noAggregation
-        );
-
-        System.arraycopy(sortedValues, 0, data.longs, 0, data.length);
-        for (int i = 0; i < sortedWeights.length; i++) {
-            long[] sortedWeight = sortedWeights[i];
-            System.arraycopy(sortedWeight, 0, weights[i], 0, data.length);
-        }
+        return applyDeltaEncoding(data, weights, aggregations, noAggregation, new SortBuffers());
+    }
 
-        return data.length;
+    /**
+     * Sorts the targets in {@code data} together with their {@code weights}, aggregates parallel relationships
+     * and applies delta encoding to the targets, all in place.
+     * Scratch space is taken from the given {@code buffers}, which are meant to be reused across adjacency lists.
+     */
+    static int applyDeltaEncoding(
+        LongsRef data,
+        long[][] weights,
+        Aggregation[] aggregations,
+        boolean noAggregation,
+        SortBuffers buffers
+    ) {
+        sortWithWeights(data.longs, weights, data.length, buffers);
+        return data.length = applyDelta(data.longs, weights, data.length, aggregations, noAggregation);
     }
 
     public static int compress(LongsRef data, byte[] out) {
@@ -114,60 +111,154 @@ public final class AdjacencyCompression {
      * Applies delta encoding to the given {@code values}.
      * Weights are not encoded.
      *
-     * @param order Ordered indices into {@code values} and {@code weights} for consuming these in ascending value order.
-     * @param values Relationships represented by target node ID.
-     * @param outValues Sorted, delta-encoded and optionally aggregated relationships.
-     * @param weights Relationship properties by key, ordered by {@code order}.
-     * @param outWeights Sorted and optionally aggregated relationship properties.
+     * @param values Relationships represented by target node ID, sorted ascending.
+     *               Replaced by the delta-encoded and optionally aggregated relationships.
+     * @param weights Relationship properties by key, index-synchronised with {@code values}.
+     *                Replaced by the optionally aggregated relationship properties.
      * @param length Number of relationships (degree of source node) to process.
      * @param aggregations Aggregations to apply to parallel edges. One per relationship property key in {@code weights}.
      * @param noAggregation Is true iff all aggregations are NONE.
      */
     private static int applyDelta(
-            int[] order,
             long[] values,
-            long[] outValues,
             long[][] weights,
-            long[][] outWeights,
             int length,
             Aggregation[] aggregations,
             boolean noAggregation
     ) {
-        int firstSortIdx = order[0];
-        long value = values[firstSortIdx];
-        long delta;
-
-        outValues[0] = values[firstSortIdx];
-        for (int i = 0; i < weights.length; i++) {
-            outWeights[i][0] = weights[i][firstSortIdx];
-        }
-
+        long value = values[0], delta;
         int in = 1, out = 1;
         for (; in < length; ++in) {
-            final int sortIdx = order[in];
-            delta = values[sortIdx] - value;
-            value = values[sortIdx];
+            delta = values[in] - value;
+            value = values[in];
 
             if (delta > 0L || noAggregation) {
                 for (int i = 0; i < weights.length; i++) {
-                    outWeights[i][out] = weights[i][sortIdx];
+                    weights[i][out] = weights[i][in];
                 }
-                outValues[out++] = delta;
+                values[out++] = delta;
             } else {
                 for (int i = 0; i < weights.length; i++) {
                     Aggregation aggregation = aggregations[i];
                     int existingIdx = out - 1;
-                    long[] outWeight = outWeights[i];
-                    double existingWeight = Double.longBitsToDouble(outWeight[existingIdx]);
-                    double newWeight = Double.longBitsToDouble(weights[i][sortIdx]);
+                    long[] weight = weights[i];
+                    double existingWeight = Double.longBitsToDouble(weight[existingIdx]);
+                    double newWeight = Double.longBitsToDouble(weight[in]);
                     newWeight = aggregation.merge(existingWeight, newWeight);
-                    outWeight[existingIdx] = Double.doubleToLongBits(newWeight);
+                    weight[existingIdx] = Double.doubleToLongBits(newWeight);
                 }
             }
         }
         return out;
     }
 
+    /**
+     * Stable sort of {@code values} in ascending order, moving the entries of every {@code weights} array along.
+     * Small inputs are insertion sorted, larger inputs use an LSD radix sort that only visits
+     * the digits that are actually used by the largest value.
+     */
+    static void sortWithWeights(long[] values, long[][] weights, int length, SortBuffers buffers) {
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(values, weights, length);
+            return;
+        }
+
+        long allBits = 0L;
+        for (int i = 0; i < length; i++) {
+            allBits |= values[i];
+        }
+        int significantBits = Long.SIZE - Long.numberOfLeadingZeros(allBits);
+
+        buffers.ensureCapacity(length, weights.length);
+        int[] histogram = buffers.histogram;
+        long[] source = values, target = buffers.values;
+        long[][] sourceWeights = weights, targetWeights = buffers.weights;
+        int weightCount = weights.length;
+
+        for (int shift = 0; shift < significantBits; shift += RADIX) {
+            Arrays.fill(histogram, 0);
+            for (int i = 0; i < length; i++) {
+                histogram[1 + digit(source[i], shift)]++;
+            }
+
+            // all values share the same digit, this pass would not change the order
+            if (histogram[1 + digit(source[0], shift)] == length) {
+                continue;
+            }
+
+            for (int i = 0; i < HIST_SIZE; i++) {
+                histogram[i + 1] += histogram[i];
+            }
+
+            for (int i = 0; i < length; i++) {
+                int out = histogram[digit(source[i], shift)]++;
+                target[out] = source[i];
+                for (int w = 0; w < weightCount; w++) {
+                    targetWeights[w][out] = sourceWeights[w][i];
+                }
+            }
+
+            long[] tmp = source;
+            source = target;
+            target = tmp;
+            long[][] tmpWeights = sourceWeights;
+            sourceWeights = targetWeights;
+            targetWeights = tmpWeights;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+            for (int w = 0; w < weightCount; w++) {
+                System.arraycopy(sourceWeights[w], 0, weights[w], 0, length);
+            }
+        }
+    }
+
+    private static int digit(long value, int shift) {
+        return (int) ((value >>> shift) & RADIX_MASK);
+    }
+
+    private static void insertionSort(long[] values, long[][] weights, int length) {
+        for (int i = 1; i < length; i++) {
+            for (int j = i; j > 0 && values[j - 1] > values[j]; j--) {
+                swap(values, j - 1, j);
+                for (long[] weight : weights) {
+                    swap(weight, j - 1, j);
+                }
+            }
+        }
+    }
+
+    private static void swap(long[] array, int i, int j) {
+        long tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * Reusable scratch space for {@link #sortWithWeights(long[], long[][], int, SortBuffers)}.
+     * Buffers only grow and are not thread-safe, use one instance per importing thread.
+     */
+    static final class SortBuffers {
+        private final int[] histogram = new int[HIST_SIZE + 1];
+        private long[] values = new long[0];
+        private long[][] weights = new long[0][];
+
+        private void ensureCapacity(int length, int weightCount) {
+            if (values.length < length) {
+                values = new long[ArrayUtil.oversize(length, Long.BYTES)];
+            }
+            if (weights.length < weightCount) {
+                weights = Arrays.copyOf(weights, weightCount);
+            }
+            for (int i = 0; i < weightCount; i++) {
+                if (weights[i] == null || weights[i].length < length) {
+                    weights[i] = new long[values.length];
+                }
+            }
+        }
+    }
+
     private AdjacencyCompression() {
     }
 }
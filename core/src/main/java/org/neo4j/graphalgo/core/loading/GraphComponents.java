@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+
+/**
+ * Connected components that are kept next to a named graph, so that they can be
+ * updated with new relationships instead of being recomputed on the whole graph.
+ * The id mapping is the one of the (possibly filtered) graph the components were computed on.
+ */
+@ValueClass
+public interface GraphComponents {
+
+    DisjointSetStruct components();
+
+    IdMapping idMapping();
+
+    static GraphComponents of(DisjointSetStruct components, IdMapping idMapping) {
+        return ImmutableGraphComponents.of(components, idMapping);
+    }
+}
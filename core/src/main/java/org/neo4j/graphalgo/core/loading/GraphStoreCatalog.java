@@ -103,6 +103,7 @@ public final class GraphStoreCatalog {
             graphStore.canRelease(true);
             graphStore.release();
             getUserCatalog(username).removeDegreeDistribution(userCatalogKey);
+            getUserCatalog(username).removeComponents(userCatalogKey);
         };
     }
 
@@ -129,6 +130,14 @@ public final class GraphStoreCatalog {
         getUserCatalog(username).setDegreeDistribution(UserCatalog.UserCatalogKey.of(databaseId, graphName), degreeDistribution);
     }
 
+    public static Optional<GraphComponents> getComponents(String username, NamedDatabaseId databaseId, String graphName) {
+        return getUserCatalog(username).getComponents(UserCatalog.UserCatalogKey.of(databaseId, graphName));
+    }
+
+    public static void setComponents(String username, NamedDatabaseId databaseId, String graphName, GraphComponents components) {
+        getUserCatalog(username).setComponents(UserCatalog.UserCatalogKey.of(databaseId, graphName), components);
+    }
+
     public static void removeAllLoadedGraphs() {
         userCatalogs.clear();
     }
@@ -176,6 +185,8 @@ public final class GraphStoreCatalog {
 
         private final Map<UserCatalogKey, Map<String, Object>> degreeDistributionByName = new ConcurrentHashMap<>();
 
+        private final Map<UserCatalogKey, GraphComponents> componentsByName = new ConcurrentHashMap<>();
+
         private void set(UserCatalogKey userCatalogKey, GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
@@ -209,6 +220,30 @@ public final class GraphStoreCatalog {
             degreeDistributionByName.remove(userCatalogKey);
         }
 
+        private void setComponents(UserCatalogKey userCatalogKey, GraphComponents components) {
+            if (userCatalogKey == null || components == null) {
+                throw new IllegalArgumentException("Both name and components must be not null");
+            }
+            if (!graphsByName.containsKey(userCatalogKey)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Cannot set components because graph %s does not exist",
+                    userCatalogKey.graphName()
+                ));
+            }
+            componentsByName.put(userCatalogKey, components);
+        }
+
+        private void removeComponents(UserCatalogKey userCatalogKey) {
+            componentsByName.remove(userCatalogKey);
+        }
+
+        private Optional<GraphComponents> getComponents(UserCatalogKey userCatalogKey) {
+            if (!graphsByName.containsKey(userCatalogKey)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(componentsByName.get(userCatalogKey));
+        }
+
         private GraphStoreWithConfig get(UserCatalogKey userCatalogKey) {
             if (graphsByName.containsKey(userCatalogKey)) {
                 return graphsByName.get(userCatalogKey);
@@ -19,12 +19,12 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.ElementIdentifier;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
 import org.neo4j.graphalgo.api.NodeIterator;
 import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
@@ -35,6 +35,9 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseLongMapping;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -44,6 +47,7 @@ import java.util.Set;
 import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_COMPACT_ID_MAP;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 /**
@@ -57,39 +61,72 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         .perNode("Neo4j identifiers", HugeLongArray::memoryEstimation)
         .rangePerGraphDimension(
             "Mapping from Neo4j identifiers to internal identifiers",
-            (dimensions, concurrency) -> HugeSparseLongArray.memoryEstimation(
-                dimensions.highestNeoId(),
-                dimensions.nodeCount()
-            )
+            (dimensions, concurrency) -> USE_COMPACT_ID_MAP.isEnabled()
+                ? RankedNodeMapping.memoryEstimation(dimensions.highestNeoId(), dimensions.nodeCount())
+                : HugeSparseLongArray.memoryEstimation(dimensions.highestNeoId(), dimensions.nodeCount())
         )
-        .perGraphDimension(
+        .rangePerGraphDimension(
             "Node Label BitSets",
             (dimensions, concurrency) ->
-                MemoryRange.of(dimensions.estimationNodeLabelCount() * MemoryUsage.sizeOfBitset(dimensions.nodeCount()))
+                labelBitmapMemoryEstimation(dimensions.nodeCount()).times(dimensions.estimationNodeLabelCount())
         )
         .build();
 
     private static final Set<NodeLabel> ALL_NODES_LABELS = Set.of(NodeLabel.ALL_NODES);
 
+    private static final long CONTAINER_CAPACITY = 1L << 16;
+
     private final long nodeCount;
     private final AllocationTracker tracker;
 
-    private final Map<NodeLabel, BitSet> labelInformation;
+    private final Map<NodeLabel, Roaring64NavigableMap> labelInformation;
 
     private final HugeLongArray graphIds;
-    private final HugeSparseLongArray nodeToGraphIds;
+    private final SparseLongMapping nodeToGraphIds;
 
     public static MemoryEstimation memoryEstimation() {
         return ESTIMATION;
     }
 
+    /**
+     * Estimates the size of the compressed bitmap of a single node label.
+     * The bitmap holds one container per {@code 2^16} node ids. At best, a run optimized
+     * label covers each container with a single run. At worst, a container stores every
+     * node id as a sorted array, or as a dense bit set once that is smaller.
+     */
+    static MemoryRange labelBitmapMemoryEstimation(long nodeCount) {
+        if (nodeCount == 0) {
+            return MemoryRange.empty();
+        }
+        long containers = BitUtil.ceilDiv(nodeCount, CONTAINER_CAPACITY);
+        long containerIndex = MemoryUsage.sizeOfCharArray(containers) + MemoryUsage.sizeOfObjectArray(containers);
+
+        long min = containerIndex + containers * MemoryUsage.sizeOfCharArray(2);
+
+        long fullContainers = nodeCount / CONTAINER_CAPACITY;
+        long remainingNodes = nodeCount % CONTAINER_CAPACITY;
+        long max = containerIndex + fullContainers * containerSize(CONTAINER_CAPACITY);
+        if (remainingNodes > 0) {
+            max += containerSize(remainingNodes);
+        }
+
+        return MemoryRange.of(min, max);
+    }
+
+    private static long containerSize(long cardinality) {
+        return Math.min(
+            MemoryUsage.sizeOfCharArray(cardinality),
+            MemoryUsage.sizeOfLongArray(CONTAINER_CAPACITY / Long.SIZE)
+        );
+    }
+
     /**
      * initialize the map with pre-built sub arrays
      */
     public IdMap(
         HugeLongArray graphIds,
-        HugeSparseLongArray nodeToGraphIds,
-        Map<NodeLabel, BitSet> labelInformation,
+        SparseLongMapping nodeToGraphIds,
+        Map<NodeLabel, Roaring64NavigableMap> labelInformation,
         long nodeCount,
         AllocationTracker tracker
     ) {
@@ -157,7 +194,7 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         } else {
             Set<NodeLabel> set = new HashSet<>();
             for (var labelAndBitSet : labelInformation.entrySet()) {
-                if (labelAndBitSet.getValue().get(nodeId)) {
+                if (labelAndBitSet.getValue().contains(nodeId)) {
                     set.add(labelAndBitSet.getKey());
                 }
             }
@@ -170,59 +207,84 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         if (labelInformation.isEmpty() && label.equals(NodeLabel.ALL_NODES)) {
             return true;
         }
-        BitSet bitSet = labelInformation.get(label);
-        return bitSet != null && bitSet.get(nodeId);
+        Roaring64NavigableMap bitmap = labelInformation.get(label);
+        return bitmap != null && bitmap.contains(nodeId);
+    }
+
+    /**
+     * Returns the ids of all nodes that have all of the given labels, in ascending order.
+     */
+    public PrimitiveLongIterator nodeIteratorWithLabels(Collection<NodeLabel> nodeLabels) {
+        validateNodeLabelFilter(nodeLabels, availableNodeLabels());
+        if (labelInformation.isEmpty()) {
+            return nodeIterator();
+        }
+        return new BitmapIterator(intersection(nodeLabels).getLongIterator());
+    }
+
+    private Roaring64NavigableMap intersection(Collection<NodeLabel> nodeLabels) {
+        Roaring64NavigableMap intersection = new Roaring64NavigableMap();
+        boolean first = true;
+        for (NodeLabel nodeLabel : nodeLabels) {
+            if (first) {
+                intersection.or(labelInformation.get(nodeLabel));
+                first = false;
+            } else {
+                intersection.and(labelInformation.get(nodeLabel));
+            }
+        }
+        return intersection;
     }
 
     IdMap withFilteredLabels(Collection<NodeLabel> nodeLabels, int concurrency) {
-        validateNodeLabelFilter(nodeLabels, labelInformation);
+        validateNodeLabelFilter(nodeLabels, labelInformation.keySet());
 
         if (labelInformation.isEmpty()) {
             return this;
         }
 
-        BitSet unionBitSet = new BitSet(nodeCount());
-        nodeLabels.forEach(label -> unionBitSet.union(labelInformation.get(label)));
+        Roaring64NavigableMap union = new Roaring64NavigableMap();
+        nodeLabels.forEach(label -> union.or(labelInformation.get(label)));
 
-        if (unionBitSet.cardinality() == nodeCount()) {
+        long newNodeCount = union.getLongCardinality();
+        if (newNodeCount == nodeCount()) {
             return this;
         }
 
-        long nodeId = -1L;
         long cursor = 0L;
-        long newNodeCount = unionBitSet.cardinality();
         HugeLongArray newGraphIds = HugeLongArray.newArray(newNodeCount, tracker);
 
-        while ((nodeId = unionBitSet.nextSetBit(nodeId + 1)) != -1) {
-            newGraphIds.set(cursor, nodeId);
+        LongIterator nodeIds = union.getLongIterator();
+        while (nodeIds.hasNext()) {
+            newGraphIds.set(cursor, nodeIds.next());
             cursor++;
         }
 
-        HugeSparseLongArray newNodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+        SparseLongMapping newNodeToGraphIds = IdMapBuilder.buildNodeMapping(
+            newGraphIds,
             newNodeCount,
             nodeToGraphIds.getCapacity(),
             concurrency,
-            IdMapBuilder.add(newGraphIds),
             tracker
         );
 
-        Map<NodeLabel, BitSet> newLabelInformation = nodeLabels
+        Map<NodeLabel, Roaring64NavigableMap> newLabelInformation = nodeLabels
             .stream()
             .collect(Collectors.toMap(nodeLabel -> nodeLabel, labelInformation::get));
 
         return new FilteredIdMap(newGraphIds, newNodeToGraphIds, newLabelInformation, newNodeCount, tracker);
     }
 
-    private void validateNodeLabelFilter(Collection<NodeLabel> nodeLabels, Map<NodeLabel, BitSet> labelInformation) {
+    private void validateNodeLabelFilter(Collection<NodeLabel> nodeLabels, Set<NodeLabel> availableLabels) {
         List<ElementIdentifier> invalidLabels = nodeLabels
             .stream()
-            .filter(label -> !new HashSet<>(labelInformation.keySet()).contains(label))
+            .filter(label -> !availableLabels.contains(label))
             .collect(Collectors.toList());
         if (!invalidLabels.isEmpty()) {
             throw new IllegalArgumentException(formatWithLocale(
                 "Specified labels %s do not correspond to any of the node projections %s.",
                 invalidLabels,
-                labelInformation.keySet()
+                availableLabels
             ));
         }
     }
@@ -231,8 +293,8 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
 
         FilteredIdMap(
             HugeLongArray graphIds,
-            HugeSparseLongArray nodeToGraphIds,
-            Map<NodeLabel, BitSet> filteredLabelMap,
+            SparseLongMapping nodeToGraphIds,
+            Map<NodeLabel, Roaring64NavigableMap> filteredLabelMap,
             long nodeCount,
             AllocationTracker tracker
         ) {
@@ -248,5 +310,41 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         public boolean hasLabel(long nodeId, NodeLabel label) {
             return super.hasLabel(toOriginalNodeId(nodeId), label);
         }
+
+        @Override
+        public PrimitiveLongIterator nodeIteratorWithLabels(Collection<NodeLabel> nodeLabels) {
+            // the filtered ids are assigned in ascending order of the unfiltered ids
+            PrimitiveLongIterator unfilteredIds = super.nodeIteratorWithLabels(nodeLabels);
+            return new PrimitiveLongIterator() {
+                @Override
+                public boolean hasNext() {
+                    return unfilteredIds.hasNext();
+                }
+
+                @Override
+                public long next() {
+                    return toMappedNodeId(unfilteredIds.next());
+                }
+            };
+        }
+    }
+
+    private static final class BitmapIterator implements PrimitiveLongIterator {
+
+        private final LongIterator iterator;
+
+        BitmapIterator(LongIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long next() {
+            return iterator.next();
+        }
     }
 }
@@ -30,11 +30,15 @@ import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseLongMapping;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_COMPACT_ID_MAP;
+
 public final class IdMapBuilder {
 
     public static IdMap build(
@@ -45,18 +49,15 @@ public final class IdMapBuilder {
         AllocationTracker tracker
     ) {
         HugeLongArray graphIds = idMapBuilder.build();
-        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
+        SparseLongMapping nodeToGraphIds = buildNodeMapping(
+            graphIds,
             idMapBuilder.size(),
             highestNodeId,
             concurrency,
-            add(graphIds),
             tracker
         );
 
-        var convertedLabelInformation = labelInformation.entrySet().stream().collect(Collectors.toMap(
-            Map.Entry::getKey,
-            e -> e.getValue().toBitSet()
-        ));
+        var convertedLabelInformation = toCompressedBitmaps(labelInformation);
 
         return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, idMapBuilder.size(), tracker);
     }
@@ -69,20 +70,53 @@ public final class IdMapBuilder {
         AllocationTracker tracker
     ) throws DuplicateNodeIdException {
         HugeLongArray graphIds = idMapBuilder.build();
-        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
-            idMapBuilder.size(),
-            highestNodeId,
-            concurrency,
-            addChecked(graphIds),
-            tracker
-        );
+        SparseLongMapping nodeToGraphIds = USE_COMPACT_ID_MAP.isEnabled()
+            ? RankedNodeMapping.build(graphIds, idMapBuilder.size(), highestNodeId, concurrency, true, tracker)
+            : buildSparseNodeMapping(idMapBuilder.size(), highestNodeId, concurrency, addChecked(graphIds), tracker);
+
+        var convertedLabelInformation = toCompressedBitmaps(labelInformation);
+
+        return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, idMapBuilder.size(), tracker);
+    }
 
-        var convertedLabelInformation = labelInformation.entrySet().stream().collect(Collectors.toMap(
+    private static Map<NodeLabel, Roaring64NavigableMap> toCompressedBitmaps(
+        Map<NodeLabel, HugeAtomicBitSet> labelInformation
+    ) {
+        return labelInformation.entrySet().stream().collect(Collectors.toMap(
             Map.Entry::getKey,
-            e -> e.getValue().toBitSet()
+            e -> toCompressedBitmap(e.getValue())
         ));
+    }
 
-        return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, idMapBuilder.size(), tracker);
+    static Roaring64NavigableMap toCompressedBitmap(HugeAtomicBitSet bitSet) {
+        var bitmap = new Roaring64NavigableMap();
+        long size = bitSet.size();
+        long start = bitSet.nextSetBit(0);
+        while (start != -1L) {
+            long end = bitSet.nextClearBit(start);
+            if (end == -1L) {
+                end = size;
+            }
+            // add whole runs of labeled nodes instead of single bits
+            bitmap.addRange(start, end);
+            start = bitSet.nextSetBit(end);
+        }
+        // compress consecutive ranges of nodes, e.g. for '*' projections
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    static SparseLongMapping buildNodeMapping(
+        HugeLongArray graphIds,
+        long nodeCount,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (USE_COMPACT_ID_MAP.isEnabled()) {
+            return RankedNodeMapping.build(graphIds, nodeCount, highestNodeId, concurrency, false, tracker);
+        }
+        return buildSparseNodeMapping(nodeCount, highestNodeId, concurrency, add(graphIds), tracker);
     }
 
     @NotNull
@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.api.GraphLoaderContext;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphDimensionsStoreReader;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
@@ -44,6 +45,7 @@ import java.util.Optional;
 
 import static java.util.stream.Collectors.toMap;
 import static org.neo4j.graphalgo.core.GraphDimensionsValidation.validate;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PIPELINED_PROJECTION;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromStoreConfig> {
@@ -115,6 +117,10 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             });
         });
 
+        if (USE_PIPELINED_PROJECTION.isEnabled()) {
+            builder.add("relationship prefetch buffers", PrefetchingRelationshipScanner.memoryEstimation());
+        }
+
         return builder.build();
     }
 
@@ -149,8 +155,37 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
 
         int concurrency = graphCreateConfig.readConcurrency();
         AllocationTracker tracker = loadingContext.tracker();
-        IdsAndProperties nodes = loadNodes(concurrency);
-        RelationshipImportResult relationships = loadRelationships(tracker, nodes, concurrency);
+        IdsAndProperties nodes;
+        RelationshipImportResult relationships;
+        if (USE_PIPELINED_PROJECTION.isEnabled()) {
+            try (var prefetchingScanner = PrefetchingRelationshipScanner.of(
+                RelationshipScanCursorBasedScanner.FACTORY,
+                loadingContext.transaction(),
+                relationshipTypeIds(),
+                ImportSizing.of(concurrency, dimensions.nodeCount()).numberOfThreads(),
+                tracker
+            )) {
+                // the relationship store scan only buffers the records and
+                // does not need the id map, so it can overlap with the node scan
+                var prefetch = prefetchingScanner.startPrefetch(
+                    loadingContext.transaction(),
+                    loadingContext.terminationFlag()
+                );
+                nodes = loadNodes(concurrency);
+                relationships = loadRelationships(
+                    tracker,
+                    nodes,
+                    concurrency,
+                    (prefetchSize, transaction) -> prefetchingScanner
+                );
+                // a failed prefetch task ends the replay early, so its failure must surface here;
+                // on any other failure, closing the scanner cancels the prefetch
+                ParallelUtil.awaitTermination(prefetch);
+            }
+        } else {
+            nodes = loadNodes(concurrency);
+            relationships = loadRelationships(tracker, nodes, concurrency, RelationshipScanCursorBasedScanner.FACTORY);
+        }
         CSRGraphStore graphStore = createGraphStore(nodes, relationships, tracker, dimensions);
 
         logLoadingSummary(graphStore, Optional.of(tracker));
@@ -174,10 +209,21 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
         ).call(loadingContext.log());
     }
 
+    private int[] relationshipTypeIds() {
+        return graphCreateConfig
+            .relationshipProjections()
+            .projections()
+            .keySet()
+            .stream()
+            .mapToInt(relationshipType -> dimensions.relationshipTypeTokenMapping().get(relationshipType))
+            .toArray();
+    }
+
     private RelationshipImportResult loadRelationships(
         AllocationTracker tracker,
         IdsAndProperties idsAndProperties,
-        int concurrency
+        int concurrency,
+        StoreScanner.Factory<RelationshipReference> scannerFactory
     ) {
         var pageSize = ImportSizing.of(concurrency, dimensions.nodeCount()).pageSize();
         Map<RelationshipType, RelationshipsBuilder> allBuilders = graphCreateConfig
@@ -201,7 +247,13 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             progressLogger,
             idsAndProperties.idMap,
             allBuilders,
-            concurrency
+            concurrency,
+            SamplingStoreScanner.factory(
+                scannerFactory,
+                graphCreateConfig.relationshipSamplingRatio(),
+                graphCreateConfig.samplingSeed(),
+                RelationshipReference::relationshipId
+            )
         ).call(loadingContext.log());
 
         return RelationshipImportResult.of(allBuilders, relationshipCounts, dimensions);
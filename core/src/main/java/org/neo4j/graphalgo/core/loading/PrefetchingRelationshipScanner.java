@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.SecureTransaction;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.StatementAction;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.kernel.api.KernelTransaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+/**
+ * A relationship scanner that separates reading the relationship store from
+ * resolving the node ids of the records that have been read.
+ *
+ * The prefetch tasks scan the store and buffer the raw records, keyed by their
+ * Neo4j node ids, without requiring an {@link org.neo4j.graphalgo.api.IdMapping}.
+ * They can therefore run concurrently with the node import.
+ * Once the id map is built, the scanner is handed to the regular
+ * {@link ScanningRelationshipsImporter}, whose cursors replay the buffered records
+ * while the prefetch tasks keep on scanning.
+ *
+ * The prefetch tasks run on the shared {@link Pools#PREFETCH} executor, so that they don't
+ * compete with the node import for the threads of the loading executor.
+ * Only a fixed number of chunks per prefetch task is buffered. Once they are all filled,
+ * the prefetch tasks wait until the relationship import has replayed some of them.
+ */
+final class PrefetchingRelationshipScanner implements StoreScanner<RelationshipReference> {
+
+    private static final int SOURCE_OFFSET = 0;
+    private static final int TARGET_OFFSET = 1;
+    private static final int RELATIONSHIP_OFFSET = 2;
+    private static final int PROPERTIES_OFFSET = 3;
+    private static final int TYPE_OFFSET = 4;
+    static final int ENTRY_SIZE = 5;
+
+    static final int BUFFERED_CHUNKS_PER_THREAD = 4;
+    // relationship records of the standard format are 34 bytes wide and stored on 8 KiB pages
+    static final int ESTIMATED_RECORDS_PER_CHUNK = DEFAULT_PREFETCH_SIZE * (8192 / 34);
+
+    private static final long CHECK_INTERVAL_MILLIS = 100L;
+
+    private final StoreScanner<RelationshipReference> delegate;
+    private final int[] relationshipTypeIds;
+    private final boolean loadAllTypes;
+    private final int numberOfThreads;
+    private final AllocationTracker tracker;
+    private final BlockingQueue<long[]> chunks;
+    private final AtomicInteger runningPrefetchTasks;
+    private final CountDownLatch chunkCapacityKnown;
+
+    private volatile int chunkCapacity;
+    private volatile boolean closed;
+    private Collection<Future<?>> prefetch;
+
+    /**
+     * Every prefetch thread fills one chunk while its buffered chunks wait to be replayed,
+     * and every importer thread replays one chunk at a time.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(PrefetchingRelationshipScanner.class)
+            .perThread(
+                "prefetched relationship records",
+                (BUFFERED_CHUNKS_PER_THREAD + 2) * sizeOfLongArray((long) ENTRY_SIZE * ESTIMATED_RECORDS_PER_CHUNK)
+            )
+            .build();
+    }
+
+    static PrefetchingRelationshipScanner of(
+        StoreScanner.Factory<RelationshipReference> factory,
+        SecureTransaction transaction,
+        int[] relationshipTypeIds,
+        int numberOfThreads,
+        AllocationTracker tracker
+    ) {
+        return new PrefetchingRelationshipScanner(
+            factory.newScanner(DEFAULT_PREFETCH_SIZE, transaction),
+            relationshipTypeIds,
+            numberOfThreads,
+            tracker
+        );
+    }
+
+    private PrefetchingRelationshipScanner(
+        StoreScanner<RelationshipReference> delegate,
+        int[] relationshipTypeIds,
+        int numberOfThreads,
+        AllocationTracker tracker
+    ) {
+        this.delegate = delegate;
+        this.relationshipTypeIds = relationshipTypeIds;
+        this.loadAllTypes = Arrays.stream(relationshipTypeIds).anyMatch(typeId -> typeId == ANY_RELATIONSHIP_TYPE);
+        this.numberOfThreads = numberOfThreads;
+        this.tracker = tracker;
+        this.chunks = new ArrayBlockingQueue<>(numberOfThreads * BUFFERED_CHUNKS_PER_THREAD);
+        this.runningPrefetchTasks = new AtomicInteger();
+        this.chunkCapacityKnown = new CountDownLatch(1);
+    }
+
+    /**
+     * Starts scanning the relationship store on the prefetch executor.
+     * Unfinished prefetch tasks are cancelled when the scanner is closed.
+     */
+    Collection<Future<?>> startPrefetch(SecureTransaction transaction, TerminationFlag terminationFlag) {
+        Collection<Runnable> tasks = new ArrayList<>(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            tasks.add(new PrefetchTask(transaction, terminationFlag, i));
+        }
+        runningPrefetchTasks.set(numberOfThreads);
+        prefetch = ParallelUtil.run(tasks, false, Pools.PREFETCH, null);
+        return prefetch;
+    }
+
+    @Override
+    public StoreScanner.ScanCursor<RelationshipReference> getCursor(KernelTransaction transaction) {
+        return new ReplayCursor();
+    }
+
+    @Override
+    public long storeSize() {
+        return delegate.storeSize();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (prefetch != null && runningPrefetchTasks.get() > 0) {
+            // the import failed before all records were replayed, e.g. during the node import
+            prefetch.forEach(future -> future.cancel(true));
+        }
+        List<long[]> remainingChunks = new ArrayList<>();
+        chunks.drainTo(remainingChunks);
+        for (long[] chunk : remainingChunks) {
+            tracker.remove(sizeOfLongArray(chunk.length));
+        }
+        delegate.close();
+    }
+
+    private boolean isRelevant(int typeId) {
+        if (loadAllTypes) {
+            return true;
+        }
+        for (int relationshipTypeId : relationshipTypeIds) {
+            if (relationshipTypeId == typeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class PrefetchTask extends StatementAction implements RecordConsumer<RelationshipReference> {
+
+        private final TerminationFlag terminationFlag;
+        private final int taskIndex;
+
+        private long[] buffer;
+        private int length;
+
+        PrefetchTask(SecureTransaction tx, TerminationFlag terminationFlag, int taskIndex) {
+            super(tx);
+            this.terminationFlag = terminationFlag;
+            this.taskIndex = taskIndex;
+        }
+
+        @Override
+        public String threadName() {
+            return "relationship-store-prefetch-" + taskIndex;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                // the replaying cursors stop once all prefetch tasks are done, even if one of them failed
+                runningPrefetchTasks.decrementAndGet();
+                chunkCapacityKnown.countDown();
+            }
+        }
+
+        @Override
+        public void accept(KernelTransaction transaction) {
+            try (StoreScanner.ScanCursor<RelationshipReference> cursor = delegate.getCursor(transaction)) {
+                int bulkSize = cursor.bulkSize();
+                // a chunk must fit into the batch buffers of the replaying importers
+                int capacity = cursor.bufferSize();
+                chunkCapacity = capacity;
+                chunkCapacityKnown.countDown();
+
+                buffer = newBuffer(capacity);
+                length = 0;
+
+                while (!closed && cursor.bulkNext(this)) {
+                    terminationFlag.assertRunning();
+                    if (capacity - (length / ENTRY_SIZE) < bulkSize) {
+                        flush(capacity);
+                    }
+                }
+                if (!closed) {
+                    flush(capacity);
+                }
+            } finally {
+                if (buffer != null) {
+                    tracker.remove(sizeOfLongArray(buffer.length));
+                    buffer = null;
+                }
+            }
+        }
+
+        @Override
+        public void offer(RelationshipReference record) {
+            int typeId = record.typeTokenId();
+            if (!isRelevant(typeId)) {
+                return;
+            }
+            int position = length;
+            long[] buffer = this.buffer;
+            buffer[SOURCE_OFFSET + position] = record.sourceNodeReference();
+            buffer[TARGET_OFFSET + position] = record.targetNodeReference();
+            buffer[RELATIONSHIP_OFFSET + position] = record.relationshipId();
+            buffer[PROPERTIES_OFFSET + position] = record.propertiesReference();
+            buffer[TYPE_OFFSET + position] = typeId;
+            length = ENTRY_SIZE + position;
+        }
+
+        private void flush(int capacity) {
+            if (length == 0) {
+                return;
+            }
+            if (length == buffer.length) {
+                enqueue(buffer);
+                buffer = newBuffer(capacity);
+            } else {
+                // partially filled chunks are copied, so that we don't hold on to the full capacity
+                long[] chunk = Arrays.copyOf(buffer, length);
+                tracker.add(sizeOfLongArray(chunk.length));
+                try {
+                    enqueue(chunk);
+                } catch (RuntimeException e) {
+                    tracker.remove(sizeOfLongArray(chunk.length));
+                    throw e;
+                }
+            }
+            length = 0;
+        }
+
+        /**
+         * Waits until the relationship import has made room for the chunk.
+         */
+        private void enqueue(long[] chunk) {
+            try {
+                while (!chunks.offer(chunk, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    terminationFlag.assertRunning();
+                    if (closed) {
+                        throw new IllegalStateException("The relationship prefetch has been closed.");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            if (chunk == buffer) {
+                // the queue owns the chunk now
+                buffer = null;
+            }
+        }
+
+        private long[] newBuffer(int capacity) {
+            long[] buffer = new long[Math.multiplyExact(ENTRY_SIZE, capacity)];
+            tracker.add(sizeOfLongArray(buffer.length));
+            return buffer;
+        }
+    }
+
+    private final class ReplayCursor implements StoreScanner.ScanCursor<RelationshipReference>, RelationshipReference {
+
+        private long[] chunk;
+        private int offset;
+
+        @Override
+        public int bulkSize() {
+            try {
+                // the importers size their batch buffers by the capacity of the chunks
+                chunkCapacityKnown.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return Math.max(1, chunkCapacity);
+        }
+
+        @Override
+        public boolean bulkNext(RecordConsumer<RelationshipReference> consumer) {
+            long[] chunk = nextChunk();
+            if (chunk == null) {
+                return false;
+            }
+            this.chunk = chunk;
+            for (int offset = 0; offset < chunk.length; offset += ENTRY_SIZE) {
+                this.offset = offset;
+                consumer.offer(this);
+            }
+            tracker.remove(sizeOfLongArray(chunk.length));
+            this.chunk = null;
+            return true;
+        }
+
+        /**
+         * Returns the next buffered chunk, or {@code null} once all prefetch tasks are done and all chunks are replayed.
+         */
+        private long[] nextChunk() {
+            try {
+                while (true) {
+                    // all chunks are queued before their task is done, so an empty queue afterwards is final
+                    boolean prefetchDone = runningPrefetchTasks.get() == 0;
+                    long[] chunk = chunks.poll(CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (chunk != null || prefetchDone || closed) {
+                        return chunk;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public long relationshipId() {
+            return chunk[RELATIONSHIP_OFFSET + offset];
+        }
+
+        @Override
+        public int typeTokenId() {
+            return (int) chunk[TYPE_OFFSET + offset];
+        }
+
+        @Override
+        public long sourceNodeReference() {
+            return chunk[SOURCE_OFFSET + offset];
+        }
+
+        @Override
+        public long targetNodeReference() {
+            return chunk[TARGET_OFFSET + offset];
+        }
+
+        @Override
+        public long propertiesReference() {
+            return chunk[PROPERTIES_OFFSET + offset];
+        }
+
+        @Override
+        public void close() {
+            chunk = null;
+        }
+    }
+}
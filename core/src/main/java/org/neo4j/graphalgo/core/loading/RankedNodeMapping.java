@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeRankedBitSet;
+import org.neo4j.graphalgo.core.utils.paged.SparseLongMapping;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maps original node ids to internal node ids using a {@link HugeRankedBitSet} over the original id space.
+ * <p>
+ * The rank of an original id within the bit set is its position in the ascending order of all original ids.
+ * If the internal ids have been assigned in that order, the rank is the internal id and no further data is stored.
+ * Otherwise, an additional array maps ranks to internal ids.
+ * <p>
+ * Compared to a {@link org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray}, this mapping requires one bit
+ * per original id instead of one long per original id, plus one long per node if the ids are not in ascending order.
+ */
+public final class RankedNodeMapping implements SparseLongMapping {
+
+    private static final long NOT_FOUND = -1L;
+
+    private final HugeRankedBitSet originalIds;
+    private final @Nullable HugeLongArray rankToMappedIds;
+
+    /**
+     * @param highestNodeId highest original id that we need to represent
+     * @param nodeCount     number of nodes we need to store
+     */
+    public static MemoryRange memoryEstimation(long highestNodeId, long nodeCount) {
+        return MemoryRange.of(MemoryUsage.sizeOfInstance(RankedNodeMapping.class))
+            .add(HugeRankedBitSet.memoryEstimation(highestNodeId + 1, nodeCount))
+            // the rank mapping is only required if the ids are not in ascending order
+            .add(MemoryRange.of(0L, HugeLongArray.memoryEstimation(nodeCount)));
+    }
+
+    static RankedNodeMapping build(
+        HugeLongArray graphIds,
+        long nodeCount,
+        long highestNodeId,
+        int concurrency,
+        boolean checkDuplicates,
+        AllocationTracker tracker
+    ) {
+        // We need to allocate space for `highestNode + 1` since we
+        // need to be able to store a node with `id = highestNodeId`.
+        HugeRankedBitSet.Builder bitSetBuilder = HugeRankedBitSet.Builder.create(highestNodeId + 1, tracker);
+        AtomicBoolean isAscending = new AtomicBoolean(true);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), start, end)) {
+                // the previous id of the first element is checked by the partition before
+                long previousId = start == 0 ? -1L : graphIds.get(start - 1);
+                boolean ascending = true;
+                while (cursor.next()) {
+                    long[] array = cursor.array;
+                    int limit = cursor.limit;
+                    for (int i = cursor.offset; i < limit; ++i) {
+                        long originalId = array[i];
+                        boolean alreadySet = bitSetBuilder.getAndSet(originalId);
+                        if (checkDuplicates && alreadySet) {
+                            throw new DuplicateNodeIdException(originalId);
+                        }
+                        ascending &= originalId > previousId;
+                        previousId = originalId;
+                    }
+                }
+                if (!ascending) {
+                    isAscending.set(false);
+                }
+            }
+        });
+
+        HugeRankedBitSet originalIds = bitSetBuilder.build();
+        if (isAscending.get()) {
+            return new RankedNodeMapping(originalIds, null);
+        }
+
+        HugeLongArray rankToMappedIds = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), start, end)) {
+                while (cursor.next()) {
+                    long[] array = cursor.array;
+                    int limit = cursor.limit;
+                    long mappedId = cursor.base + cursor.offset;
+                    for (int i = cursor.offset; i < limit; ++i, ++mappedId) {
+                        rankToMappedIds.set(originalIds.rank(array[i]), mappedId);
+                    }
+                }
+            }
+        });
+        return new RankedNodeMapping(originalIds, rankToMappedIds);
+    }
+
+    private RankedNodeMapping(HugeRankedBitSet originalIds, @Nullable HugeLongArray rankToMappedIds) {
+        this.originalIds = originalIds;
+        this.rankToMappedIds = rankToMappedIds;
+    }
+
+    @Override
+    public long get(long originalId) {
+        long rank = originalIds.rankIfSet(originalId);
+        if (rank == NOT_FOUND || rankToMappedIds == null) {
+            return rank;
+        }
+        return rankToMappedIds.get(rank);
+    }
+
+    @Override
+    public boolean contains(long originalId) {
+        return originalIds.contains(originalId);
+    }
+
+    @Override
+    public long getCapacity() {
+        return originalIds.capacity();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.kernel.api.KernelTransaction;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * Drops a random subset of the records of another {@link StoreScanner} while scanning.
+ * A record is kept if the hash of its id, mixed with a seed, falls below the sampling ratio.
+ * The decision only depends on the id, so it is independent of the scan order and
+ * of the number of threads, and reproducible for a fixed seed.
+ */
+final class SamplingStoreScanner<Reference> implements StoreScanner<Reference> {
+
+    static final long RANDOM_SEED = -1L;
+
+    private static final double HASH_RANGE = 1L << 53;
+
+    private final StoreScanner<Reference> delegate;
+    private final ToLongFunction<Reference> idFunction;
+    private final long threshold;
+    private final long seed;
+
+    static <Reference> StoreScanner.Factory<Reference> factory(
+        StoreScanner.Factory<Reference> delegate,
+        double samplingRatio,
+        long samplingSeed,
+        ToLongFunction<Reference> idFunction
+    ) {
+        if (samplingRatio >= 1.0) {
+            return delegate;
+        }
+        long threshold = (long) (samplingRatio * HASH_RANGE);
+        long seed = samplingSeed == RANDOM_SEED ? ThreadLocalRandom.current().nextLong() : samplingSeed;
+        return (prefetchSize, transaction) -> new SamplingStoreScanner<>(
+            delegate.newScanner(prefetchSize, transaction),
+            idFunction,
+            threshold,
+            seed
+        );
+    }
+
+    private SamplingStoreScanner(
+        StoreScanner<Reference> delegate,
+        ToLongFunction<Reference> idFunction,
+        long threshold,
+        long seed
+    ) {
+        this.delegate = delegate;
+        this.idFunction = idFunction;
+        this.threshold = threshold;
+        this.seed = seed;
+    }
+
+    static boolean isSampled(long id, long seed, long threshold) {
+        // SplitMix64 finalizer, only the upper 53 bits are compared
+        long z = id * 0x9E3779B97F4A7C15L + seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) < threshold;
+    }
+
+    @Override
+    public ScanCursor<Reference> getCursor(KernelTransaction transaction) {
+        return new SamplingCursor<>(delegate.getCursor(transaction), idFunction, threshold, seed);
+    }
+
+    @Override
+    public long storeSize() {
+        return delegate.storeSize();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static final class SamplingCursor<Reference> implements ScanCursor<Reference>, RecordConsumer<Reference> {
+
+        private final ScanCursor<Reference> delegate;
+        private final ToLongFunction<Reference> idFunction;
+        private final long threshold;
+        private final long seed;
+
+        private RecordConsumer<Reference> consumer;
+
+        private SamplingCursor(
+            ScanCursor<Reference> delegate,
+            ToLongFunction<Reference> idFunction,
+            long threshold,
+            long seed
+        ) {
+            this.delegate = delegate;
+            this.idFunction = idFunction;
+            this.threshold = threshold;
+            this.seed = seed;
+        }
+
+        @Override
+        public int bufferSize() {
+            return delegate.bufferSize();
+        }
+
+        @Override
+        public int bulkSize() {
+            return delegate.bulkSize();
+        }
+
+        @Override
+        public boolean bulkNext(RecordConsumer<Reference> consumer) {
+            this.consumer = consumer;
+            return delegate.bulkNext(this);
+        }
+
+        @Override
+        public void offer(Reference reference) {
+            if (isSampled(idFunction.applyAsLong(reference), seed, threshold)) {
+                consumer.offer(reference);
+            }
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
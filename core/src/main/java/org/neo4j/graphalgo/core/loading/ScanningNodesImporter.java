@@ -70,7 +70,7 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
         LoadablePropertyMappings properties
     ) {
         super(
-            scannerFactory(dimensions),
+            scannerFactory(graphCreateConfig, dimensions),
             "Node",
             loadingContext,
             dimensions,
@@ -83,13 +83,19 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
     }
 
     private static StoreScanner.Factory<NodeReference> scannerFactory(
+        GraphCreateFromStoreConfig graphCreateConfig,
         GraphDimensions dimensions
     ) {
         var tokenNodeLabelMapping = dimensions.tokenNodeLabelMapping();
         assert tokenNodeLabelMapping != null : "Only null in Cypher loader";
 
         int[] labelIds = tokenNodeLabelMapping.keys().toArray();
-        return NodeScannerFactory.create(labelIds);
+        return SamplingStoreScanner.factory(
+            NodeScannerFactory.create(labelIds),
+            graphCreateConfig.nodeSamplingRatio(),
+            graphCreateConfig.samplingSeed(),
+            NodeReference::nodeId
+        );
     }
 
     @Override
@@ -59,9 +59,31 @@ public final class ScanningRelationshipsImporter extends ScanningRecordsImporter
         IdMapping idMap,
         Map<RelationshipType, RelationshipsBuilder> allBuilders,
         int concurrency
+    ) {
+        this(
+            graphCreateConfig,
+            loadingContext,
+            dimensions,
+            progressLogger,
+            idMap,
+            allBuilders,
+            concurrency,
+            RelationshipScanCursorBasedScanner.FACTORY
+        );
+    }
+
+    public ScanningRelationshipsImporter(
+        GraphCreateConfig graphCreateConfig,
+        GraphLoaderContext loadingContext,
+        GraphDimensions dimensions,
+        ProgressLogger progressLogger,
+        IdMapping idMap,
+        Map<RelationshipType, RelationshipsBuilder> allBuilders,
+        int concurrency,
+        StoreScanner.Factory<RelationshipReference> scannerFactory
     ) {
         super(
-            RelationshipScanCursorBasedScanner.FACTORY,
+            scannerFactory,
             "Relationship",
             loadingContext,
             dimensions,
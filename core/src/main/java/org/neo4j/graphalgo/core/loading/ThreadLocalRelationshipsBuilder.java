@@ -86,10 +86,11 @@ class ThreadLocalRelationshipsBuilder {
     int applyVariableDeltaEncoding(
         CompressedLongArray array,
         LongsRef buffer,
+        AdjacencyCompression.SortBuffers sortBuffers,
         int localId
     ) {
         if (array.hasWeights()) {
-            return applyVariableDeltaEncodingWithWeights(array, buffer, localId);
+            return applyVariableDeltaEncodingWithWeights(array, buffer, sortBuffers, localId);
         } else {
             return applyVariableDeltaEncodingWithoutWeights(array, buffer, localId);
         }
@@ -113,12 +114,19 @@ class ThreadLocalRelationshipsBuilder {
     private int applyVariableDeltaEncodingWithWeights(
         CompressedLongArray array,
         LongsRef buffer,
+        AdjacencyCompression.SortBuffers sortBuffers,
         int localId
     ) {
         byte[] storage = array.storage();
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
-        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
+        int degree = AdjacencyCompression.applyDeltaEncoding(
+            buffer,
+            weights,
+            aggregations,
+            noAggregation,
+            sortBuffers
+        );
         int requiredBytes = AdjacencyCompression.compress(buffer, storage);
         adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
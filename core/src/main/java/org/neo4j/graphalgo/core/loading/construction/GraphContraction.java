@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading.construction;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.AdjacencyListAllocator;
+import org.neo4j.graphalgo.core.loading.AdjacencyListBuilder;
+import org.neo4j.graphalgo.core.loading.AdjacencyListPageSlice;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.ImportSizing;
+import org.neo4j.graphalgo.core.loading.TransientAdjacencyListBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.api.DefaultValue.DOUBLE_DEFAULT_FALLBACK;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Contracts a graph into its community graph, where every community becomes a single node.
+ *
+ * All relationships from members of one community to members of another community are
+ * merged into a single relationship whose property is the sum of their weights. Relationships
+ * within a community become a self-loop on the community node.
+ *
+ * Unlike going through {@link RelationshipsBuilder}, this does not buffer, sort and aggregate
+ * individual relationships. Every community is processed by a single thread, which aggregates
+ * the relationships of all members in a primitive hash table and writes the compressed
+ * adjacency list and the weights of the community directly.
+ */
+public final class GraphContraction {
+
+    // number of communities a task claims at once
+    private static final long BATCH_SIZE = 64L;
+
+    /**
+     * The buffers that group the nodes by community, there are at most as many communities as nodes.
+     * The contracted graph itself is not included.
+     */
+    public static final MemoryEstimation MEMORY_ESTIMATION = MemoryEstimations.builder(GraphContraction.class)
+        .perNode("nodeCommunities", HugeLongArray::memoryEstimation)
+        .perNode("memberOffsets", HugeAtomicLongArray::memoryEstimation)
+        .perNode("members", HugeLongArray::memoryEstimation)
+        .build();
+
+    private final Graph graph;
+    private final IdMap communities;
+    private final LongUnaryOperator communityFunction;
+    private final Orientation orientation;
+    private final int concurrency;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    /**
+     * @param graph             the graph to contract
+     * @param communities       the nodes of the contracted graph, their original ids are the community ids
+     * @param communityFunction maps a node of the graph to its community id
+     */
+    public static HugeGraph contract(
+        Graph graph,
+        IdMap communities,
+        LongUnaryOperator communityFunction,
+        Orientation orientation,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        return new GraphContraction(
+            graph,
+            communities,
+            communityFunction,
+            orientation,
+            concurrency,
+            executorService,
+            tracker
+        ).contract();
+    }
+
+    private GraphContraction(
+        Graph graph,
+        IdMap communities,
+        LongUnaryOperator communityFunction,
+        Orientation orientation,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communities = communities;
+        this.communityFunction = communityFunction;
+        this.orientation = orientation;
+        this.concurrency = concurrency;
+        this.executorService = executorService;
+        this.tracker = tracker;
+    }
+
+    private HugeGraph contract() {
+        long nodeCount = graph.nodeCount();
+        long communityCount = communities.nodeCount();
+
+        HugeLongArray nodeCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        HugeAtomicLongArray memberOffsets = HugeAtomicLongArray.newArray(communityCount, tracker);
+        HugeLongArray members = HugeLongArray.newArray(nodeCount, tracker);
+
+        groupMembers(nodeCommunities, memberOffsets, members);
+
+        ImportSizing importSizing = ImportSizing.of(concurrency, communityCount);
+        int pageSize = importSizing.pageSize();
+        long[][] adjacencyOffsets = newOffsetPages(importSizing);
+        long[][] propertyOffsets = newOffsetPages(importSizing);
+
+        AdjacencyListBuilder adjacencyListBuilder = TransientAdjacencyListBuilder
+            .builderFactory(tracker)
+            .newAdjacencyListBuilder();
+        AdjacencyListBuilder propertiesBuilder = TransientAdjacencyListBuilder
+            .builderFactory(tracker)
+            .newAdjacencyListBuilder();
+
+        AtomicLong nextBatch = new AtomicLong();
+        var tasks = Stream.generate(() -> new ContractionTask(
+            graph.concurrentCopy(),
+            nodeCommunities,
+            memberOffsets,
+            members,
+            adjacencyListBuilder.newAllocator(),
+            propertiesBuilder.newAllocator(),
+            adjacencyOffsets,
+            propertyOffsets,
+            Integer.numberOfTrailingZeros(pageSize),
+            pageSize - 1,
+            communityCount,
+            nextBatch
+        )).limit(concurrency).collect(Collectors.toList());
+
+        ParallelUtil.run(tasks, executorService);
+
+        nodeCommunities.release();
+        memberOffsets.release();
+        members.release();
+
+        long relationshipCount = tasks.stream().mapToLong(ContractionTask::relationshipCount).sum();
+
+        Relationships relationships = Relationships.of(
+            relationshipCount,
+            orientation,
+            false,
+            adjacencyListBuilder.build(),
+            TransientAdjacencyOffsets.forPageSize(pageSize).newOffsets(adjacencyOffsets),
+            propertiesBuilder.build(),
+            TransientAdjacencyOffsets.forPageSize(pageSize).newOffsets(propertyOffsets),
+            DOUBLE_DEFAULT_FALLBACK
+        );
+
+        return GraphFactory.create(communities, relationships, tracker);
+    }
+
+    /**
+     * Sorts the nodes by community. Afterwards, the members of community {@code c} are stored in
+     * {@code members} from {@code memberOffsets[c - 1]} (or {@code 0}) up to {@code memberOffsets[c]}.
+     */
+    private void groupMembers(
+        HugeLongArray nodeCommunities,
+        HugeAtomicLongArray memberOffsets,
+        HugeLongArray members
+    ) {
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            long community = communities.toMappedNodeId(communityFunction.applyAsLong(nodeId));
+            nodeCommunities.set(nodeId, community);
+            memberOffsets.update(community, count -> count + 1);
+        });
+
+        // exclusive prefix sum, every community points to the start of its members
+        long offset = 0L;
+        for (long community = 0L; community < memberOffsets.size(); community++) {
+            long count = memberOffsets.get(community);
+            memberOffsets.set(community, offset);
+            offset += count;
+        }
+
+        // claim a slot for every node, afterwards every community points to the end of its members
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            long community = nodeCommunities.get(nodeId);
+            long position = memberOffsets.get(community);
+            while (true) {
+                long witness = memberOffsets.compareAndExchange(community, position, position + 1);
+                if (witness == position) {
+                    break;
+                }
+                position = witness;
+            }
+            members.set(position, nodeId);
+        });
+    }
+
+    private long[][] newOffsetPages(ImportSizing importSizing) {
+        long[][] pages = new long[importSizing.numberOfPages()][];
+        Arrays.setAll(pages, page -> new long[importSizing.pageSize()]);
+        tracker.add(sizeOfLongArray(importSizing.pageSize()) * importSizing.numberOfPages());
+        return pages;
+    }
+
+    private static final class ContractionTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final HugeLongArray nodeCommunities;
+        private final HugeAtomicLongArray memberOffsets;
+        private final HugeLongArray members;
+        private final AdjacencyListAllocator adjacencyAllocator;
+        private final AdjacencyListAllocator propertiesAllocator;
+        private final long[][] adjacencyOffsets;
+        private final long[][] propertyOffsets;
+        private final int pageShift;
+        private final int pageMask;
+        private final long communityCount;
+        private final AtomicLong nextBatch;
+
+        private final LongDoubleHashMap weights;
+        private long[] targets;
+        private long[] properties;
+        private byte[] compressed;
+        private long relationshipCount;
+
+        private ContractionTask(
+            RelationshipIterator relationshipIterator,
+            HugeLongArray nodeCommunities,
+            HugeAtomicLongArray memberOffsets,
+            HugeLongArray members,
+            AdjacencyListAllocator adjacencyAllocator,
+            AdjacencyListAllocator propertiesAllocator,
+            long[][] adjacencyOffsets,
+            long[][] propertyOffsets,
+            int pageShift,
+            int pageMask,
+            long communityCount,
+            AtomicLong nextBatch
+        ) {
+            this.relationshipIterator = relationshipIterator;
+            this.nodeCommunities = nodeCommunities;
+            this.memberOffsets = memberOffsets;
+            this.members = members;
+            this.adjacencyAllocator = adjacencyAllocator;
+            this.propertiesAllocator = propertiesAllocator;
+            this.adjacencyOffsets = adjacencyOffsets;
+            this.propertyOffsets = propertyOffsets;
+            this.pageShift = pageShift;
+            this.pageMask = pageMask;
+            this.communityCount = communityCount;
+            this.nextBatch = nextBatch;
+            this.weights = new LongDoubleHashMap();
+            this.targets = new long[0];
+            this.properties = new long[0];
+            this.compressed = new byte[0];
+        }
+
+        @Override
+        public void run() {
+            adjacencyAllocator.prepare();
+            propertiesAllocator.prepare();
+
+            long batchStart;
+            while ((batchStart = nextBatch.getAndAdd(BATCH_SIZE)) < communityCount) {
+                long batchEnd = Math.min(batchStart + BATCH_SIZE, communityCount);
+                for (long community = batchStart; community < batchEnd; community++) {
+                    contract(community);
+                }
+            }
+
+            adjacencyAllocator.close();
+            propertiesAllocator.close();
+        }
+
+        long relationshipCount() {
+            return relationshipCount;
+        }
+
+        private void contract(long community) {
+            long start = community == 0 ? 0L : memberOffsets.get(community - 1);
+            long end = memberOffsets.get(community);
+
+            weights.clear();
+            for (long i = start; i < end; i++) {
+                relationshipIterator.forEachRelationship(members.get(i), 1.0D, (source, target, weight) -> {
+                    weights.addTo(nodeCommunities.get(target), weight);
+                    return true;
+                });
+            }
+
+            int degree = weights.size();
+            if (degree == 0) {
+                return;
+            }
+
+            if (targets.length < degree) {
+                targets = new long[degree];
+                properties = new long[degree];
+                // a variable-length long takes at most 10 bytes
+                compressed = new byte[degree * 10];
+            }
+
+            int i = 0;
+            for (LongDoubleCursor cursor : weights) {
+                targets[i++] = cursor.key;
+            }
+            Arrays.sort(targets, 0, degree);
+
+            for (i = 0; i < degree; i++) {
+                properties[i] = Double.doubleToLongBits(weights.get(targets[i]));
+            }
+
+            // delta encoding, the first target stays absolute
+            for (i = degree - 1; i > 0; i--) {
+                targets[i] -= targets[i - 1];
+            }
+
+            int pageIndex = (int) (community >>> pageShift);
+            int indexInPage = (int) (community & pageMask);
+
+            int requiredBytes = encodeVLongs(targets, degree, compressed, 0);
+            AdjacencyListPageSlice adjacencySlice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
+            adjacencySlice.writeInt(degree);
+            adjacencySlice.insert(compressed, 0, requiredBytes);
+            adjacencyOffsets[pageIndex][indexInPage] = adjacencySlice.address();
+
+            int propertyBytes = degree * Long.BYTES;
+            AdjacencyListPageSlice propertiesSlice = propertiesAllocator.allocate(Integer.BYTES + propertyBytes);
+            propertiesSlice.writeInt(degree);
+            ByteBuffer
+                .wrap(propertiesSlice.page(), propertiesSlice.offset(), propertyBytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asLongBuffer()
+                .put(properties, 0, degree);
+            propertiesSlice.bytesWritten(propertyBytes);
+            propertyOffsets[pageIndex][indexInPage] = propertiesSlice.address();
+
+            relationshipCount += degree;
+        }
+    }
+}
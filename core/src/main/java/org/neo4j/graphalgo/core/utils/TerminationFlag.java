@@ -29,12 +29,18 @@ public interface TerminationFlag {
 
     int RUN_CHECK_NODE_COUNT = 10_000;
 
+    /**
+     * Mask for checking the flag while iterating over a single adjacency list,
+     * so that long-running supernodes can be interrupted.
+     */
+    long RUN_CHECK_RELATIONSHIP_MASK = (1L << 14) - 1;
+
     static TerminationFlag wrap(KernelTransaction transaction) {
         return new TerminationFlagImpl(transaction);
     }
 
     static TerminationFlag wrap(KernelTransaction transaction, long interval) {
-        return new TerminationFlagImpl(transaction).withCheckInterval(interval);
+        return new TerminationFlagImpl(transaction, interval);
     }
 
     boolean running();
@@ -19,35 +19,83 @@
  */
 package org.neo4j.graphalgo.core.utils;
 
+import org.neo4j.internal.helpers.NamedThreadFactory;
 import org.neo4j.kernel.api.KernelTransaction;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A termination flag backed by a kernel transaction.
+ *
+ * The transaction status is polled by a shared background thread, so that {@link #running()}
+ * is a single volatile read and can be called from hot loops, such as adjacency iterations.
+ */
 public class TerminationFlagImpl implements TerminationFlag {
 
-    private final KernelTransaction transaction;
+    static final long DEFAULT_CHECK_INTERVAL_MILLIS = 100L;
+
+    private static final ScheduledExecutorService MONITOR = Executors.newSingleThreadScheduledExecutor(
+        NamedThreadFactory.daemon("gds-termination-monitor")
+    );
 
-    private long interval = 10_000;
+    private final KernelTransaction transaction;
 
-    private volatile long lastCheck = 0;
     private volatile boolean running = true;
 
     public TerminationFlagImpl(KernelTransaction transaction) {
-        this.transaction = transaction;
+        this(transaction, DEFAULT_CHECK_INTERVAL_MILLIS);
     }
 
-    public TerminationFlagImpl withCheckInterval(long interval) {
-        this.interval = interval;
-        return this;
+    public TerminationFlagImpl(KernelTransaction transaction, long interval) {
+        this.transaction = transaction;
+        // check once up front, so that a flag on an already terminated transaction is not running from the start
+        if (checkTransaction()) {
+            TransactionCheck.schedule(this, interval);
+        }
     }
 
     @Override
     public boolean running() {
-        final long currentTime = System.currentTimeMillis();
-        if (currentTime > lastCheck + interval) {
-            if (transaction.getReasonIfTerminated().isPresent() || !transaction.isOpen()) {
-                running = false;
-            }
-            lastCheck = currentTime;
+        return running;
+    }
+
+    /**
+     * @return true if the transaction should be checked again
+     */
+    private boolean checkTransaction() {
+        if (transaction.getReasonIfTerminated().isPresent() || !transaction.isOpen()) {
+            running = false;
         }
         return running;
     }
+
+    // Only holds a weak reference to the flag, so that an abandoned flag does not keep being checked.
+    private static final class TransactionCheck implements Runnable {
+        private final WeakReference<TerminationFlagImpl> flag;
+        private volatile ScheduledFuture<?> schedule;
+
+        static void schedule(TerminationFlagImpl flag, long interval) {
+            var check = new TransactionCheck(flag);
+            check.schedule = MONITOR.scheduleWithFixedDelay(check, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        private TransactionCheck(TerminationFlagImpl flag) {
+            this.flag = new WeakReference<>(flag);
+        }
+
+        @Override
+        public void run() {
+            var terminationFlag = flag.get();
+            if (terminationFlag == null || !terminationFlag.checkTransaction()) {
+                var schedule = this.schedule;
+                if (schedule != null) {
+                    schedule.cancel(false);
+                }
+            }
+        }
+    }
 }
@@ -77,6 +77,16 @@ abstract class HugeArray<Array, Box, Self extends HugeArray<Array, Box, Self>> {
      */
     public abstract HugeCursor<Array> newCursor();
 
+    /**
+     * Returns a new {@link HugeCursor} for writing into this array through {@link HugeCursor#array}.
+     * Every slot in {@code [offset, limit)} of each window the cursor visits has to be written.
+     *
+     * For arrays on the heap this is the same as {@link #newCursor()}.
+     */
+    HugeCursor<Array> newWriteCursor() {
+        return newCursor();
+    }
+
     /**
      * Resets the {@link HugeCursor} to range from index 0 until {@link #size()}.
      *
@@ -157,8 +167,10 @@ abstract class HugeArray<Array, Box, Self extends HugeArray<Array, Box, Self>> {
      */
     public final int copyFromArrayIntoSlice(Array source, long sliceStart, long sliceEnd) {
         int sourceIndex = 0;
-        try (HugeCursor<Array> cursor = initCursor(newCursor(), sliceStart, sliceEnd)) {
-            int sourceLength = java.lang.reflect.Array.getLength(source);
+        int sourceLength = java.lang.reflect.Array.getLength(source);
+        // a write cursor expects every slot of its windows to be written
+        sliceEnd = Math.min(sliceEnd, sliceStart + sourceLength);
+        try (HugeCursor<Array> cursor = initCursor(newWriteCursor(), sliceStart, sliceEnd)) {
             while (cursor.next() && sourceIndex < sourceLength) {
                 int copyLength = Math.min(
                         cursor.limit - cursor.offset, // number of slots available in the cursor buffer
@@ -38,7 +38,7 @@ abstract class HugeArrayBuilder<Array, Huge extends HugeArray<Array, ?, Huge>> {
     }
 
     private BulkAdder<Array> newBulkAdder() {
-        return new BulkAdder<>(array, array.newCursor());
+        return new BulkAdder<>(array, array.newWriteCursor());
     }
 
     public final BulkAdder<Array> allocate(final long nodes) {
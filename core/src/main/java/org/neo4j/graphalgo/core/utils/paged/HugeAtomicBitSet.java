@@ -20,9 +20,16 @@
 package org.neo4j.graphalgo.core.utils.paged;
 
 import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.MAX_ARRAY_LENGTH;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -97,7 +104,7 @@ public final class HugeAtomicBitSet {
         } else {
             // set within range
             setWord(startWordIndex, startBitMask);
-            for (long wordIndex = startWordIndex + 1; wordIndex <= endWordIndex; wordIndex++) {
+            for (long wordIndex = startWordIndex + 1; wordIndex < endWordIndex; wordIndex++) {
                 bits.set(wordIndex, -1L);
             }
             setWord(endWordIndex, endBitMask);
@@ -187,6 +194,165 @@ public final class HugeAtomicBitSet {
         return setBitCount;
     }
 
+    /**
+     * Returns the number of set bits in the bit set, counting the words in parallel.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public long cardinality(int concurrency) {
+        if (concurrency == 1) {
+            return cardinality();
+        }
+        return ParallelUtil.parallelStream(
+            LongStream.range(0, bits.size()),
+            concurrency,
+            words -> words.map(wordIndex -> Long.bitCount(bits.get(wordIndex))).sum()
+        );
+    }
+
+    /**
+     * Returns the index of the first set bit that is equal to or after the given index, or {@code -1} if there is none.
+     */
+    public long nextSetBit(long index) {
+        return nextSetBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first set bit in {@code [index, endIndex)}, or {@code -1} if there is none.
+     */
+    public long nextSetBit(long index, long endIndex) {
+        assert(endIndex <= numBits);
+        if (index >= endIndex) {
+            return -1L;
+        }
+        long wordIndex = index / NUM_BITS;
+        long endWordIndex = (endIndex - 1) / NUM_BITS;
+        // mask away the bits before the index
+        long word = bits.get(wordIndex) & (-1L << index);
+        while (word == 0L) {
+            if (++wordIndex > endWordIndex) {
+                return -1L;
+            }
+            word = bits.get(wordIndex);
+        }
+        long setBit = wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+        return setBit < endIndex ? setBit : -1L;
+    }
+
+    /**
+     * Returns the index of the first clear bit that is equal to or after the given index, or {@code -1} if all bits up to {@link #size()} are set.
+     */
+    public long nextClearBit(long index) {
+        return nextClearBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first clear bit in {@code [index, endIndex)}, or {@code -1} if there is none.
+     */
+    public long nextClearBit(long index, long endIndex) {
+        assert(endIndex <= numBits);
+        if (index >= endIndex) {
+            return -1L;
+        }
+        long wordIndex = index / NUM_BITS;
+        long endWordIndex = (endIndex - 1) / NUM_BITS;
+        // mask away the bits before the index
+        long word = ~bits.get(wordIndex) & (-1L << index);
+        while (word == 0L) {
+            if (++wordIndex > endWordIndex) {
+                return -1L;
+            }
+            word = ~bits.get(wordIndex);
+        }
+        long clearBit = wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+        return clearBit < endIndex ? clearBit : -1L;
+    }
+
+    /**
+     * Sets all bits that are set in the other bit set.
+     * Each word is updated atomically, but the operation as a whole is not.
+     */
+    public void or(HugeAtomicBitSet other) {
+        combine(other, (word, otherWord) -> word | otherWord);
+    }
+
+    /**
+     * Clears all bits that are not set in the other bit set.
+     * Each word is updated atomically, but the operation as a whole is not.
+     */
+    public void and(HugeAtomicBitSet other) {
+        combine(other, (word, otherWord) -> word & otherWord);
+    }
+
+    /**
+     * Flips all bits that are set in the other bit set.
+     * Each word is updated atomically, but the operation as a whole is not.
+     */
+    public void xor(HugeAtomicBitSet other) {
+        combine(other, (word, otherWord) -> word ^ otherWord);
+    }
+
+    /**
+     * Clears all bits that are set in the other bit set.
+     * Each word is updated atomically, but the operation as a whole is not.
+     */
+    public void andNot(HugeAtomicBitSet other) {
+        combine(other, (word, otherWord) -> word & ~otherWord);
+    }
+
+    private void combine(HugeAtomicBitSet other, LongBinaryOperator operator) {
+        if (other.numBits != numBits) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Cannot combine bit sets of different sizes, got %d and %d.",
+                numBits,
+                other.numBits
+            ));
+        }
+        for (long wordIndex = 0; wordIndex < bits.size(); wordIndex++) {
+            long otherWord = other.bits.get(wordIndex);
+            long oldWord = bits.get(wordIndex);
+            while (true) {
+                long newWord = operator.applyAsLong(oldWord, otherWord);
+                if (newWord == oldWord) {
+                    break;
+                }
+                long currentWord = bits.compareAndExchange(wordIndex, oldWord, newWord);
+                if (currentWord == oldWord) {
+                    break;
+                }
+                oldWord = currentWord;
+            }
+        }
+    }
+
+    /**
+     * Returns a spliterator over the indices of all set bits, in ascending order.
+     * The spliterator splits along word boundaries, so it can be used for parallel streams,
+     * e.g. {@code StreamSupport.longStream(bitSet.spliterator(), true)}.
+     * <p>
+     * Note: bits that are changed while the spliterator is traversed might or might not be reported.
+     */
+    public Spliterator.OfLong spliterator() {
+        return new SetBitsSpliterator(bits, 0L, bits.size());
+    }
+
+    /**
+     * Calls the given consumer with the index of every set bit, in ascending order.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public void forEachSetBit(LongConsumer consumer) {
+        for (long wordIndex = 0; wordIndex < bits.size(); wordIndex++) {
+            long word = bits.get(wordIndex);
+            long base = wordIndex * NUM_BITS;
+            while (word != 0) {
+                consumer.accept(base + Long.numberOfTrailingZeros(word));
+                // clear the lowest set bit
+                word &= word - 1;
+            }
+        }
+    }
+
     /**
      * Returns true iff no bit is set.
      * <p>
@@ -215,6 +381,13 @@ public final class HugeAtomicBitSet {
         return numBits;
     }
 
+    /**
+     * Destroys the bit set and returns the number of bytes that have been released.
+     */
+    public long release() {
+        return bits.release();
+    }
+
     /**
      * Resets all bits in the bit set.
      * <p>
@@ -260,4 +433,84 @@ public final class HugeAtomicBitSet {
             MAX_ARRAY_LENGTH
         ));
     }
+
+    private static final class SetBitsSpliterator implements Spliterator.OfLong {
+
+        private static final long MIN_SPLIT_WORDS = 64L;
+
+        private final HugeAtomicLongArray bits;
+        // index of the next word to load
+        private long wordIndex;
+        private final long endWordIndex;
+        // remaining bits of the word at wordIndex - 1
+        private long word;
+
+        private SetBitsSpliterator(HugeAtomicLongArray bits, long startWordIndex, long endWordIndex) {
+            this.bits = bits;
+            this.wordIndex = startWordIndex;
+            this.endWordIndex = endWordIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (word == 0L) {
+                if (wordIndex >= endWordIndex) {
+                    return false;
+                }
+                word = bits.get(wordIndex++);
+            }
+            action.accept((wordIndex - 1) * NUM_BITS + Long.numberOfTrailingZeros(word));
+            // clear the lowest set bit
+            word &= word - 1;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long word = this.word;
+            long wordIndex = this.wordIndex;
+            while (true) {
+                long base = (wordIndex - 1) * NUM_BITS;
+                while (word != 0L) {
+                    action.accept(base + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+                if (wordIndex >= endWordIndex) {
+                    break;
+                }
+                word = bits.get(wordIndex++);
+            }
+            this.word = 0L;
+            this.wordIndex = endWordIndex;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long remainingWords = endWordIndex - wordIndex;
+            if (remainingWords < MIN_SPLIT_WORDS) {
+                return null;
+            }
+            long splitWordIndex = wordIndex + remainingWords / 2;
+            var prefix = new SetBitsSpliterator(bits, wordIndex, splitWordIndex);
+            prefix.word = word;
+            this.word = 0L;
+            this.wordIndex = splitWordIndex;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.bitCount(word) + (endWordIndex - wordIndex) * NUM_BITS;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | NONNULL;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.procedures.LongLongProcedure;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A map with {@code long=>long} mapping and huge underlying storage that supports concurrent writes.
+ * <p>
+ * The map uses open addressing with linear probing over two {@link HugeAtomicLongArray}s.
+ * New keys are claimed with a single compare-and-set on the key slot and values are updated with compare-and-set loops,
+ * so neither inserts nor updates take a lock.
+ * <p>
+ * The capacity is fixed at construction time and the map does not grow;
+ * size it with the maximum number of distinct keys, e.g. the node count for community ids.
+ * Inserting more keys than fit into the map fails with an {@link IllegalStateException}.
+ * <p>
+ * Reads that happen concurrently to writes to the same key see the value of some completed write,
+ * or {@code 0} for a key that is just being inserted.
+ * Once all writers are done, e.g. after {@link org.neo4j.graphalgo.core.concurrency.ParallelUtil#run(java.util.Collection, java.util.concurrent.ExecutorService)} returned,
+ * all reads are exact.
+ * The key {@code -1} is reserved and cannot be stored.
+ */
+public final class HugeAtomicLongLongMap {
+
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MIN_HASH_ARRAY_LENGTH = 4;
+
+    private final AllocationTracker tracker;
+    private final LongAdder size;
+    private final long mask;
+
+    private HugeAtomicLongArray keys;
+    private HugeAtomicLongArray values;
+
+    public static long memoryEstimation(long expectedElements) {
+        long capacity = capacityFor(expectedElements);
+        return sizeOfInstance(HugeAtomicLongLongMap.class) +
+               sizeOfInstance(LongAdder.class) +
+               2 * HugeAtomicLongArray.memoryEstimation(capacity);
+    }
+
+    public HugeAtomicLongLongMap(long expectedElements, AllocationTracker tracker) {
+        long capacity = capacityFor(expectedElements);
+        this.tracker = tracker;
+        this.size = new LongAdder();
+        this.mask = capacity - 1L;
+        this.keys = HugeAtomicLongArray.newArray(capacity, tracker);
+        this.values = HugeAtomicLongArray.newArray(capacity, tracker);
+    }
+
+    /**
+     * Atomically adds the given delta to the value of the given key, inserting the key with a value of {@code 0} first, if it is absent.
+     *
+     * @return the updated value
+     */
+    public long addTo(long key, long delta) {
+        long slot = findOrInsertSlot(1L + key);
+        long current = values.get(slot);
+        long witness;
+        while ((witness = values.compareAndExchange(slot, current, current + delta)) != current) {
+            current = witness;
+        }
+        return current + delta;
+    }
+
+    /**
+     * Atomically sets the value of the given key, if it is not contained in the map yet.
+     * Must not be mixed with concurrent {@link #addTo(long, long)} calls for the same key.
+     *
+     * @return true, iff the key was inserted by this call
+     */
+    public boolean putIfAbsent(long key, long value) {
+        long internalKey = 1L + key;
+        long slot = BitMixer.mixPhi(internalKey) & mask;
+        for (long probes = 0L; probes <= mask; probes++) {
+            long existing = keys.get(slot);
+            if (existing == internalKey) {
+                return false;
+            }
+            if (existing == EMPTY) {
+                long witness = keys.compareAndExchange(slot, EMPTY, internalKey);
+                if (witness == EMPTY) {
+                    values.set(slot, value);
+                    size.increment();
+                    return true;
+                }
+                if (witness == internalKey) {
+                    return false;
+                }
+            }
+            slot = (slot + 1L) & mask;
+        }
+        throw mapIsFull();
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        long slot = findSlot(1L + key);
+        return slot < 0L ? defaultValue : values.get(slot);
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(1L + key) >= 0L;
+    }
+
+    /**
+     * The number of keys in the map.
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0L;
+    }
+
+    /**
+     * The number of slots in the map, which is an upper bound for the number of keys that can be stored.
+     * Slots can be visited independently with {@link #forEach(long, long, LongLongProcedure)}.
+     */
+    public long capacity() {
+        return mask + 1L;
+    }
+
+    public void forEach(LongLongProcedure consumer) {
+        forEach(0L, capacity(), consumer);
+    }
+
+    /**
+     * Calls the consumer for every entry stored within the slots {@code [fromSlot, toSlot)}.
+     * Disjoint slot ranges can be visited in parallel.
+     */
+    public void forEach(long fromSlot, long toSlot, LongLongProcedure consumer) {
+        for (long slot = fromSlot; slot < toSlot; slot++) {
+            long key = keys.get(slot);
+            if (key != EMPTY) {
+                consumer.apply(key - 1L, values.get(slot));
+            }
+        }
+    }
+
+    public long sizeOf() {
+        return keys.sizeOf() + values.sizeOf();
+    }
+
+    public void release() {
+        long released = 0L;
+        released += keys.release();
+        released += values.release();
+        tracker.remove(released);
+
+        keys = null;
+        values = null;
+    }
+
+    private long findOrInsertSlot(long internalKey) {
+        long slot = BitMixer.mixPhi(internalKey) & mask;
+        for (long probes = 0L; probes <= mask; probes++) {
+            long existing = keys.get(slot);
+            if (existing == internalKey) {
+                return slot;
+            }
+            if (existing == EMPTY) {
+                long witness = keys.compareAndExchange(slot, EMPTY, internalKey);
+                if (witness == EMPTY) {
+                    size.increment();
+                    return slot;
+                }
+                if (witness == internalKey) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1L) & mask;
+        }
+        throw mapIsFull();
+    }
+
+    private long findSlot(long internalKey) {
+        long slot = BitMixer.mixPhi(internalKey) & mask;
+        for (long probes = 0L; probes <= mask; probes++) {
+            long existing = keys.get(slot);
+            if (existing == internalKey) {
+                return slot;
+            }
+            if (existing == EMPTY) {
+                return -1L;
+            }
+            slot = (slot + 1L) & mask;
+        }
+        return -1L;
+    }
+
+    private IllegalStateException mapIsFull() {
+        return new IllegalStateException(formatWithLocale(
+            "The map is full, it cannot hold more than %d keys.",
+            capacity()
+        ));
+    }
+
+    private static long capacityFor(long expectedElements) {
+        if (expectedElements < 0L) {
+            throw new IllegalArgumentException("Number of elements must be >= 0: " + expectedElements);
+        }
+        long length = (long) Math.ceil((double) expectedElements / LOAD_FACTOR);
+        if (length == expectedElements) {
+            length++;
+        }
+        return Math.max(MIN_HASH_ARRAY_LENGTH, BitUtil.nextHighestPowerOfTwo(length));
+    }
+}
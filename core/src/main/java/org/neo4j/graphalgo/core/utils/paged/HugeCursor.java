@@ -186,4 +186,96 @@ public abstract class HugeCursor<Array> implements AutoCloseable {
             pageIndex = -1;
         }
     }
+
+    /**
+     * Cursor over off-heap pages.
+     * A read cursor copies the values of each page into a reusable buffer when it advances onto the page
+     * and never writes them back, so it does not interfere with concurrent writes into the array.
+     * A write cursor does not load any values. Every slot in {@code [offset, limit)} of {@link #array}
+     * has to be written and the window is stored into the page when the cursor moves on or is closed.
+     */
+    abstract static class OffHeapCursor<Array> extends HugeCursor<Array> {
+
+        private final boolean write;
+        private int pageIndex;
+        private int fromPage;
+        private int maxPage;
+        private long capacity;
+        private long end;
+        private boolean pendingWrite;
+
+        OffHeapCursor(final long capacity, final Array buffer, final boolean write) {
+            super();
+            this.capacity = capacity;
+            this.array = buffer;
+            this.write = write;
+        }
+
+        /**
+         * copy the values of {@code page} in {@code [from, to)} into the same slots of {@code buffer}
+         */
+        abstract void load(int page, int from, int to, Array buffer);
+
+        /**
+         * copy the values in {@code [from, to)} of {@code buffer} back into the same slots of {@code page}
+         */
+        abstract void store(int page, int from, int to, Array buffer);
+
+        @Override
+        void setRange() {
+            setRange(0L, capacity);
+        }
+
+        @Override
+        void setRange(long start, long end) {
+            flush();
+            fromPage = pageIndex(start);
+            maxPage = pageIndex(end - 1L);
+            pageIndex = fromPage - 1;
+            this.end = end;
+            base = (long) fromPage << PAGE_SHIFT;
+            offset = indexInPage(start);
+            limit = fromPage == maxPage ? exclusiveIndexOfPage(end) : PAGE_SIZE;
+        }
+
+        @Override
+        public final boolean next() {
+            flush();
+            int current = ++pageIndex;
+            if (current > maxPage) {
+                return false;
+            }
+            if (current != fromPage) {
+                base += PAGE_SIZE;
+                offset = 0;
+                limit = current == maxPage ? exclusiveIndexOfPage(end) : PAGE_SIZE;
+            }
+            if (write) {
+                pendingWrite = true;
+            } else {
+                load(current, offset, limit, array);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            flush();
+            array = null;
+            base = 0L;
+            end = 0L;
+            limit = 0;
+            capacity = 0L;
+            maxPage = -1;
+            fromPage = -1;
+            pageIndex = -1;
+        }
+
+        private void flush() {
+            if (pendingWrite) {
+                pendingWrite = false;
+                store(pageIndex, offset, limit, array);
+            }
+        }
+    }
 }
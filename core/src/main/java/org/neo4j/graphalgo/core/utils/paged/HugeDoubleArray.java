@@ -23,10 +23,12 @@ import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.function.LongFunction;
 import java.util.function.LongToDoubleFunction;
 import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
@@ -37,6 +39,7 @@ import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.exclusiveIndexOfPa
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.numberOfPages;
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.pageIndex;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_OFF_HEAP_ARRAYS;
 
 /**
  * A long-indexable version of a primitive double array ({@code double[]}) that can contain more than 2 bn. elements.
@@ -199,14 +202,27 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
+     * The array is allocated off-heap if {@link org.neo4j.graphalgo.utils.GdsFeatureToggles#USE_OFF_HEAP_ARRAYS} is enabled.
      */
     public static HugeDoubleArray newArray(long size, AllocationTracker tracker) {
+        if (USE_OFF_HEAP_ARRAYS.isEnabled()) {
+            return OffHeapHugeDoubleArray.of(size, tracker);
+        }
         if (size <= ArrayUtil.MAX_ARRAY_LENGTH) {
             return SingleHugeDoubleArray.of(size, tracker);
         }
         return PagedHugeDoubleArray.of(size, tracker);
     }
 
+    /**
+     * Creates a new array of the given size that stores its values in direct memory, regardless of the global setting.
+     * The memory is tracked in the given {@link AllocationTracker}, it is reclaimed once the array and all its cursors
+     * are garbage collected. Cursors over an off-heap array operate on a copy of each page; see {@link HugeCursor.OffHeapCursor}.
+     */
+    public static HugeDoubleArray newOffHeapArray(long size, AllocationTracker tracker) {
+        return OffHeapHugeDoubleArray.of(size, tracker);
+    }
+
     public static long memoryEstimation(long size) {
         assert size >= 0;
 
@@ -226,7 +242,7 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
     }
 
     public static HugeDoubleArray of(final double... values) {
-        return new HugeDoubleArray.SingleHugeDoubleArray(values.length, values);
+        return new SingleHugeDoubleArray(values.length, values, false);
     }
 
     /* test-only */
@@ -239,23 +255,35 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         return SingleHugeDoubleArray.of(size, tracker);
     }
 
+    private static void copyValues(HugeDoubleArray source, HugeDoubleArray dest, long length) {
+        for (long i = 0; i < length; i++) {
+            dest.set(i, source.get(i));
+        }
+        for (long i = length; i < dest.size(); i++) {
+            dest.set(i, 0D);
+        }
+    }
+
     private static final class SingleHugeDoubleArray extends HugeDoubleArray {
 
         private static HugeDoubleArray of(long size, AllocationTracker tracker) {
             assert size <= ArrayUtil.MAX_ARRAY_LENGTH;
             final int intSize = (int) size;
-            double[] page = new double[intSize];
+            double[] page = PagePool.instance().newPage(double[].class, intSize);
             tracker.add(sizeOfDoubleArray(intSize));
 
-            return new SingleHugeDoubleArray(intSize, page);
+            return new SingleHugeDoubleArray(intSize, page, true);
         }
 
         private final int size;
         private double[] page;
+        // only pages that are owned exclusively by this array can be handed back to the page pool
+        private boolean ownsPage;
 
-        private SingleHugeDoubleArray(int size, double[] page) {
+        private SingleHugeDoubleArray(int size, double[] page, boolean ownsPage) {
             this.size = size;
             this.page = page;
+            this.ownsPage = ownsPage;
         }
 
         @Override
@@ -315,6 +343,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyValues(this, dest, length);
             }
         }
 
@@ -331,6 +361,9 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         @Override
         public long release() {
             if (page != null) {
+                if (ownsPage) {
+                    PagePool.instance().release(page);
+                }
                 page = null;
                 return sizeOfDoubleArray(size);
             }
@@ -349,6 +382,7 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
 
         @Override
         public double[] toArray() {
+            ownsPage = false;
             return page;
         }
 
@@ -368,10 +402,10 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
             final long pageBytes = sizeOfDoubleArray(PAGE_SIZE);
             for (int i = 0; i < numPages - 1; i++) {
                 memoryUsed += pageBytes;
-                pages[i] = new double[PAGE_SIZE];
+                pages[i] = PagePool.instance().newPage(double[].class, PAGE_SIZE);
             }
             final int lastPageSize = exclusiveIndexOfPage(size);
-            pages[numPages - 1] = new double[lastPageSize];
+            pages[numPages - 1] = PagePool.instance().newPage(double[].class, lastPageSize);
             memoryUsed += sizeOfDoubleArray(lastPageSize);
             tracker.add(memoryUsed);
 
@@ -467,6 +501,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0D);
                 }
+            } else {
+                copyValues(this, dest, length);
             }
         }
 
@@ -483,6 +519,7 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         @Override
         public long release() {
             if (pages != null) {
+                PagePool.instance().releaseAll(pages);
                 pages = null;
                 return memoryUsed;
             }
@@ -499,4 +536,140 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
             return Arrays.stream(pages).flatMapToDouble(Arrays::stream);
         }
     }
+
+    private static final class OffHeapHugeDoubleArray extends HugeDoubleArray {
+
+        private static HugeDoubleArray of(long size, AllocationTracker tracker) {
+            int numPages = numberOfPages(size);
+            DoubleBuffer[] pages = new DoubleBuffer[numPages];
+
+            long memoryUsed = sizeOfObjectArray(numPages);
+            for (int i = 0; i < numPages; i++) {
+                int pageSize = i == numPages - 1 ? exclusiveIndexOfPage(size) : PAGE_SIZE;
+                pages[i] = OffHeapPages.allocate(pageSize, Double.BYTES).asDoubleBuffer();
+                memoryUsed += (long) pageSize * Double.BYTES;
+            }
+            tracker.add(memoryUsed);
+
+            return new OffHeapHugeDoubleArray(size, pages, memoryUsed);
+        }
+
+        private final long size;
+        private DoubleBuffer[] pages;
+        private final long memoryUsed;
+
+        private OffHeapHugeDoubleArray(long size, DoubleBuffer[] pages, long memoryUsed) {
+            this.size = size;
+            this.pages = pages;
+            this.memoryUsed = memoryUsed;
+        }
+
+        @Override
+        public double get(long index) {
+            assert index < size;
+            return pages[pageIndex(index)].get(indexInPage(index));
+        }
+
+        @Override
+        public void set(long index, double value) {
+            assert index < size;
+            pages[pageIndex(index)].put(indexInPage(index), value);
+        }
+
+        @Override
+        public void addTo(long index, double value) {
+            assert index < size;
+            DoubleBuffer page = pages[pageIndex(index)];
+            int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) + value);
+        }
+
+        @Override
+        public void setAll(LongToDoubleFunction gen) {
+            for (int i = 0; i < pages.length; i++) {
+                DoubleBuffer page = pages[i];
+                long base = ((long) i) << PAGE_SHIFT;
+                int pageSize = page.capacity();
+                for (int j = 0; j < pageSize; j++) {
+                    page.put(j, gen.applyAsDouble(base + j));
+                }
+            }
+        }
+
+        @Override
+        public void fill(double value) {
+            for (DoubleBuffer page : pages) {
+                int pageSize = page.capacity();
+                for (int j = 0; j < pageSize; j++) {
+                    page.put(j, value);
+                }
+            }
+        }
+
+        @Override
+        public void copyTo(HugeDoubleArray dest, long length) {
+            if (length > size) {
+                length = size;
+            }
+            if (length > dest.size()) {
+                length = dest.size();
+            }
+            copyValues(this, dest, length);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return memoryUsed;
+        }
+
+        @Override
+        public long release() {
+            if (pages != null) {
+                // the pages are not freed here, cursors might still read from them;
+                // their memory is reclaimed once the buffers are garbage collected
+                pages = null;
+                return memoryUsed;
+            }
+            return 0L;
+        }
+
+        @Override
+        public HugeCursor<double[]> newCursor() {
+            return newOffHeapCursor(false);
+        }
+
+        @Override
+        HugeCursor<double[]> newWriteCursor() {
+            return newOffHeapCursor(true);
+        }
+
+        private HugeCursor<double[]> newOffHeapCursor(boolean write) {
+            DoubleBuffer[] pages = this.pages;
+            return new HugeCursor.OffHeapCursor<>(size, new double[(int) Math.min(size, PAGE_SIZE)], write) {
+                @Override
+                void load(int page, int from, int to, double[] buffer) {
+                    DoubleBuffer source = pages[page].duplicate();
+                    source.position(from);
+                    source.get(buffer, from, to - from);
+                }
+
+                @Override
+                void store(int page, int from, int to, double[] buffer) {
+                    DoubleBuffer target = pages[page].duplicate();
+                    target.position(from);
+                    target.put(buffer, from, to - from);
+                }
+            };
+        }
+
+        @Override
+        public DoubleStream stream() {
+            return LongStream.range(0L, size).mapToDouble(this::get);
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.function.LongFunction;
 import java.util.function.LongUnaryOperator;
@@ -37,6 +38,7 @@ import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.indexFromPageIndex
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.numberOfPages;
 import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.pageIndex;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_OFF_HEAP_ARRAYS;
 
 /**
  * A long-indexable version of a primitive long array ({@code long[]}) that can contain more than 2 bn. elements.
@@ -223,14 +225,27 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
+     * The array is allocated off-heap if {@link org.neo4j.graphalgo.utils.GdsFeatureToggles#USE_OFF_HEAP_ARRAYS} is enabled.
      */
     public static HugeLongArray newArray(long size, AllocationTracker tracker) {
+        if (USE_OFF_HEAP_ARRAYS.isEnabled()) {
+            return OffHeapHugeLongArray.of(size, tracker);
+        }
         if (size <= ArrayUtil.MAX_ARRAY_LENGTH) {
             return SingleHugeLongArray.of(size, tracker);
         }
         return PagedHugeLongArray.of(size, tracker);
     }
 
+    /**
+     * Creates a new array of the given size that stores its values in direct memory, regardless of the global setting.
+     * The memory is tracked in the given {@link AllocationTracker}, it is reclaimed once the array and all its cursors
+     * are garbage collected. Cursors over an off-heap array operate on a copy of each page; see {@link HugeCursor.OffHeapCursor}.
+     */
+    public static HugeLongArray newOffHeapArray(long size, AllocationTracker tracker) {
+        return OffHeapHugeLongArray.of(size, tracker);
+    }
+
     public static long memoryEstimation(long size) {
         assert size >= 0;
 
@@ -250,7 +265,7 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
     }
 
     public static HugeLongArray of(final long... values) {
-        return new SingleHugeLongArray(values.length, values);
+        return new SingleHugeLongArray(values.length, values, false);
     }
 
     /* test-only */
@@ -263,23 +278,35 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         return SingleHugeLongArray.of(size, tracker);
     }
 
+    private static void copyValues(HugeLongArray source, HugeLongArray dest, long length) {
+        for (long i = 0; i < length; i++) {
+            dest.set(i, source.get(i));
+        }
+        for (long i = length; i < dest.size(); i++) {
+            dest.set(i, 0L);
+        }
+    }
+
     private static final class SingleHugeLongArray extends HugeLongArray {
 
         private static HugeLongArray of(long size, AllocationTracker tracker) {
             assert size <= ArrayUtil.MAX_ARRAY_LENGTH;
             final int intSize = (int) size;
-            long[] page = new long[intSize];
+            long[] page = PagePool.instance().newPage(long[].class, intSize);
             tracker.add(sizeOfLongArray(intSize));
 
-            return new SingleHugeLongArray(intSize, page);
+            return new SingleHugeLongArray(intSize, page, true);
         }
 
         private final int size;
         private long[] page;
+        // only pages that are owned exclusively by this array can be handed back to the page pool
+        private boolean ownsPage;
 
-        private SingleHugeLongArray(int size, long[] page) {
+        private SingleHugeLongArray(int size, long[] page, boolean ownsPage) {
             this.size = size;
             this.page = page;
+            this.ownsPage = ownsPage;
         }
 
         @Override
@@ -351,6 +378,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyValues(this, dest, length);
             }
         }
 
@@ -372,6 +401,9 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         @Override
         public long release() {
             if (page != null) {
+                if (ownsPage) {
+                    PagePool.instance().release(page);
+                }
                 page = null;
                 return sizeOfLongArray(size);
             }
@@ -390,6 +422,7 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
 
         @Override
         public long[] toArray() {
+            ownsPage = false;
             return page;
         }
     }
@@ -404,10 +437,10 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             final long pageBytes = sizeOfLongArray(PAGE_SIZE);
             for (int i = 0; i < numPages - 1; i++) {
                 memoryUsed += pageBytes;
-                pages[i] = new long[PAGE_SIZE];
+                pages[i] = PagePool.instance().newPage(long[].class, PAGE_SIZE);
             }
             final int lastPageSize = exclusiveIndexOfPage(size);
-            pages[numPages - 1] = new long[lastPageSize];
+            pages[numPages - 1] = PagePool.instance().newPage(long[].class, lastPageSize);
             memoryUsed += sizeOfLongArray(lastPageSize);
             tracker.add(memoryUsed);
 
@@ -519,6 +552,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0L);
                 }
+            } else {
+                copyValues(this, dest, length);
             }
         }
 
@@ -550,6 +585,7 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         @Override
         public long release() {
             if (pages != null) {
+                PagePool.instance().releaseAll(pages);
                 pages = null;
                 return memoryUsed;
             }
@@ -561,4 +597,173 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             return new HugeCursor.PagedCursor<>(size, pages);
         }
     }
+
+    private static final class OffHeapHugeLongArray extends HugeLongArray {
+
+        private static HugeLongArray of(long size, AllocationTracker tracker) {
+            int numPages = numberOfPages(size);
+            LongBuffer[] pages = new LongBuffer[numPages];
+
+            long memoryUsed = sizeOfObjectArray(numPages);
+            for (int i = 0; i < numPages; i++) {
+                int pageSize = i == numPages - 1 ? exclusiveIndexOfPage(size) : PAGE_SIZE;
+                pages[i] = OffHeapPages.allocate(pageSize, Long.BYTES).asLongBuffer();
+                memoryUsed += (long) pageSize * Long.BYTES;
+            }
+            tracker.add(memoryUsed);
+
+            return new OffHeapHugeLongArray(size, pages, memoryUsed);
+        }
+
+        private final long size;
+        private LongBuffer[] pages;
+        private final long memoryUsed;
+
+        private OffHeapHugeLongArray(long size, LongBuffer[] pages, long memoryUsed) {
+            this.size = size;
+            this.pages = pages;
+            this.memoryUsed = memoryUsed;
+        }
+
+        @Override
+        public long get(long index) {
+            assert index < size;
+            return pages[pageIndex(index)].get(indexInPage(index));
+        }
+
+        @Override
+        public void set(long index, long value) {
+            assert index < size;
+            pages[pageIndex(index)].put(indexInPage(index), value);
+        }
+
+        @Override
+        public void or(long index, final long value) {
+            assert index < size;
+            LongBuffer page = pages[pageIndex(index)];
+            int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) | value);
+        }
+
+        @Override
+        public long and(long index, final long value) {
+            assert index < size;
+            LongBuffer page = pages[pageIndex(index)];
+            int indexInPage = indexInPage(index);
+            long result = page.get(indexInPage) & value;
+            page.put(indexInPage, result);
+            return result;
+        }
+
+        @Override
+        public void addTo(long index, long value) {
+            assert index < size;
+            LongBuffer page = pages[pageIndex(index)];
+            int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) + value);
+        }
+
+        @Override
+        public void setAll(LongUnaryOperator gen) {
+            for (int i = 0; i < pages.length; i++) {
+                LongBuffer page = pages[i];
+                long base = ((long) i) << PAGE_SHIFT;
+                int pageSize = page.capacity();
+                for (int j = 0; j < pageSize; j++) {
+                    page.put(j, gen.applyAsLong(base + j));
+                }
+            }
+        }
+
+        @Override
+        public void fill(long value) {
+            for (LongBuffer page : pages) {
+                int pageSize = page.capacity();
+                for (int j = 0; j < pageSize; j++) {
+                    page.put(j, value);
+                }
+            }
+        }
+
+        @Override
+        public void copyTo(HugeLongArray dest, long length) {
+            if (length > size) {
+                length = size;
+            }
+            if (length > dest.size()) {
+                length = dest.size();
+            }
+            copyValues(this, dest, length);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return memoryUsed;
+        }
+
+        @Override
+        public long binarySearch(long searchValue) {
+            long low = 0L;
+            long high = size - 1L;
+
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                long midVal = get(mid);
+
+                if (midVal < searchValue) {
+                    low = mid + 1L;
+                } else if (midVal > searchValue) {
+                    high = mid - 1L;
+                } else {
+                    return mid;
+                }
+            }
+            return low - 1L;
+        }
+
+        @Override
+        public long release() {
+            if (pages != null) {
+                // the pages are not freed here, cursors might still read from them;
+                // their memory is reclaimed once the buffers are garbage collected
+                pages = null;
+                return memoryUsed;
+            }
+            return 0L;
+        }
+
+        @Override
+        public HugeCursor<long[]> newCursor() {
+            return newOffHeapCursor(false);
+        }
+
+        @Override
+        HugeCursor<long[]> newWriteCursor() {
+            return newOffHeapCursor(true);
+        }
+
+        private HugeCursor<long[]> newOffHeapCursor(boolean write) {
+            LongBuffer[] pages = this.pages;
+            return new HugeCursor.OffHeapCursor<>(size, new long[(int) Math.min(size, PAGE_SIZE)], write) {
+                @Override
+                void load(int page, int from, int to, long[] buffer) {
+                    LongBuffer source = pages[page].duplicate();
+                    source.position(from);
+                    source.get(buffer, from, to - from);
+                }
+
+                @Override
+                void store(int page, int from, int to, long[] buffer) {
+                    LongBuffer target = pages[page].duplicate();
+                    target.position(from);
+                    target.put(buffer, from, to - from);
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An immutable, paged bit set that supports constant time rank queries,
+ * i.e. counting the number of set bits before a given index.
+ * <p>
+ * Pages without any set bit are not allocated, which makes the bit set
+ * suitable for sparse and clustered id spaces.
+ * Every page stores the rank of its first bit and every block of
+ * {@value #WORDS_PER_BLOCK} words stores its rank relative to the page,
+ * so a rank query needs to count the bits of at most {@value #WORDS_PER_BLOCK} words.
+ */
+public final class HugeRankedBitSet {
+
+    private static final long NOT_FOUND = -1L;
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = (1 << WORD_SHIFT) - 1;
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int BITS_PER_PAGE_SHIFT = PAGE_SHIFT + WORD_SHIFT;
+
+    private static final int BLOCK_SHIFT = 3;
+    private static final int WORDS_PER_BLOCK = 1 << BLOCK_SHIFT;
+    private static final int BLOCKS_PER_PAGE = PAGE_SIZE >>> BLOCK_SHIFT;
+
+    private static final long PAGE_SIZE_IN_BYTES =
+        MemoryUsage.sizeOfLongArray(PAGE_SIZE) + MemoryUsage.sizeOfIntArray(BLOCKS_PER_PAGE);
+
+    private final long capacity;
+    private final long cardinality;
+    private final long[][] pages;
+    private final int[][] blockRanks;
+    private final long[] pageRanks;
+
+    private HugeRankedBitSet(long capacity, long cardinality, long[][] pages, int[][] blockRanks, long[] pageRanks) {
+        this.capacity = capacity;
+        this.cardinality = cardinality;
+        this.pages = pages;
+        this.blockRanks = blockRanks;
+        this.pageRanks = pageRanks;
+    }
+
+    /**
+     * @param size         number of bits that need to be represented
+     * @param maxSetBits   number of bits that will be set
+     */
+    public static MemoryRange memoryEstimation(long size, long maxSetBits) {
+        assert maxSetBits <= size;
+        int numPagesForSize = numPagesFor(size);
+        int numPagesBestCase = numPagesFor(maxSetBits);
+        // worst case distribution has at most one set bit per page
+        long numPagesWorstCase = Math.min(numPagesForSize, maxSetBits);
+
+        long classSize = MemoryUsage.sizeOfInstance(HugeRankedBitSet.class);
+        long directorySize = 2 * MemoryUsage.sizeOfObjectArray(numPagesForSize) + MemoryUsage.sizeOfLongArray(numPagesForSize);
+        return MemoryRange
+            .of(classSize + directorySize)
+            .add(MemoryRange.of(numPagesBestCase * PAGE_SIZE_IN_BYTES, numPagesWorstCase * PAGE_SIZE_IN_BYTES));
+    }
+
+    /**
+     * Returns the number of bits this bit set can hold.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of set bits.
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns the state of the bit at the given index.
+     */
+    public boolean contains(long index) {
+        int pageIndex = pageIndex(index);
+        if (pageIndex < pages.length) {
+            long[] page = pages[pageIndex];
+            if (page != null) {
+                return (page[wordInPage(index)] & (1L << index)) != 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of set bits that have a smaller index than the given index.
+     */
+    public long rank(long index) {
+        int pageIndex = pageIndex(index);
+        if (pageIndex >= pages.length) {
+            return cardinality;
+        }
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            return pageRanks[pageIndex];
+        }
+        return pageRank(page, pageIndex, index);
+    }
+
+    /**
+     * Returns the rank of the given index if the bit at that index is set or -1 otherwise.
+     */
+    public long rankIfSet(long index) {
+        int pageIndex = pageIndex(index);
+        if (pageIndex < pages.length) {
+            long[] page = pages[pageIndex];
+            if (page != null && (page[wordInPage(index)] & (1L << index)) != 0) {
+                return pageRank(page, pageIndex, index);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private long pageRank(long[] page, int pageIndex, long index) {
+        int wordInPage = wordInPage(index);
+        int blockStart = wordInPage & ~(WORDS_PER_BLOCK - 1);
+        long rank = pageRanks[pageIndex] + blockRanks[pageIndex][wordInPage >>> BLOCK_SHIFT];
+        for (int word = blockStart; word < wordInPage; word++) {
+            rank += Long.bitCount(page[word]);
+        }
+        // only count the bits below the index
+        long bitsBelow = page[wordInPage] & ~(-1L << index);
+        return rank + Long.bitCount(bitsBelow);
+    }
+
+    private static int numPagesFor(long size) {
+        return PageUtil.numPagesFor(size, BITS_PER_PAGE_SHIFT, (1L << BITS_PER_PAGE_SHIFT) - 1);
+    }
+
+    private static int pageIndex(long index) {
+        return (int) (index >>> BITS_PER_PAGE_SHIFT);
+    }
+
+    private static int wordInPage(long index) {
+        return (int) (index >>> WORD_SHIFT) & PAGE_MASK;
+    }
+
+    public static final class Builder {
+        private static final VarHandle ARRAY_HANDLE = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private final long capacity;
+        private final AtomicReferenceArray<long[]> pages;
+        private final AllocationTracker tracker;
+        private final ReentrantLock newPageLock;
+
+        public static Builder create(long size, AllocationTracker tracker) {
+            int numPages = numPagesFor(size);
+            AtomicReferenceArray<long[]> pages = new AtomicReferenceArray<>(numPages);
+            tracker.add(MemoryUsage.sizeOfObjectArray(numPages));
+            return new Builder(size, pages, tracker);
+        }
+
+        private Builder(long capacity, AtomicReferenceArray<long[]> pages, AllocationTracker tracker) {
+            this.capacity = capacity;
+            this.pages = pages;
+            this.tracker = tracker;
+            this.newPageLock = new ReentrantLock(true);
+        }
+
+        /**
+         * Sets the bit at the given index to true.
+         */
+        public void set(long index) {
+            getAndSet(index);
+        }
+
+        /**
+         * Sets a bit and returns the previous value.
+         */
+        public boolean getAndSet(long index) {
+            assert index < capacity;
+            int pageIndex = pageIndex(index);
+            int wordInPage = wordInPage(index);
+            long[] page = pages.get(pageIndex);
+            if (page == null) {
+                page = allocateNewPage(pageIndex);
+            }
+            long bitmask = 1L << index;
+            long oldWord = (long) ARRAY_HANDLE.getVolatile(page, wordInPage);
+            while (true) {
+                long newWord = oldWord | bitmask;
+                if (newWord == oldWord) {
+                    // already set
+                    return true;
+                }
+                long currentWord = (long) ARRAY_HANDLE.compareAndExchange(page, wordInPage, oldWord, newWord);
+                if (currentWord == oldWord) {
+                    // CAS successful
+                    return false;
+                }
+                // CAS unsuccessful, try again
+                oldWord = currentWord;
+            }
+        }
+
+        /**
+         * Builds the rank directory. Must not be called concurrently with {@link #set(long)}.
+         */
+        public HugeRankedBitSet build() {
+            int numPages = this.pages.length();
+            long[][] pages = new long[numPages][];
+            int[][] blockRanks = new int[numPages][];
+            long[] pageRanks = new long[numPages];
+            tracker.add(MemoryUsage.sizeOfObjectArray(numPages) + MemoryUsage.sizeOfLongArray(numPages));
+
+            long rank = 0L;
+            for (int pageIndex = 0; pageIndex < numPages; pageIndex++) {
+                pageRanks[pageIndex] = rank;
+                long[] page = this.pages.get(pageIndex);
+                if (page == null) {
+                    continue;
+                }
+                int[] blocks = new int[BLOCKS_PER_PAGE];
+                int rankInPage = 0;
+                for (int word = 0; word < PAGE_SIZE; word++) {
+                    if ((word & (WORDS_PER_BLOCK - 1)) == 0) {
+                        blocks[word >>> BLOCK_SHIFT] = rankInPage;
+                    }
+                    rankInPage += Long.bitCount(page[word]);
+                }
+                pages[pageIndex] = page;
+                blockRanks[pageIndex] = blocks;
+                rank += rankInPage;
+            }
+
+            return new HugeRankedBitSet(capacity, rank, pages, blockRanks, pageRanks);
+        }
+
+        private long[] allocateNewPage(int pageIndex) {
+            newPageLock.lock();
+            try {
+                long[] page = pages.get(pageIndex);
+                if (page != null) {
+                    return page;
+                }
+                // the block ranks are allocated during build, but we track them together with the page
+                tracker.add(PAGE_SIZE_IN_BYTES);
+                page = new long[PAGE_SIZE];
+                pages.set(pageIndex, page);
+                return page;
+            } finally {
+                newPageLock.unlock();
+            }
+        }
+    }
+}
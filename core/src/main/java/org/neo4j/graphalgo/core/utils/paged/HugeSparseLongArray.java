@@ -31,7 +31,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import static org.apache.lucene.util.ArrayUtil.oversize;
 
-public final class HugeSparseLongArray {
+public final class HugeSparseLongArray implements SparseLongMapping {
 
     private static final long NOT_FOUND = -1L;
 
@@ -71,10 +71,12 @@ public final class HugeSparseLongArray {
         return MemoryRange.of(classSize + pagesSize).add(MemoryRange.of(minRequirements, maxRequirements));
     }
 
+    @Override
     public long getCapacity() {
         return capacity;
     }
 
+    @Override
     public long get(long index) {
         final int pageIndex = pageIndex(index);
         if (pageIndex < pages.length) {
@@ -86,6 +88,7 @@ public final class HugeSparseLongArray {
         return defaultValue;
     }
 
+    @Override
     public boolean contains(long index) {
         final int pageIndex = pageIndex(index);
         if (pageIndex < pages.length) {
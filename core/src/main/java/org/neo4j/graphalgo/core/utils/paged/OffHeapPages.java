@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocation of the direct memory pages that back the off-heap Huge arrays.
+ * <p>
+ * Pages are regular direct {@link ByteBuffer}s, so they count against {@code -XX:MaxDirectMemorySize}.
+ * Pages are never freed explicitly, as cursors and buffer views might still read from them after the
+ * owning array has been released. Their memory is reclaimed by the cleaner of the buffer once it is garbage collected.
+ */
+final class OffHeapPages {
+
+    static ByteBuffer allocate(int elements, int bytesPerElement) {
+        return ByteBuffer
+            .allocateDirect(Math.multiplyExact(elements, bytesPerElement))
+            .order(ByteOrder.nativeOrder());
+    }
+
+    private OffHeapPages() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -72,7 +72,7 @@ public abstract class PageAllocator<T> {
         T[] emptyPages = (T[]) Array.newInstance(componentType, 0, 0);
         PageFactory<T> newPage = (tracker) -> {
             tracker.add(bytesPerPage);
-            return (T) Array.newInstance(componentType, pageSize);
+            return PagePool.instance().newPage(arrayClass, pageSize);
         };
 
         return of(pageSize, bytesPerPage, newPage, emptyPages);
@@ -89,7 +89,7 @@ public abstract class PageAllocator<T> {
         T[] emptyPages = (T[]) Array.newInstance(componentType, 0, 0);
         PageFactory<T> newPage = (tracker) -> {
             tracker.add(bytesPerPage);
-            return (T) Array.newInstance(componentType, pageSize);
+            return PagePool.instance().newPage(arrayClass, pageSize);
         };
 
         return of(pageSize, bytesPerPage, newPage, emptyPages);
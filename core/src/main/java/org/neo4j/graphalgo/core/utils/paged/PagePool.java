@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.util.FeatureToggles;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PAGE_POOL;
+
+/**
+ * A size-bounded pool of primitive array pages that are recycled across Huge array and paged data structure allocations.
+ * <p>
+ * Pages are only handed back to the pool when their array is released within {@link #recycle(Runnable)}, which is
+ * reserved for owners that know that no reader of the array is left, e.g. an algorithm that is released after it has
+ * computed its result. Arrays released anywhere else, e.g. when a graph is dropped, leave their pages to the GC, so that
+ * stale readers fail with a {@link NullPointerException} instead of observing a reused page.
+ * Recycled pages are zeroed before they are handed out again. Pages of the same type and length are interchangeable,
+ * so repeated algorithm runs draw most of their internal pages from the pool.
+ * Once the pool holds {@link #maxPooledBytes()}, further released pages are left to the GC.
+ * <p>
+ * The pool is only used while {@link org.neo4j.graphalgo.utils.GdsFeatureToggles#USE_PAGE_POOL} is enabled.
+ * Only {@code long[]}, {@code double[]}, and {@code int[]} pages are pooled.
+ */
+public final class PagePool {
+
+    private static final long DEFAULT_MAX_POOLED_BYTES = FeatureToggles.getLong(
+        PagePool.class,
+        "maxPooledBytes",
+        Runtime.getRuntime().maxMemory() / 8
+    );
+
+    private static final PagePool INSTANCE = new PagePool(DEFAULT_MAX_POOLED_BYTES);
+
+    public static PagePool instance() {
+        return INSTANCE;
+    }
+
+    private final Map<PageKey, Queue<Object>> pages;
+    private final AtomicLong pooledBytes;
+    private final AllocationTracker tracker;
+    private final ThreadLocal<Boolean> recycling;
+    private volatile long maxPooledBytes;
+
+    PagePool(long maxPooledBytes) {
+        this.pages = new ConcurrentHashMap<>();
+        this.pooledBytes = new AtomicLong();
+        this.tracker = AllocationTracker.create();
+        this.recycling = ThreadLocal.withInitial(() -> false);
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Returns a zeroed page of the given array type and length, taken from the pool if possible.
+     * The caller is responsible for tracking the memory of the page.
+     */
+    public <T> T newPage(Class<T> arrayClass, int length) {
+        Class<?> componentType = arrayClass.getComponentType();
+        if (USE_PAGE_POOL.isEnabled() && isPoolable(componentType)) {
+            Queue<Object> queue = pages.get(new PageKey(componentType, length));
+            Object page = queue == null ? null : queue.poll();
+            if (page != null) {
+                unreserve(bytesOf(componentType, length));
+                clear(page);
+                return arrayClass.cast(page);
+            }
+        }
+        return arrayClass.cast(Array.newInstance(componentType, length));
+    }
+
+    /**
+     * Runs the given release action and hands all pages that are released by the current thread
+     * during the action back to the pool.
+     * The caller must own the released arrays exclusively, no other reader or open cursor must be left.
+     */
+    public void recycle(Runnable releaseAction) {
+        boolean outer = recycling.get();
+        recycling.set(true);
+        try {
+            releaseAction.run();
+        } finally {
+            recycling.set(outer);
+        }
+    }
+
+    /**
+     * Hands the page back to the pool, if it is released within {@link #recycle(Runnable)},
+     * the pool is enabled and there is room left. Otherwise, the page is left to the GC.
+     */
+    public void release(Object page) {
+        if (page == null || !USE_PAGE_POOL.isEnabled() || !recycling.get()) {
+            return;
+        }
+        Class<?> componentType = page.getClass().getComponentType();
+        if (!isPoolable(componentType)) {
+            return;
+        }
+        int length = Array.getLength(page);
+        if (reserve(bytesOf(componentType, length))) {
+            pages.computeIfAbsent(new PageKey(componentType, length), key -> new ConcurrentLinkedQueue<>()).offer(page);
+        }
+    }
+
+    /**
+     * Hands all non-null pages back to the pool, see {@link #release(Object)}.
+     */
+    public void releaseAll(Object[] pages) {
+        if (pages == null || !USE_PAGE_POOL.isEnabled() || !recycling.get()) {
+            return;
+        }
+        for (Object page : pages) {
+            release(page);
+        }
+    }
+
+    /**
+     * The tracker that accounts for the memory of all pages currently held by the pool.
+     */
+    public AllocationTracker tracker() {
+        return tracker;
+    }
+
+    public long pooledBytes() {
+        return pooledBytes.get();
+    }
+
+    public long maxPooledBytes() {
+        return maxPooledBytes;
+    }
+
+    /**
+     * Sets the upper bound for the memory held by the pool, dropping pooled pages until the new bound is satisfied.
+     */
+    public void setMaxPooledBytes(long maxPooledBytes) {
+        if (maxPooledBytes < 0) {
+            throw new IllegalArgumentException("The maximum size of the page pool must not be negative.");
+        }
+        this.maxPooledBytes = maxPooledBytes;
+        trim();
+    }
+
+    public void resetMaxPooledBytes() {
+        setMaxPooledBytes(DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    /**
+     * Drops all pooled pages.
+     */
+    public void clear() {
+        for (Map.Entry<PageKey, Queue<Object>> entry : pages.entrySet()) {
+            drain(entry.getKey(), entry.getValue(), 0L);
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<PageKey, Queue<Object>>> entries = pages.entrySet().iterator();
+        while (pooledBytes.get() > maxPooledBytes && entries.hasNext()) {
+            Map.Entry<PageKey, Queue<Object>> entry = entries.next();
+            drain(entry.getKey(), entry.getValue(), maxPooledBytes);
+        }
+    }
+
+    private void drain(PageKey key, Queue<Object> queue, long untilBytes) {
+        long bytesPerPage = bytesOf(key.componentType, key.length);
+        while (pooledBytes.get() > untilBytes && queue.poll() != null) {
+            unreserve(bytesPerPage);
+        }
+    }
+
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = pooledBytes.get();
+            if (current + bytes > maxPooledBytes) {
+                return false;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + bytes));
+        tracker.add(bytes);
+        return true;
+    }
+
+    private void unreserve(long bytes) {
+        pooledBytes.addAndGet(-bytes);
+        tracker.remove(bytes);
+    }
+
+    private static boolean isPoolable(Class<?> componentType) {
+        return componentType == long.class || componentType == double.class || componentType == int.class;
+    }
+
+    private static long bytesOf(Class<?> componentType, int length) {
+        return sizeOfArray(length, sizeOfInstance(componentType));
+    }
+
+    private static void clear(Object page) {
+        if (page instanceof long[]) {
+            Arrays.fill((long[]) page, 0L);
+        } else if (page instanceof double[]) {
+            Arrays.fill((double[]) page, 0D);
+        } else {
+            Arrays.fill((int[]) page, 0);
+        }
+    }
+
+    private static final class PageKey {
+        private final Class<?> componentType;
+        private final int length;
+
+        private PageKey(Class<?> componentType, int length) {
+            this.componentType = componentType;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PageKey pageKey = (PageKey) o;
+            return length == pageKey.length && componentType == pageKey.componentType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentType, length);
+        }
+    }
+}
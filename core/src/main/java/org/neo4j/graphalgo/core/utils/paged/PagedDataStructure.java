@@ -96,6 +96,7 @@ public class PagedDataStructure<T> {
     public long release() {
         size.set(0);
         long freed = allocator.estimateMemoryUsage(capacity.getAndSet(0));
+        PagePool.instance().releaseAll(pages);
         pages = null;
         return freed;
     }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+/**
+ * A read-only mapping from a sparse range of long indices to long values.
+ */
+public interface SparseLongMapping {
+
+    /**
+     * Returns the value for the given index or a default value if the index is not mapped.
+     */
+    long get(long index);
+
+    /**
+     * Returns true iff a value is mapped to the given index.
+     */
+    boolean contains(long index);
+
+    /**
+     * Returns the number of indices this mapping can hold.
+     */
+    long getCapacity();
+}
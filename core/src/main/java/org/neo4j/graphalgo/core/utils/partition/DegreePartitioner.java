@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.partition;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.neo4j.graphalgo.core.utils.partition.Partition.MAX_NODE_COUNT;
+
+/**
+ * Splits the node id space of a graph into consecutive partitions that contain roughly the same
+ * number of relationships. Every node is weighted with its degree plus one, so that partitions
+ * of isolated nodes do not become arbitrarily large.
+ *
+ * The degrees are summed up in parallel over one chunk of nodes per thread. A partition ends at the
+ * first aligned node after the running weight passes the next multiple of the target weight, which
+ * every chunk can decide on its own once it knows the weight of the chunks before it.
+ * More partitions than threads are created, which allows the executor to balance the remaining skew.
+ */
+public final class DegreePartitioner {
+
+    public static final int PARTITIONS_PER_THREAD = 4;
+
+    private DegreePartitioner() {}
+
+    public static List<Partition> degreePartitions(Graph graph, int concurrency, ExecutorService executor) {
+        return degreePartitions(graph, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE, 1L, executor);
+    }
+
+    /**
+     * @param minPartitionWeight the minimum sum of (degree + 1) of a partition, except for the last one
+     * @param alignTo            all partitions, except for the last one, start and end at a multiple of this value
+     */
+    public static List<Partition> degreePartitions(
+        Graph graph,
+        int concurrency,
+        long minPartitionWeight,
+        long alignTo,
+        ExecutorService executor
+    ) {
+        assert concurrency > 0 && minPartitionWeight > 0 && alignTo > 0;
+        long nodeCount = graph.nodeCount();
+        if (nodeCount == 0) {
+            return List.of();
+        }
+
+        // chunks start at aligned nodes, so partitions never need to span two of them
+        long chunkSize = BitUtil.ceilDiv(BitUtil.ceilDiv(nodeCount, concurrency), alignTo) * alignTo;
+        int chunkCount = (int) BitUtil.ceilDiv(nodeCount, chunkSize);
+
+        long[] chunkWeights = new long[chunkCount];
+        runPerChunk(chunkCount, concurrency, executor, chunk -> {
+            Graph localGraph = graph.concurrentCopy();
+            long end = Math.min(nodeCount, (chunk + 1) * chunkSize);
+            long weight = 0L;
+            for (long node = chunk * chunkSize; node < end; node++) {
+                weight += localGraph.degree(node) + 1;
+            }
+            chunkWeights[chunk] = weight;
+        });
+
+        long[] chunkOffsets = new long[chunkCount];
+        long totalWeight = 0L;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkOffsets[chunk] = totalWeight;
+            totalWeight += chunkWeights[chunk];
+        }
+
+        long partitionCount = (long) concurrency * PARTITIONS_PER_THREAD;
+        long targetWeight = Math.max(minPartitionWeight, BitUtil.ceilDiv(totalWeight, partitionCount));
+
+        List<List<Long>> chunkBoundaries = new ArrayList<>(Collections.nCopies(chunkCount, null));
+        runPerChunk(chunkCount, concurrency, executor, chunk -> {
+            Graph localGraph = graph.concurrentCopy();
+            List<Long> boundaries = new ArrayList<>();
+            long end = Math.min(nodeCount, (chunk + 1) * chunkSize);
+            long weight = chunkOffsets[chunk];
+            long lastAlignedWeight = weight;
+            for (long node = chunk * chunkSize; node < end; node++) {
+                weight += localGraph.degree(node) + 1;
+                long boundary = node + 1;
+                if (boundary % alignTo == 0 && boundary < nodeCount) {
+                    if (weight / targetWeight > lastAlignedWeight / targetWeight) {
+                        boundaries.add(boundary);
+                    }
+                    lastAlignedWeight = weight;
+                }
+            }
+            chunkBoundaries.set(chunk, boundaries);
+        });
+
+        long maxNodeCount = MAX_NODE_COUNT - (MAX_NODE_COUNT % alignTo);
+        List<Partition> partitions = new ArrayList<>((int) Math.min(partitionCount + 1, Integer.MAX_VALUE));
+        long start = 0L;
+        for (List<Long> boundaries : chunkBoundaries) {
+            for (long boundary : boundaries) {
+                addPartitions(partitions, start, boundary, maxNodeCount);
+                start = boundary;
+            }
+        }
+        addPartitions(partitions, start, nodeCount, maxNodeCount);
+
+        return Collections.unmodifiableList(partitions);
+    }
+
+    private static void runPerChunk(int chunkCount, int concurrency, ExecutorService executor, IntConsumer task) {
+        List<Runnable> tasks = IntStream
+            .range(0, chunkCount)
+            .mapToObj(chunk -> (Runnable) () -> task.accept(chunk))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    private static void addPartitions(List<Partition> partitions, long start, long end, long maxNodeCount) {
+        while (end - start > maxNodeCount) {
+            partitions.add(Partition.of(start, maxNodeCount));
+            start += maxNodeCount;
+        }
+        partitions.add(Partition.of(start, end - start));
+    }
+}
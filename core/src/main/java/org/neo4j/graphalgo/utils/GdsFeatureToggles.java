@@ -31,7 +31,17 @@ public enum GdsFeatureToggles {
     USE_PRE_AGGREGATION(false),
     SKIP_ORPHANS(false),
     USE_KERNEL_TRACKER(false),
-    USE_PROPERTY_VALUE_INDEX(false);
+    USE_PROPERTY_VALUE_INDEX(false),
+    USE_PIPELINED_PROJECTION(false),
+    USE_COMPACT_ID_MAP(false),
+    USE_WORK_STEALING(false),
+    USE_ADMISSION_CONTROL(false),
+    USE_PARTITION_AFFINITY(false),
+    USE_OFF_HEAP_ARRAYS(false),
+    USE_PAGE_POOL(false),
+    USE_AFFOREST(false),
+    USE_PARALLEL_SCC(false),
+    USE_ORIENTED_TRIANGLE_COUNT(false);
 
     public boolean isEnabled() {
         return current.get();
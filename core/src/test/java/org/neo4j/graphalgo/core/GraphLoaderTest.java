@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.core;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.GraphLoaderBuilders;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
@@ -30,14 +31,21 @@ import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.TestSupport.AllGraphStoreFactoryTypesTest;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
 import static org.neo4j.graphalgo.TestSupport.assertTransactionTermination;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.SKIP_ORPHANS;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_COMPACT_ID_MAP;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PIPELINED_PROJECTION;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PROPERTY_VALUE_INDEX;
 
 class GraphLoaderTest extends BaseTest {
@@ -237,6 +245,106 @@ class GraphLoaderTest extends BaseTest {
         });
     }
 
+    @Test
+    void testPipelinedProjection() {
+        USE_PIPELINED_PROJECTION.enableAndRun(() -> {
+            Graph graph = TestGraphLoader.from(db)
+                .withRelationshipProperties(PropertyMapping.of("weight", "prop1", 3.14))
+                .withDefaultAggregation(Aggregation.SINGLE)
+                .graph(TestSupport.FactoryType.NATIVE);
+            assertGraphEquals(fromGdl("(a)-[{w: 1}]->(b), (a)-[{w: 3.14D}]->(c), (b)-[{w: 3.14D}]->(c)"), graph);
+        });
+    }
+
+    @Test
+    void testPipelinedProjectionWithRelationshipTypeFilter() {
+        USE_PIPELINED_PROJECTION.enableAndRun(() -> {
+            Graph graph = TestGraphLoader.from(db)
+                .withRelationshipTypes("REL3")
+                .withRelationshipProperties(PropertyMapping.of("weight", 1.0))
+                .graph(TestSupport.FactoryType.NATIVE);
+            assertGraphEquals(fromGdl("(), ()-[{w:1337}]->()"), graph);
+        });
+    }
+
+    @Test
+    void testCompactIdMap() {
+        USE_COMPACT_ID_MAP.enableAndRun(() -> {
+            Graph graph = TestGraphLoader.from(db)
+                .withLabels("Node1", "Node2")
+                .graph(TestSupport.FactoryType.NATIVE);
+            assertGraphEquals(fromGdl("(a:Node1)-->(b:Node2)"), graph);
+        });
+    }
+
+    @Test
+    void testNodeSampling() {
+        runQuery("UNWIND range(1, 1000) AS i CREATE (:Sampled)-[:REL]->(:Sampled)");
+
+        var config = ImmutableGraphCreateFromStoreConfig.builder()
+            .from(GraphCreateFromStoreConfig.all("", ""))
+            .nodeSamplingRatio(0.25)
+            .samplingSeed(42L)
+            .build();
+
+        Graph graph = GraphLoaderBuilders.createGraphLoader(
+            db,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            config
+        ).graph();
+
+        // 2003 nodes in total, 25% of them are sampled
+        assertTrue(graph.nodeCount() > 400 && graph.nodeCount() < 600, "nodeCount = " + graph.nodeCount());
+        // a relationship is only loaded if both end nodes are sampled
+        assertTrue(graph.relationshipCount() < 150, "relationshipCount = " + graph.relationshipCount());
+
+        Graph sameSeedGraph = GraphLoaderBuilders.createGraphLoader(
+            db,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            config
+        ).graph();
+        assertGraphEquals(graph, sameSeedGraph);
+    }
+
+    @Test
+    void testRelationshipSampling() {
+        runQuery("UNWIND range(1, 1000) AS i CREATE (:Sampled)-[:REL]->(:Sampled)");
+
+        var config = ImmutableGraphCreateFromStoreConfig.builder()
+            .from(GraphCreateFromStoreConfig.all("", ""))
+            .relationshipSamplingRatio(0.5)
+            .samplingSeed(42L)
+            .build();
+
+        Graph graph = GraphLoaderBuilders.createGraphLoader(
+            db,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            config
+        ).graph();
+
+        assertEquals(2003L, graph.nodeCount());
+        // 1004 relationships in total, 50% of them are sampled
+        assertTrue(
+            graph.relationshipCount() > 400 && graph.relationshipCount() < 600,
+            "relationshipCount = " + graph.relationshipCount()
+        );
+    }
+
     @Test
     void stopsImportingWhenTransactionHasBeenTerminated() {
         TerminationFlag terminationFlag = () -> false;
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphdb.TransactionTerminatedException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.core.utils.TerminationFlag.RUNNING_TRUE;
+
+class JobSchedulerTest {
+
+    @Test
+    void shouldCapConcurrencyToLimits() {
+        var scheduler = new JobScheduler(8, () -> Long.MAX_VALUE);
+        scheduler.setMaxConcurrencyPerUser(2);
+
+        try (var permit = scheduler.admit("alice", "neo4j", 4, 0L, RUNNING_TRUE)) {
+            assertEquals(2, permit.concurrency());
+            assertEquals(2, scheduler.runningConcurrency());
+        }
+        assertEquals(0, scheduler.runningConcurrency());
+    }
+
+    @Test
+    void shouldQueueJobsExceedingUserQuota() throws Exception {
+        var scheduler = new JobScheduler(8, () -> Long.MAX_VALUE);
+        scheduler.setMaxConcurrencyPerUser(2);
+
+        var first = scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE);
+        var second = CompletableFuture.supplyAsync(() -> scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE));
+        awaitWaiting(scheduler, 1);
+
+        // other users are not affected by the quota of alice
+        try (var other = scheduler.admit("bob", "neo4j", 2, 0L, RUNNING_TRUE)) {
+            assertEquals(4, scheduler.runningConcurrency());
+        }
+        assertFalse(second.isDone());
+
+        first.close();
+        second.get(10, TimeUnit.SECONDS).close();
+        assertEquals(0, scheduler.runningConcurrency());
+    }
+
+    @Test
+    void shouldQueueJobsExceedingDatabaseQuota() throws Exception {
+        var scheduler = new JobScheduler(8, () -> Long.MAX_VALUE);
+        scheduler.setMaxConcurrencyPerDatabase(3);
+
+        var first = scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE);
+        var second = CompletableFuture.supplyAsync(() -> scheduler.admit("bob", "neo4j", 2, 0L, RUNNING_TRUE));
+        awaitWaiting(scheduler, 1);
+
+        try (var other = scheduler.admit("bob", "system", 2, 0L, RUNNING_TRUE)) {
+            assertEquals(4, scheduler.runningConcurrency());
+        }
+
+        first.close();
+        second.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldWaitForMemoryToBecomeAvailable() throws Exception {
+        var freeMemory = new AtomicLong(1000L);
+        var scheduler = new JobScheduler(8, freeMemory::get);
+
+        var first = scheduler.admit("alice", "neo4j", 1, 800L, RUNNING_TRUE);
+        var second = CompletableFuture.supplyAsync(() -> scheduler.admit("bob", "neo4j", 1, 400L, RUNNING_TRUE));
+        awaitWaiting(scheduler, 1);
+
+        // reservations of running jobs are not available to others
+        try (var small = scheduler.admit("carol", "neo4j", 1, 100L, RUNNING_TRUE)) {
+            assertFalse(second.isDone());
+        }
+
+        first.close();
+        second.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldOnlyReserveMemoryThatIsNotAllocatedYet() {
+        var freeMemory = new AtomicLong(1000L);
+        var allocated = new AtomicLong(0L);
+        var scheduler = new JobScheduler(8, freeMemory::get);
+
+        try (var first = scheduler.admit("alice", "neo4j", 1, 800L, allocated::get, RUNNING_TRUE)) {
+            // the first job allocates its memory, which is no longer free
+            allocated.set(800L);
+            freeMemory.set(200L);
+
+            try (var second = scheduler.admit("bob", "neo4j", 1, 150L, RUNNING_TRUE)) {
+                assertEquals(2, scheduler.runningConcurrency());
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectOversizedJobIfNothingElseRuns() {
+        var scheduler = new JobScheduler(8, () -> 100L);
+
+        var exception = assertThrows(
+            IllegalStateException.class,
+            () -> scheduler.admit("alice", "neo4j", 1, 1000L, RUNNING_TRUE)
+        );
+        assertTrue(exception.getMessage().contains("exceeds current free memory"));
+        assertEquals(0, scheduler.waitingJobs());
+    }
+
+    @Test
+    void shouldQueueJobThatFitsOnceOthersFinish() throws Exception {
+        var freeMemory = new AtomicLong(1000L);
+        var scheduler = new JobScheduler(8, freeMemory::get);
+
+        var first = scheduler.admit("alice", "neo4j", 1, 800L, RUNNING_TRUE);
+        var second = CompletableFuture.supplyAsync(() -> scheduler.admit("bob", "neo4j", 1, 900L, RUNNING_TRUE));
+        awaitWaiting(scheduler, 1);
+        assertFalse(second.isDone());
+
+        first.close();
+        second.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldAdmitHigherPriorityFirst() throws Exception {
+        var scheduler = new JobScheduler(2, () -> Long.MAX_VALUE);
+        scheduler.setUserPriority("alice", JobScheduler.Priority.LOW);
+        scheduler.setUserPriority("bob", JobScheduler.Priority.HIGH);
+
+        List<String> admissionOrder = new CopyOnWriteArrayList<>();
+        var blocker = scheduler.admit("carol", "neo4j", 2, 0L, RUNNING_TRUE);
+
+        var low = CompletableFuture.runAsync(() -> {
+            try (var permit = scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE)) {
+                admissionOrder.add("alice");
+            }
+        });
+        awaitWaiting(scheduler, 1);
+        var high = CompletableFuture.runAsync(() -> {
+            try (var permit = scheduler.admit("bob", "neo4j", 2, 0L, RUNNING_TRUE)) {
+                admissionOrder.add("bob");
+            }
+        });
+        awaitWaiting(scheduler, 2);
+
+        blocker.close();
+        CompletableFuture.allOf(low, high).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("bob", "alice"), admissionOrder);
+    }
+
+    @Test
+    void shouldStopWaitingWhenTerminated() throws Exception {
+        var scheduler = new JobScheduler(1, () -> Long.MAX_VALUE);
+        var running = new AtomicBoolean(true);
+        TerminationFlag terminationFlag = running::get;
+
+        try (var blocker = scheduler.admit("alice", "neo4j", 1, 0L, RUNNING_TRUE)) {
+            var waiting = CompletableFuture.supplyAsync(() -> scheduler.admit("bob", "neo4j", 1, 0L, terminationFlag));
+            awaitWaiting(scheduler, 1);
+
+            running.set(false);
+            var exception = assertThrows(Exception.class, () -> waiting.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TransactionTerminatedException);
+            assertEquals(0, scheduler.waitingJobs());
+        }
+    }
+
+    @Test
+    void shouldReleasePermitOnlyOnce() {
+        var scheduler = new JobScheduler(4, () -> Long.MAX_VALUE);
+        var first = scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE);
+        try (var second = scheduler.admit("alice", "neo4j", 2, 0L, RUNNING_TRUE)) {
+            first.close();
+            first.close();
+            assertEquals(2, scheduler.runningConcurrency());
+        }
+    }
+
+    private static void awaitWaiting(JobScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (scheduler.waitingJobs() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, scheduler.waitingJobs());
+    }
+}
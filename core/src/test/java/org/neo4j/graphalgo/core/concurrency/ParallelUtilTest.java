@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
@@ -367,6 +368,36 @@ final class ParallelUtilTest {
         );
     }
 
+    @Test
+    void shouldBailOnTerminationWhileWaitingForLongRunningTask() {
+        withPool(2, pool -> {
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch taskStarted = new CountDownLatch(1);
+            Runnable longRunningTask = () -> {
+                taskStarted.countDown();
+                LockSupport.parkNanos(TimeUnit.MINUTES.toNanos(1));
+            };
+            Thread terminator = new Thread(() -> {
+                try {
+                    taskStarted.await();
+                } catch (InterruptedException ignore) {
+                }
+                running.set(false);
+            });
+            terminator.start();
+
+            long start = System.nanoTime();
+            assertTransactionTermination(() -> ParallelUtil.runWithConcurrency(
+                2,
+                List.of(longRunningTask, () -> {}),
+                running::get,
+                pool
+            ));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+            terminator.join();
+        });
+    }
+
     @Test
     void shouldWaitThenThrowOnFullThreadpool() {
         ThreadPoolExecutor pool = mock(ThreadPoolExecutor.class);
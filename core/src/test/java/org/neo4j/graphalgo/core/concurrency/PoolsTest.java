@@ -21,10 +21,19 @@ package org.neo4j.graphalgo.core.concurrency;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class PoolsTest {
 
@@ -47,5 +56,78 @@ class PoolsTest {
         assertEquals(2 * availableProcessors, defaultPool.getMaximumPoolSize());
     }
 
+    @Test
+    void shouldShareForkJoinPoolsPerConcurrency() {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 3);
+        var pool = Pools.forkJoinPool(3);
+
+        assertEquals(3, pool.getParallelism());
+        assertSame(pool, Pools.forkJoinPool(3));
+        assertNotSame(pool, Pools.forkJoinPool(2));
+    }
+
+    @Test
+    void shouldCapForkJoinPoolParallelismAtAvailableProcessors() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        var pool = Pools.forkJoinPool(availableProcessors + 100);
 
+        assertEquals(availableProcessors, pool.getParallelism());
+        assertSame(pool, Pools.forkJoinPool(availableProcessors));
+        assertSame(pool, Pools.forkJoinPool(availableProcessors + 1));
+    }
+
+    @Test
+    void shouldRunPartitionsOnStableThreads() {
+        try (var executor = Pools.newPartitionAffinityExecutor(3)) {
+            assertEquals(3, executor.concurrency());
+
+            var firstRun = new String[6];
+            var secondRun = new String[6];
+            for (String[] threadNames : List.of(firstRun, secondRun)) {
+                List<Runnable> tasks = new ArrayList<>();
+                for (int i = 0; i < threadNames.length; i++) {
+                    int partition = i;
+                    tasks.add(() -> threadNames[partition] = Thread.currentThread().getName());
+                }
+                executor.run(tasks, TerminationFlag.RUNNING_TRUE);
+            }
+
+            assertArrayEquals(firstRun, secondRun);
+            assertEquals(firstRun[0], firstRun[3]);
+            assertNotEquals(firstRun[0], firstRun[1]);
+        }
+    }
+
+    @Test
+    void shouldNotSharePartitionThreadsBetweenJobs() {
+        try (
+            var first = Pools.newPartitionAffinityExecutor(1);
+            var second = Pools.newPartitionAffinityExecutor(1)
+        ) {
+            var threads = new Thread[2];
+            first.run(List.<Runnable>of(() -> threads[0] = Thread.currentThread()), TerminationFlag.RUNNING_TRUE);
+            second.run(List.<Runnable>of(() -> threads[1] = Thread.currentThread()), TerminationFlag.RUNNING_TRUE);
+
+            assertNotSame(threads[0], threads[1]);
+        }
+    }
+
+    @Test
+    void shouldBoundPlatformIoPoolByThreadBudget() throws Exception {
+        var ioPool = (ThreadPoolExecutor) Pools.createIoPool(false, 3);
+        try {
+            assertEquals(3, ioPool.getMaximumPoolSize());
+            assertTrue(ioPool.allowsCoreThreadTimeOut());
+
+            var threadName = ioPool.submit(() -> Thread.currentThread().getName()).get();
+            assertTrue(threadName.startsWith("gds-io"), threadName);
+        } finally {
+            ioPool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRunTasksOnIoPool() throws Exception {
+        assertEquals(42, (int) Pools.IO.submit(() -> 42).get());
+    }
 }
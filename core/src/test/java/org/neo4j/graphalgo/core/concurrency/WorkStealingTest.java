@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class WorkStealingTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    void shouldVisitEveryNodeOnce(int concurrency) {
+        // a star graph with a single high degree node
+        var gdl = new StringBuilder("(hub)");
+        for (int i = 0; i < 2_000; i++) {
+            gdl.append(", (hub)-->(n").append(i).append(")");
+        }
+        var graph = fromGdl(gdl.toString());
+
+        var visits = HugeAtomicLongArray.newArray(graph.nodeCount(), AllocationTracker.empty());
+        var consumers = new AtomicInteger();
+
+        WorkStealing.forEachNode(graph, concurrency, () -> {
+            consumers.incrementAndGet();
+            return node -> visits.update(node, count -> count + 1);
+        });
+
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            assertEquals(1L, visits.get(node), "node " + node);
+        }
+        assertTrue(consumers.get() >= 1);
+    }
+
+    @Test
+    void shouldFinishEveryChunk() {
+        var gdl = new StringBuilder("(hub)");
+        for (int i = 0; i < 2_000; i++) {
+            gdl.append(", (hub)-->(n").append(i).append(")");
+        }
+        var graph = fromGdl(gdl.toString());
+
+        var consumers = new AtomicInteger();
+        var finishedChunks = new AtomicInteger();
+        var finishedNodes = new AtomicLong();
+
+        WorkStealing.forEachNodeChunk(graph, 4, () -> {
+            consumers.incrementAndGet();
+            return new WorkStealing.ChunkConsumer() {
+                long nodes = 0L;
+
+                @Override
+                public void accept(long node) {
+                    nodes++;
+                }
+
+                @Override
+                public void finishChunk() {
+                    finishedChunks.incrementAndGet();
+                    finishedNodes.addAndGet(nodes);
+                }
+            };
+        });
+
+        assertEquals(consumers.get(), finishedChunks.get());
+        assertEquals(graph.nodeCount(), finishedNodes.get());
+    }
+
+    @Test
+    void shouldCoverRangeWithoutOverlap() {
+        long size = 100_003L;
+        var visits = HugeAtomicLongArray.newArray(size, AllocationTracker.empty());
+        Set<Long> rangeStarts = ConcurrentHashMap.newKeySet();
+
+        WorkStealing.forEachRange(size, 4, (start, end) -> {
+            rangeStarts.add(start);
+            for (long i = start; i < end; i++) {
+                visits.update(i, count -> count + 1);
+            }
+        });
+
+        for (long i = 0; i < size; i++) {
+            assertEquals(1L, visits.get(i));
+        }
+        assertTrue(rangeStarts.size() > 1);
+    }
+}
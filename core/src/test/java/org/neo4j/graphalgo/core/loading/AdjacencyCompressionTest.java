@@ -20,17 +20,20 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.core.Aggregation;
 
 import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static java.lang.Double.doubleToLongBits;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AdjacencyCompressionTest {
 
@@ -69,6 +72,76 @@ class AdjacencyCompressionTest {
         assertEquals(4L, data.longs[1]);
     }
 
+    @Test
+    void shouldSortLargeAdjacencyListsTogetherWithWeights() {
+        var random = new Random(42L);
+        var buffers = new AdjacencyCompression.SortBuffers();
+
+        // reuse the buffers across adjacency lists of different sizes
+        for (int length : new int[]{1, 31, 33, 1000, 100, 5000}) {
+            long[] values = new long[length];
+            long[][] weights = new long[1][length];
+            for (int i = 0; i < length; i++) {
+                values[i] = random.nextInt(1 << 20);
+                // weight is derived from the value to detect misplaced weights after sorting
+                weights[0][i] = doubleToLongBits(values[i] * 2.0);
+            }
+
+            long[] expectedValues = Arrays.stream(values).sorted().distinct().toArray();
+
+            LongsRef data = new LongsRef(values, 0, length);
+            AdjacencyCompression.applyDeltaEncoding(
+                data,
+                weights,
+                new Aggregation[]{Aggregation.MAX},
+                false,
+                buffers
+            );
+
+            assertEquals(expectedValues.length, data.length);
+            long value = 0L;
+            for (int i = 0; i < data.length; i++) {
+                value += data.longs[i];
+                assertEquals(expectedValues[i], value);
+                assertEquals(expectedValues[i] * 2.0, Double.longBitsToDouble(weights[0][i]));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepParallelRelationshipsInInsertionOrderWithoutAggregation() {
+        int length = 100;
+        long[] values = new long[length];
+        long[][] weights = new long[1][length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (length - i) % 3;
+            weights[0][i] = doubleToLongBits(i);
+        }
+
+        LongsRef data = new LongsRef(values, 0, length);
+        AdjacencyCompression.applyDeltaEncoding(
+            data,
+            weights,
+            new Aggregation[]{Aggregation.NONE},
+            true,
+            new AdjacencyCompression.SortBuffers()
+        );
+
+        assertEquals(length, data.length);
+        double previousWeight = -1;
+        long value = 0L;
+        for (int i = 0; i < length; i++) {
+            long delta = data.longs[i];
+            value += delta;
+            double weight = Double.longBitsToDouble(weights[0][i]);
+            if (i > 0 && delta == 0L) {
+                assertTrue(weight > previousWeight, "parallel relationships must keep their order");
+            }
+            assertEquals(value, (length - (long) weight) % 3);
+            previousWeight = weight;
+        }
+    }
+
     static Stream<Arguments> aggregationsWithResults() {
         return Stream.of(
             Arguments.of(
@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
@@ -73,6 +75,23 @@ class GraphStoreCatalogTest {
         assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
     }
 
+    @Test
+    void components() {
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        assertTrue(GraphStoreCatalog.getComponents(USER_NAME, DATABASE_ID, GRAPH_NAME).isEmpty());
+
+        var graph = graphStore.getUnion();
+        var components = GraphComponents.of(
+            new HugeAtomicDisjointSetStruct(graph.nodeCount(), AllocationTracker.empty(), 1),
+            graph
+        );
+        GraphStoreCatalog.setComponents(USER_NAME, DATABASE_ID, GRAPH_NAME, components);
+        assertEquals(components, GraphStoreCatalog.getComponents(USER_NAME, DATABASE_ID, GRAPH_NAME).get());
+
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, graphStoreWithConfig -> {}, true);
+        assertTrue(GraphStoreCatalog.getComponents(USER_NAME, DATABASE_ID, GRAPH_NAME).isEmpty());
+    }
+
     @Test
     void graphStoresCount() {
         assertEquals(0, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
@@ -21,7 +21,14 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IdMapBuilderTest {
@@ -39,4 +46,54 @@ class IdMapBuilderTest {
 
         assertTrue(hugeSparseLongArray.contains(nodeId));
     }
+
+    @Test
+    void convertLabelBitSetRunsToBitmap() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(3);
+        bitSet.set(60, 130);
+        bitSet.set(199);
+
+        var expected = new Roaring64NavigableMap();
+        expected.addLong(3);
+        expected.addRange(60, 130);
+        expected.addLong(199);
+
+        assertArrayEquals(expected.toArray(), IdMapBuilder.toCompressedBitmap(bitSet).toArray());
+        assertTrue(IdMapBuilder.toCompressedBitmap(HugeAtomicBitSet.create(200, AllocationTracker.empty())).isEmpty());
+    }
+
+    @Test
+    void buildRankedNodeMappingForAscendingIds() {
+        var graphIds = HugeLongArray.of(3, 42, 4096, 1_000_000);
+        var mapping = RankedNodeMapping.build(graphIds, 4, 1_000_000, 1, false, AllocationTracker.empty());
+
+        for (long mappedId = 0; mappedId < graphIds.size(); mappedId++) {
+            assertEquals(mappedId, mapping.get(graphIds.get(mappedId)));
+        }
+        assertEquals(-1, mapping.get(43));
+        assertFalse(mapping.contains(43));
+    }
+
+    @Test
+    void buildRankedNodeMappingForUnorderedIds() {
+        var graphIds = HugeLongArray.of(4096, 3, 1_000_000, 42);
+        var mapping = RankedNodeMapping.build(graphIds, 4, 1_000_000, 1, false, AllocationTracker.empty());
+
+        for (long mappedId = 0; mappedId < graphIds.size(); mappedId++) {
+            assertTrue(mapping.contains(graphIds.get(mappedId)));
+            assertEquals(mappedId, mapping.get(graphIds.get(mappedId)));
+        }
+        assertEquals(-1, mapping.get(0));
+    }
+
+    @Test
+    void buildRankedNodeMappingFailsOnDuplicates() {
+        var graphIds = HugeLongArray.of(1, 2, 1);
+        var exception = assertThrows(
+            DuplicateNodeIdException.class,
+            () -> RankedNodeMapping.build(graphIds, 3, 2, 1, true, AllocationTracker.empty())
+        );
+        assertEquals(1, exception.nodeId);
+    }
 }
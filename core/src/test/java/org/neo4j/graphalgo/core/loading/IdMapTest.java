@@ -25,14 +25,25 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IdMapTest {
 
@@ -65,12 +76,91 @@ class IdMapTest {
         dimensions = ImmutableGraphDimensions.builder().nodeCount(100L).highestNeoId(100L)
             .tokenNodeLabelMapping(labelTokenNodeLabelMappings).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(48L + 840L + 32832L + 56L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(48L + 840L + 32832L + 72L, 48L + 840L + 32832L + 264L), memRec.memoryUsage());
 
         labelTokenNodeLabelMappings.put(2, Arrays.asList(NodeLabel.of("A"), NodeLabel.of("B")));
         dimensions = ImmutableGraphDimensions.builder().nodeCount(100L).highestNeoId(100L)
             .tokenNodeLabelMapping(labelTokenNodeLabelMappings).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(48L + 840L + 32832L + 112L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(48L + 840L + 32832L + 144L, 48L + 840L + 32832L + 528L), memRec.memoryUsage());
+    }
+
+    @Test
+    void shouldEstimateLabelBitmapsBetweenSingleRunsAndUncompressedContainers() {
+        // 16 containers, the last one holding 16_960 nodes
+        var memoryRange = IdMap.labelBitmapMemoryEstimation(1_000_000L);
+        assertEquals(MemoryRange.of(128L + 16 * 24L, 128L + 16 * 8208L), memoryRange);
+
+        assertEquals(MemoryRange.empty(), IdMap.labelBitmapMemoryEstimation(0L));
+    }
+
+    @Test
+    void shouldReturnAllLabelsOfNode() {
+        var idMap = idMapWithLabels();
+
+        assertEquals(Set.of(NodeLabel.of("A")), idMap.nodeLabels(0L));
+        assertEquals(Set.of(NodeLabel.of("A"), NodeLabel.of("B")), idMap.nodeLabels(1L));
+        assertEquals(Set.of(NodeLabel.of("B")), idMap.nodeLabels(2L));
+        assertEquals(Set.of(NodeLabel.of("A"), NodeLabel.of("B")), idMap.nodeLabels(3L));
+    }
+
+    @Test
+    void shouldIterateNodesWithAllGivenLabels() {
+        var idMap = idMapWithLabels();
+
+        assertEquals(List.of(0L, 1L, 3L), collect(idMap.nodeIteratorWithLabels(List.of(NodeLabel.of("A")))));
+        assertEquals(List.of(1L, 2L, 3L), collect(idMap.nodeIteratorWithLabels(List.of(NodeLabel.of("B")))));
+        assertEquals(
+            List.of(1L, 3L),
+            collect(idMap.nodeIteratorWithLabels(List.of(NodeLabel.of("A"), NodeLabel.of("B"))))
+        );
+    }
+
+    @Test
+    void shouldIterateNodesWithLabelsOnFilteredIdMap() {
+        var filteredIdMap = idMapWithLabels().withFilteredLabels(List.of(NodeLabel.of("B")), 1);
+
+        assertEquals(3L, filteredIdMap.nodeCount());
+        assertEquals(List.of(0L, 1L, 2L), collect(filteredIdMap.nodeIteratorWithLabels(List.of(NodeLabel.of("B")))));
+        assertTrue(filteredIdMap.hasLabel(1L, NodeLabel.of("B")));
+        assertFalse(filteredIdMap.hasLabel(1L, NodeLabel.of("A")));
+    }
+
+    @Test
+    void shouldFailOnUnknownLabel() {
+        var idMap = idMapWithLabels();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> idMap.nodeIteratorWithLabels(List.of(NodeLabel.of("C")))
+        );
+    }
+
+    private static IdMap idMapWithLabels() {
+        var tracker = AllocationTracker.empty();
+        var graphIds = HugeLongArray.of(10L, 11L, 12L, 13L);
+        var nodeToGraphIds = HugeSparseLongArray.Builder.create(14L, tracker);
+        for (long nodeId = 0; nodeId < graphIds.size(); nodeId++) {
+            nodeToGraphIds.set(graphIds.get(nodeId), nodeId);
+        }
+
+        var labelA = Roaring64NavigableMap.bitmapOf(0L, 1L, 3L);
+        var labelB = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L);
+
+        return new IdMap(
+            graphIds,
+            nodeToGraphIds.build(),
+            Map.of(NodeLabel.of("A"), labelA, NodeLabel.of("B"), labelB),
+            graphIds.size(),
+            tracker
+        );
+    }
+
+    private static List<Long> collect(PrimitiveLongIterator iterator) {
+        var result = new ArrayList<Long>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
     }
 }
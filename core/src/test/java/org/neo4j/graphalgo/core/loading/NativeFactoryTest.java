@@ -31,6 +31,9 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PIPELINED_PROJECTION;
 
 class NativeFactoryTest {
 
@@ -73,4 +76,38 @@ class NativeFactoryTest {
         assertEquals(3_205_950_332L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
         assertEquals(6_011_568_240L, estimate.memoryUsage().max);
     }
+
+    @Test
+    void memoryEstimationWithPipelinedProjection() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+
+        RelationshipProjections relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.ALL
+        );
+
+        long withoutPrefetch = NativeFactory
+            .getMemoryEstimation(NodeProjections.all(), relationshipProjections)
+            .estimate(dimensions, 1)
+            .memoryUsage().min;
+
+        USE_PIPELINED_PROJECTION.enableAndRun(() -> {
+            long withPrefetch = NativeFactory
+                .getMemoryEstimation(NodeProjections.all(), relationshipProjections)
+                .estimate(dimensions, 1)
+                .memoryUsage().min;
+
+            // a bounded number of chunks per thread, independent of the relationship count
+            long prefetchBuffers = (PrefetchingRelationshipScanner.BUFFERED_CHUNKS_PER_THREAD + 2) * sizeOfLongArray(
+                (long) PrefetchingRelationshipScanner.ENTRY_SIZE * PrefetchingRelationshipScanner.ESTIMATED_RECORDS_PER_CHUNK
+            );
+            assertEquals(
+                withoutPrefetch + prefetchBuffers + sizeOfInstance(PrefetchingRelationshipScanner.class),
+                withPrefetch
+            );
+        });
+    }
 }
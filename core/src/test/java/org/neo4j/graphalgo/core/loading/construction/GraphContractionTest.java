@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading.construction;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class GraphContractionTest {
+
+    @Test
+    void contractsDirectedGraph() {
+        TestGraph graph = fromGdl(
+            "  (a)-[{w: 1.0}]->(b)" +
+            ", (b)-[{w: 2.0}]->(c)" +
+            ", (c)-[{w: 3.0}]->(d)" +
+            ", (a)-[{w: 4.0}]->(c)" +
+            ", (d)-[{w: 5.0}]->(a)" +
+            ", (e)"
+        );
+
+        long[] communities = new long[(int) graph.nodeCount()];
+        communities[(int) graph.toMappedNodeId("a")] = 0;
+        communities[(int) graph.toMappedNodeId("b")] = 0;
+        communities[(int) graph.toMappedNodeId("c")] = 42;
+        communities[(int) graph.toMappedNodeId("d")] = 42;
+        communities[(int) graph.toMappedNodeId("e")] = 1337;
+
+        Graph contracted = contract(graph, communities, Orientation.NATURAL, 4);
+
+        assertGraphEquals(
+            fromGdl(
+                "  (x)-[{w: 1.0}]->(x)" +
+                ", (x)-[{w: 6.0}]->(y)" +
+                ", (y)-[{w: 3.0}]->(y)" +
+                ", (y)-[{w: 5.0}]->(x)" +
+                ", (z)"
+            ),
+            contracted
+        );
+        assertEquals(4L, contracted.relationshipCount());
+    }
+
+    @Test
+    void contractsUndirectedGraph() {
+        TestGraph graph = fromGdl(
+            "  (a)-[{w: 1.0}]->(b)" +
+            ", (b)-[{w: 2.0}]->(c)" +
+            ", (c)-[{w: 3.0}]->(d)" +
+            ", (d)-[{w: 4.0}]->(a)",
+            Orientation.UNDIRECTED
+        );
+
+        long[] communities = new long[(int) graph.nodeCount()];
+        communities[(int) graph.toMappedNodeId("a")] = 0;
+        communities[(int) graph.toMappedNodeId("b")] = 1;
+        communities[(int) graph.toMappedNodeId("c")] = 0;
+        communities[(int) graph.toMappedNodeId("d")] = 1;
+
+        Graph contracted = contract(graph, communities, Orientation.UNDIRECTED, 1);
+
+        assertGraphEquals(fromGdl("(x)-[{w: 10.0}]->(y)", Orientation.UNDIRECTED), contracted);
+    }
+
+    private static Graph contract(Graph graph, long[] communities, Orientation orientation, int concurrency) {
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(2000)
+            .build();
+        for (long community : communities) {
+            nodesBuilder.addNode(community);
+        }
+        IdMap idMap = nodesBuilder.build();
+
+        return GraphContraction.contract(
+            graph,
+            idMap,
+            nodeId -> communities[(int) nodeId],
+            orientation,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+    }
+}
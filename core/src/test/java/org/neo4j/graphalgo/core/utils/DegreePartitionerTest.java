@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.partition.DegreePartitioner;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class DegreePartitionerTest {
+
+    @Test
+    void shouldBalanceRelationships() {
+        // two hubs at the start, followed by their leaves
+        var gdl = new StringBuilder("(hub1), (hub2)");
+        for (int i = 0; i < 100; i++) {
+            gdl.append(", (hub1)-->(a").append(i).append(")");
+            gdl.append(", (hub2)-->(b").append(i).append(")");
+        }
+        Graph graph = fromGdl(gdl.toString());
+
+        List<Partition> partitions = DegreePartitioner.degreePartitions(graph, 1, 1L, 1L, Pools.DEFAULT);
+
+        assertCoversAllNodes(graph, partitions);
+        assertEquals(DegreePartitioner.PARTITIONS_PER_THREAD, partitions.size());
+        // each hub carries half of the relationships and ends up in a partition of its own
+        assertEquals(Partition.of(0, 1), partitions.get(0));
+        assertEquals(Partition.of(1, 1), partitions.get(1));
+    }
+
+    @Test
+    void shouldRespectMinPartitionWeight() {
+        Graph graph = fromGdl("(a)-->(b), (b)-->(c), (c)-->(d), (d)-->(a)");
+
+        List<Partition> partitions = DegreePartitioner.degreePartitions(graph, 4, 4L, 1L, Pools.DEFAULT);
+
+        assertCoversAllNodes(graph, partitions);
+        assertEquals(List.of(Partition.of(0, 2), Partition.of(2, 2)), partitions);
+    }
+
+    @Test
+    void shouldAlignPartitions() {
+        var gdl = new StringBuilder("(n0)");
+        for (int i = 1; i < 200; i++) {
+            gdl.append(", (n").append(i - 1).append(")-->(n").append(i).append(")");
+        }
+        Graph graph = fromGdl(gdl.toString());
+
+        List<Partition> partitions = DegreePartitioner.degreePartitions(graph, 2, 1L, 64L, Pools.DEFAULT);
+
+        assertCoversAllNodes(graph, partitions);
+        for (int i = 0; i < partitions.size() - 1; i++) {
+            assertEquals(0, partitions.get(i).nodeCount() % 64);
+        }
+    }
+
+    @Test
+    void shouldSplitAcrossChunks() {
+        var gdl = new StringBuilder("(n0)");
+        for (int i = 1; i < 200; i++) {
+            gdl.append(", (n").append(i - 1).append(")-->(n").append(i).append(")");
+        }
+        Graph graph = fromGdl(gdl.toString());
+
+        // the weight of 399 is split into 16 partitions of a target weight of 25 over four chunks of 50 nodes
+        List<Partition> partitions = DegreePartitioner.degreePartitions(graph, 4, 1L, 1L, Pools.DEFAULT);
+
+        assertCoversAllNodes(graph, partitions);
+        assertEquals(
+            List.of(0L, 13L, 25L, 38L, 50L, 63L, 75L, 88L, 100L, 113L, 125L, 138L, 150L, 163L, 175L, 188L),
+            partitions.stream().map(Partition::startNode).collect(Collectors.toList())
+        );
+    }
+
+    private static void assertCoversAllNodes(Graph graph, List<Partition> partitions) {
+        long expectedStart = 0L;
+        for (Partition partition : partitions) {
+            assertEquals(expectedStart, partition.startNode());
+            assertTrue(partition.nodeCount() > 0);
+            expectedStart += partition.nodeCount();
+        }
+        assertEquals(graph.nodeCount(), expectedStart);
+    }
+}
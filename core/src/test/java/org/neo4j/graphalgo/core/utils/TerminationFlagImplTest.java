@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.exceptions.Status;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.graphalgo.TestSupport.assertTransactionTermination;
+
+class TerminationFlagImplTest {
+
+    @Test
+    void shouldNoticeTerminatedTransaction() throws InterruptedException {
+        KernelTransaction transaction = mock(KernelTransaction.class);
+        when(transaction.isOpen()).thenReturn(true);
+        when(transaction.getReasonIfTerminated()).thenReturn(Optional.empty());
+
+        var terminationFlag = TerminationFlag.wrap(transaction, 10);
+        assertTrue(terminationFlag.running());
+
+        when(transaction.getReasonIfTerminated()).thenReturn(Optional.of(Status.Transaction.Terminated));
+        awaitTermination(terminationFlag);
+
+        assertFalse(terminationFlag.running());
+        assertTransactionTermination(terminationFlag::assertRunning);
+    }
+
+    @Test
+    void shouldNoticeClosedTransaction() throws InterruptedException {
+        KernelTransaction transaction = mock(KernelTransaction.class);
+        when(transaction.isOpen()).thenReturn(false);
+        when(transaction.getReasonIfTerminated()).thenReturn(Optional.empty());
+
+        var terminationFlag = TerminationFlag.wrap(transaction, 10);
+        awaitTermination(terminationFlag);
+
+        assertFalse(terminationFlag.running());
+    }
+
+    @Test
+    void shouldNoticeAlreadyTerminatedTransactionImmediately() {
+        KernelTransaction transaction = mock(KernelTransaction.class);
+        when(transaction.isOpen()).thenReturn(true);
+        when(transaction.getReasonIfTerminated()).thenReturn(Optional.of(Status.Transaction.Terminated));
+
+        var terminationFlag = TerminationFlag.wrap(transaction, TimeUnit.HOURS.toMillis(1));
+
+        assertFalse(terminationFlag.running());
+        assertTransactionTermination(terminationFlag::assertRunning);
+    }
+
+    private static void awaitTermination(TerminationFlag terminationFlag) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (terminationFlag.running() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
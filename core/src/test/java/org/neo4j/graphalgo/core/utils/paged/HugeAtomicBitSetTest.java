@@ -24,11 +24,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -50,6 +55,14 @@ class HugeAtomicBitSetTest {
         assertFalse(bitSet.get(9));
     }
 
+    @Test
+    void releaseReturnsTrackedBytes() {
+        var tracker = AllocationTracker.create();
+        var bitSet = HugeAtomicBitSet.create(4242, tracker);
+
+        assertEquals(tracker.trackedBytes(), bitSet.release());
+    }
+
     @Test
     void getAndSetReturnsTrueIfTheBitWasSet() {
         var bitSet = HugeAtomicBitSet.create(1, AllocationTracker.empty());
@@ -76,8 +89,8 @@ class HugeAtomicBitSetTest {
     void setRange(int startIndex, int endIndex) {
         var bitSet = HugeAtomicBitSet.create(1337, AllocationTracker.empty());
         bitSet.set(startIndex, endIndex);
-        for (int i = 0; i < bitSet.capacity(); i++) {
-            if (i < Math.abs(startIndex) || i > Math.abs(endIndex)) {
+        for (int i = 0; i < bitSet.size(); i++) {
+            if (i < startIndex || i >= endIndex) {
                 assertFalse(bitSet.get(i), formatWithLocale("index %d expected to be false", i));
             } else {
                 assertTrue(bitSet.get(i), formatWithLocale("index %d expected to be true", i));
@@ -181,6 +194,19 @@ class HugeAtomicBitSetTest {
         bitSet.set(43);
     }
 
+    @Test
+    void testForEachSetBit() {
+        var atomicBitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        atomicBitSet.set(0);
+        atomicBitSet.set(63);
+        atomicBitSet.set(64);
+        atomicBitSet.set(199);
+
+        var setBits = new ArrayList<Long>();
+        atomicBitSet.forEachSetBit(setBits::add);
+        assertEquals(List.of(0L, 63L, 64L, 199L), setBits);
+    }
+
     @Test
     void testIsEmpty() {
         var atomicBitSet = HugeAtomicBitSet.create(42, AllocationTracker.empty());
@@ -190,4 +216,116 @@ class HugeAtomicBitSetTest {
         atomicBitSet.flip(23);
         assertTrue(atomicBitSet.isEmpty());
     }
+
+    @Test
+    void testNextSetBit() {
+        var atomicBitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        atomicBitSet.set(3);
+        atomicBitSet.set(64);
+        atomicBitSet.set(199);
+
+        assertEquals(3, atomicBitSet.nextSetBit(0));
+        assertEquals(3, atomicBitSet.nextSetBit(3));
+        assertEquals(64, atomicBitSet.nextSetBit(4));
+        assertEquals(199, atomicBitSet.nextSetBit(65));
+        assertEquals(-1, atomicBitSet.nextSetBit(65, 199));
+        assertEquals(-1, atomicBitSet.nextSetBit(4, 64));
+        assertEquals(64, atomicBitSet.nextSetBit(4, 65));
+        assertEquals(-1, atomicBitSet.nextSetBit(200));
+    }
+
+    @Test
+    void testNextClearBit() {
+        var atomicBitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        atomicBitSet.set(0, 130);
+        atomicBitSet.set(131, 200);
+
+        assertEquals(130, atomicBitSet.nextClearBit(0));
+        assertEquals(130, atomicBitSet.nextClearBit(130));
+        assertEquals(-1, atomicBitSet.nextClearBit(131));
+        assertEquals(-1, atomicBitSet.nextClearBit(0, 130));
+        assertEquals(130, atomicBitSet.nextClearBit(64, 131));
+    }
+
+    @Test
+    void testParallelCardinality() {
+        var atomicBitSet = HugeAtomicBitSet.create(100_000, AllocationTracker.empty());
+        for (long i = 0; i < 100_000; i += 3) {
+            atomicBitSet.set(i);
+        }
+        assertEquals(atomicBitSet.cardinality(), atomicBitSet.cardinality(4));
+        assertEquals(33_334, atomicBitSet.cardinality(4));
+    }
+
+    @Test
+    void testBulkOperations() {
+        var left = HugeAtomicBitSet.create(130, AllocationTracker.empty());
+        var right = HugeAtomicBitSet.create(130, AllocationTracker.empty());
+        left.set(1);
+        left.set(64);
+        right.set(64);
+        right.set(129);
+
+        var or = copyOf(left);
+        or.or(right);
+        assertEquals(List.of(1L, 64L, 129L), setBits(or));
+
+        var and = copyOf(left);
+        and.and(right);
+        assertEquals(List.of(64L), setBits(and));
+
+        var xor = copyOf(left);
+        xor.xor(right);
+        assertEquals(List.of(1L, 129L), setBits(xor));
+
+        var andNot = copyOf(left);
+        andNot.andNot(right);
+        assertEquals(List.of(1L), setBits(andNot));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> left.or(HugeAtomicBitSet.create(131, AllocationTracker.empty()))
+        );
+    }
+
+    @Test
+    void testSpliterator() {
+        var atomicBitSet = HugeAtomicBitSet.create(100_000, AllocationTracker.empty());
+        var expected = new ArrayList<Long>();
+        for (long i = 0; i < 100_000; i += 7) {
+            atomicBitSet.set(i);
+            expected.add(i);
+        }
+
+        var sequential = StreamSupport
+            .longStream(atomicBitSet.spliterator(), false)
+            .boxed()
+            .collect(Collectors.toList());
+        assertEquals(expected, sequential);
+
+        var parallel = StreamSupport
+            .longStream(atomicBitSet.spliterator(), true)
+            .boxed()
+            .collect(Collectors.toList());
+        assertEquals(expected, parallel);
+
+        var iterated = new ArrayList<Long>();
+        var spliterator = atomicBitSet.spliterator();
+        while (spliterator.tryAdvance((long index) -> iterated.add(index))) {
+            // consume
+        }
+        assertEquals(expected, iterated);
+    }
+
+    private static HugeAtomicBitSet copyOf(HugeAtomicBitSet bitSet) {
+        var copy = HugeAtomicBitSet.create(bitSet.size(), AllocationTracker.empty());
+        bitSet.forEachSetBit(copy::set);
+        return copy;
+    }
+
+    private static List<Long> setBits(HugeAtomicBitSet bitSet) {
+        var setBits = new ArrayList<Long>();
+        bitSet.forEachSetBit(setBits::add);
+        return setBits;
+    }
 }
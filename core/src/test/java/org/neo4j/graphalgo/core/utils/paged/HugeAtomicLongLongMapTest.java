@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import com.carrotsearch.hppc.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HugeAtomicLongLongMapTest {
+
+    @Test
+    void shouldAddToValues() {
+        var map = new HugeAtomicLongLongMap(10, AllocationTracker.empty());
+        assertEquals(1L, map.addTo(0L, 1L));
+        assertEquals(42L, map.addTo(1337L, 42L));
+        assertEquals(43L, map.addTo(1337L, 1L));
+
+        assertEquals(2L, map.size());
+        assertEquals(1L, map.getOrDefault(0L, -1L));
+        assertEquals(43L, map.getOrDefault(1337L, -1L));
+        assertEquals(-1L, map.getOrDefault(42L, -1L));
+        assertTrue(map.containsKey(1337L));
+        assertFalse(map.containsKey(42L));
+    }
+
+    @Test
+    void shouldPutIfAbsent() {
+        var map = new HugeAtomicLongLongMap(10, AllocationTracker.empty());
+        assertTrue(map.putIfAbsent(42L, 1337L));
+        assertFalse(map.putIfAbsent(42L, 0L));
+        assertEquals(1337L, map.getOrDefault(42L, -1L));
+        assertEquals(1L, map.size());
+    }
+
+    @Test
+    void shouldVisitAllEntries() {
+        var map = new HugeAtomicLongLongMap(100, AllocationTracker.empty());
+        var expected = new LongLongHashMap();
+        for (long key = 0; key < 100; key++) {
+            map.addTo(key * 7, key);
+            expected.put(key * 7, key);
+        }
+
+        var actual = new LongLongHashMap();
+        long half = map.capacity() / 2;
+        map.forEach(0L, half, actual::put);
+        map.forEach(half, map.capacity(), actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldFailWhenFull() {
+        var map = new HugeAtomicLongLongMap(3, AllocationTracker.empty());
+        for (long key = 0; key < map.capacity(); key++) {
+            map.addTo(key, 1L);
+        }
+        var exception = assertThrows(IllegalStateException.class, () -> map.addTo(map.capacity(), 1L));
+        assertTrue(exception.getMessage().contains("The map is full"));
+    }
+
+    @Test
+    void shouldAddConcurrently() {
+        int concurrency = 4;
+        long keys = 10_000L;
+        long rounds = 50L;
+        var map = new HugeAtomicLongLongMap(keys, AllocationTracker.empty());
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(() -> {
+                for (long round = 0; round < rounds; round++) {
+                    for (long key = 0; key < keys; key++) {
+                        map.addTo(key, key);
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        assertEquals(keys, map.size());
+        for (long key = 0; key < keys; key++) {
+            assertEquals(concurrency * rounds * key, map.getOrDefault(key, -1L));
+        }
+    }
+
+    @Test
+    void shouldTrackMemory() {
+        var tracker = AllocationTracker.create();
+        var map = new HugeAtomicLongLongMap(1000, tracker);
+        assertEquals(map.sizeOf(), tracker.trackedBytes());
+        assertTrue(HugeAtomicLongLongMap.memoryEstimation(1000) >= map.sizeOf());
+        map.release();
+        assertEquals(0L, tracker.trackedBytes());
+    }
+}
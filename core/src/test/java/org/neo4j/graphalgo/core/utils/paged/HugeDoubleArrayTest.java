@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
 import static io.qala.datagen.RandomShortApi.integer;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 final class HugeDoubleArrayTest extends HugeArrayTestBase<double[], Double, HugeDoubleArray> {
@@ -40,6 +41,24 @@ final class HugeDoubleArrayTest extends HugeArrayTestBase<double[], Double, Huge
         });
     }
 
+    @Test
+    void shouldStoreValuesOffHeap() {
+        int size = HugeArrays.PAGE_SIZE + 42;
+        var array = HugeDoubleArray.newOffHeapArray(size, AllocationTracker.empty());
+        array.fill(0.5);
+        array.addTo(size - 1, 1.0);
+        array.set(HugeArrays.PAGE_SIZE, 4.2);
+
+        assertEquals(0.5, array.get(0));
+        assertEquals(4.2, array.get(HugeArrays.PAGE_SIZE));
+        assertEquals(1.5, array.get(size - 1));
+        assertEquals(0.5 * (size - 2) + 4.2 + 1.5, array.stream().sum(), 1e-6);
+
+        var copy = HugeDoubleArray.newSingleArray(size, AllocationTracker.empty());
+        array.copyTo(copy, size);
+        assertArrayEquals(copy.toArray(), array.toArray());
+    }
+
     @Override
     HugeDoubleArray singleArray(final int size) {
         return HugeDoubleArray.newSingleArray(size, AllocationTracker.empty());
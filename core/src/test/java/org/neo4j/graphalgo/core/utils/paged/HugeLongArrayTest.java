@@ -23,9 +23,14 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
+import java.util.Arrays;
+
 import static io.qala.datagen.RandomShortApi.integer;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_OFF_HEAP_ARRAYS;
 
 final class HugeLongArrayTest extends HugeArrayTestBase<long[], Long, HugeLongArray> {
 
@@ -107,6 +112,81 @@ final class HugeLongArrayTest extends HugeArrayTestBase<long[], Long, HugeLongAr
         assertEquals(-1, array.binarySearch(-10));
     }
 
+    @Test
+    void shouldStoreValuesOffHeap() {
+        var tracker = AllocationTracker.create();
+        int size = HugeArrays.PAGE_SIZE * 2 + 42;
+        var array = HugeLongArray.newOffHeapArray(size, tracker);
+        assertEquals(size, array.size());
+        assertTrue(tracker.trackedBytes() >= (long) size * Long.BYTES);
+        assertEquals(tracker.trackedBytes(), array.sizeOf());
+
+        array.setAll(i -> i * 2);
+        array.addTo(HugeArrays.PAGE_SIZE, 1);
+        assertEquals(0L, array.get(0));
+        assertEquals(HugeArrays.PAGE_SIZE * 2L + 1L, array.get(HugeArrays.PAGE_SIZE));
+        assertEquals(size * 2L - 2L, array.get(size - 1));
+        assertEquals(HugeArrays.PAGE_SIZE + 1L, array.binarySearch(HugeArrays.PAGE_SIZE * 2L + 3L));
+
+        var copy = array.copyOf(size + 10L, AllocationTracker.empty());
+        assertEquals(array.get(size - 1), copy.get(size - 1));
+        assertEquals(0L, copy.get(size + 9L));
+
+        assertEquals(array.sizeOf(), array.release());
+        assertEquals(0L, array.release());
+    }
+
+    @Test
+    void shouldWriteThroughCursorOfOffHeapArray() {
+        int size = HugeArrays.PAGE_SIZE + 10;
+        var array = HugeLongArray.newOffHeapArray(size, AllocationTracker.empty());
+        long[] values = new long[20];
+        Arrays.setAll(values, i -> i + 1);
+
+        array.copyFromArrayIntoSlice(values, HugeArrays.PAGE_SIZE - 10, HugeArrays.PAGE_SIZE + 10);
+
+        assertEquals(0L, array.get(HugeArrays.PAGE_SIZE - 11));
+        assertEquals(1L, array.get(HugeArrays.PAGE_SIZE - 10));
+        assertEquals(20L, array.get(HugeArrays.PAGE_SIZE + 9));
+        long[] dumped = array.toArray();
+        assertArrayEquals(values, Arrays.copyOfRange(dumped, HugeArrays.PAGE_SIZE - 10, HugeArrays.PAGE_SIZE + 10));
+    }
+
+    @Test
+    void shouldNotWriteBackThroughReadCursorOfOffHeapArray() {
+        var array = HugeLongArray.newOffHeapArray(10, AllocationTracker.empty());
+        array.fill(1L);
+
+        try (var cursor = array.initCursor(array.newCursor())) {
+            assertTrue(cursor.next());
+            array.set(3, 42L);
+        }
+
+        assertEquals(42L, array.get(3));
+    }
+
+    @Test
+    void shouldKeepPagesReadableForCursorsAfterRelease() {
+        var array = HugeLongArray.newOffHeapArray(10, AllocationTracker.empty());
+        array.fill(7L);
+
+        try (var cursor = array.initCursor(array.newCursor())) {
+            array.release();
+            assertTrue(cursor.next());
+            assertEquals(7L, cursor.array[9]);
+        }
+    }
+
+    @Test
+    void shouldAllocateOffHeapWhenEnabled() {
+        USE_OFF_HEAP_ARRAYS.enableAndRun(() -> {
+            var array = HugeLongArray.newArray(10, AllocationTracker.empty());
+            assertEquals("OffHeapHugeLongArray", array.getClass().getSimpleName());
+        });
+        var array = HugeLongArray.newArray(10, AllocationTracker.empty());
+        assertEquals("SingleHugeLongArray", array.getClass().getSimpleName());
+    }
+
     @Override
     HugeLongArray singleArray(final int size) {
         return HugeLongArray.newSingleArray(size, AllocationTracker.empty());
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HugeRankedBitSetTest {
+
+    @Test
+    void shouldComputeRanks() {
+        var builder = HugeRankedBitSet.Builder.create(1000, AllocationTracker.empty());
+        builder.set(0);
+        builder.set(63);
+        builder.set(64);
+        builder.set(511);
+        builder.set(512);
+        builder.set(999);
+        var bitSet = builder.build();
+
+        assertEquals(6, bitSet.cardinality());
+        assertEquals(0, bitSet.rank(0));
+        assertEquals(1, bitSet.rank(63));
+        assertEquals(2, bitSet.rank(64));
+        assertEquals(3, bitSet.rank(100));
+        assertEquals(3, bitSet.rank(511));
+        assertEquals(4, bitSet.rank(512));
+        assertEquals(5, bitSet.rank(999));
+        assertEquals(6, bitSet.rank(1_000_000));
+
+        assertEquals(3, bitSet.rankIfSet(511));
+        assertEquals(-1, bitSet.rankIfSet(510));
+        assertTrue(bitSet.contains(999));
+        assertFalse(bitSet.contains(998));
+    }
+
+    @Test
+    void shouldSkipEmptyPages() {
+        long size = 1L << 24;
+        var builder = HugeRankedBitSet.Builder.create(size, AllocationTracker.empty());
+        builder.set(42);
+        builder.set(size - 1);
+        var bitSet = builder.build();
+
+        assertEquals(1, bitSet.rank(size / 2));
+        assertEquals(1, bitSet.rankIfSet(size - 1));
+        assertFalse(bitSet.contains(size / 2));
+    }
+
+    @Test
+    void shouldReturnPreviousValueOnGetAndSet() {
+        var builder = HugeRankedBitSet.Builder.create(10, AllocationTracker.empty());
+        assertFalse(builder.getAndSet(7));
+        assertTrue(builder.getAndSet(7));
+    }
+
+    @Test
+    void shouldMatchNaiveRanks() {
+        var random = new Random(42);
+        long size = 300_000;
+        var builder = HugeRankedBitSet.Builder.create(size, AllocationTracker.empty());
+        var expected = new BitSet((int) size);
+        for (int i = 0; i < 10_000; i++) {
+            int index = random.nextInt((int) size);
+            builder.set(index);
+            expected.set(index);
+        }
+        var bitSet = builder.build();
+
+        long rank = 0;
+        for (int index = 0; index < size; index++) {
+            assertEquals(rank, bitSet.rank(index));
+            assertEquals(expected.get(index), bitSet.contains(index));
+            if (expected.get(index)) {
+                assertEquals(rank, bitSet.rankIfSet(index));
+                rank++;
+            }
+        }
+        assertEquals(expected.cardinality(), bitSet.cardinality());
+    }
+
+    @Test
+    void shouldEstimateMemory() {
+        var dense = HugeRankedBitSet.memoryEstimation(1L << 20, 1L << 20);
+        assertEquals(dense.min, dense.max);
+
+        var sparse = HugeRankedBitSet.memoryEstimation(100_000_000_000L, 1L);
+        assertTrue(sparse.max < HugeSparseLongArray.memoryEstimation(100_000_000_000L, 1L).max);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PAGE_POOL;
+
+class PagePoolTest {
+
+    @Test
+    void shouldRecycleZeroedPages() {
+        var pool = new PagePool(Long.MAX_VALUE);
+        USE_PAGE_POOL.enableAndRun(() -> {
+            long[] page = pool.newPage(long[].class, 42);
+            page[13] = 37L;
+            pool.recycle(() -> pool.release(page));
+            assertEquals(MemoryUsage.sizeOfLongArray(42), pool.pooledBytes());
+            assertEquals(pool.pooledBytes(), pool.tracker().trackedBytes());
+
+            long[] recycled = pool.newPage(long[].class, 42);
+            assertSame(page, recycled);
+            assertArrayEquals(new long[42], recycled);
+            assertEquals(0L, pool.pooledBytes());
+            assertEquals(0L, pool.tracker().trackedBytes());
+
+            pool.recycle(() -> pool.release(recycled));
+            assertNotSame(recycled, pool.newPage(long[].class, 41));
+            assertNotSame(recycled, pool.newPage(double[].class, 42));
+        });
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxPooledBytes() {
+        var pool = new PagePool(MemoryUsage.sizeOfDoubleArray(100));
+        USE_PAGE_POOL.enableAndRun(() -> {
+            pool.recycle(() -> pool.releaseAll(new double[][]{new double[100], new double[100]}));
+            assertEquals(MemoryUsage.sizeOfDoubleArray(100), pool.pooledBytes());
+
+            pool.setMaxPooledBytes(0L);
+            assertEquals(0L, pool.pooledBytes());
+            assertEquals(0L, pool.tracker().trackedBytes());
+        });
+    }
+
+    @Test
+    void shouldNotPoolWhenDisabled() {
+        var pool = new PagePool(Long.MAX_VALUE);
+        long[] page = pool.newPage(long[].class, 42);
+        pool.recycle(() -> pool.release(page));
+        assertEquals(0L, pool.pooledBytes());
+        assertNotSame(page, pool.newPage(long[].class, 42));
+    }
+
+    @Test
+    void shouldOnlyPoolPagesReleasedWithinRecycle() {
+        var pool = new PagePool(Long.MAX_VALUE);
+        USE_PAGE_POOL.enableAndRun(() -> {
+            long[] page = pool.newPage(long[].class, 42);
+            pool.release(page);
+            pool.releaseAll(new long[][]{page});
+            assertEquals(0L, pool.pooledBytes());
+            assertNotSame(page, pool.newPage(long[].class, 42));
+        });
+    }
+
+    @Test
+    void shouldRecyclePagesOfReleasedHugeArrays() {
+        USE_PAGE_POOL.enableAndRun(() -> {
+            var pool = PagePool.instance();
+            pool.clear();
+            int size = HugeArrays.PAGE_SIZE * 2 + 1;
+
+            var array = HugeLongArray.newPagedArray(size, AllocationTracker.empty());
+            array.fill(42L);
+            pool.recycle(array::release);
+            assertEquals(2 * MemoryUsage.sizeOfLongArray(HugeArrays.PAGE_SIZE) + MemoryUsage.sizeOfLongArray(1), pool.pooledBytes());
+
+            var recycled = HugeLongArray.newPagedArray(size, AllocationTracker.empty());
+            assertEquals(0L, pool.pooledBytes());
+            assertEquals(0L, recycled.get(0));
+            assertEquals(0L, recycled.get(size - 1));
+
+            pool.recycle(HugeLongArray.of(1L, 2L, 3L)::release);
+            assertEquals(0L, pool.pooledBytes());
+        });
+        PagePool.instance().clear();
+    }
+
+    @Test
+    void shouldFailFastWhenAccessingArraysReleasedOutsideOfRecycle() {
+        USE_PAGE_POOL.enableAndRun(() -> {
+            var pool = PagePool.instance();
+            pool.clear();
+
+            var array = HugeLongArray.newPagedArray(HugeArrays.PAGE_SIZE + 1, AllocationTracker.empty());
+            array.release();
+            assertEquals(0L, pool.pooledBytes());
+            assertThrows(NullPointerException.class, () -> array.get(0));
+        });
+        PagePool.instance().clear();
+    }
+}
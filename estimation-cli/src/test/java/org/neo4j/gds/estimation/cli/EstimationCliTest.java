@@ -35,6 +35,10 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringMutateProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStatsProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionMutateProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStatsProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStreamProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
@@ -47,6 +51,7 @@ import org.neo4j.graphalgo.labelpropagation.LabelPropagationMutateProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationStatsProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationStreamProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationWriteProc;
+import org.neo4j.graphalgo.leiden.LeidenStreamProc;
 import org.neo4j.graphalgo.louvain.LouvainMutateProc;
 import org.neo4j.graphalgo.louvain.LouvainStatsProc;
 import org.neo4j.graphalgo.louvain.LouvainStreamProc;
@@ -132,11 +137,18 @@ final class EstimationCliTest {
         "gds.beta.k1coloring.stream.estimate",
         "gds.beta.k1coloring.write.estimate",
 
+        "gds.beta.kcore.mutate.estimate",
+        "gds.beta.kcore.stats.estimate",
+        "gds.beta.kcore.stream.estimate",
+        "gds.beta.kcore.write.estimate",
+
         "gds.beta.knn.mutate.estimate",
         "gds.beta.knn.stats.estimate",
         "gds.beta.knn.stream.estimate",
         "gds.beta.knn.write.estimate",
 
+        "gds.beta.leiden.stream.estimate",
+
         "gds.beta.modularityOptimization.mutate.estimate",
         "gds.beta.modularityOptimization.stream.estimate",
         "gds.beta.modularityOptimization.write.estimate",
@@ -386,6 +398,11 @@ final class EstimationCliTest {
             runEstimation(new K1ColoringStreamProc()::estimate),
             runEstimation(new K1ColoringWriteProc()::estimate, "writeProperty", "foo"),
 
+            runEstimation(new KCoreDecompositionMutateProc()::estimate, "mutateProperty", "foo"),
+            runEstimation(new KCoreDecompositionStatsProc()::estimate),
+            runEstimation(new KCoreDecompositionStreamProc()::estimate),
+            runEstimation(new KCoreDecompositionWriteProc()::estimate, "writeProperty", "foo"),
+
             runEstimation(
                 new KnnMutateProc()::estimateMutate,
                 "nodeWeightProperty",
@@ -415,6 +432,8 @@ final class EstimationCliTest {
                 "bar"
             ),
 
+            runEstimation(new LeidenStreamProc()::estimate),
+
             runEstimation(new ModularityOptimizationMutateProc()::mutateEstimate, "mutateProperty", "foo"),
             runEstimation(new ModularityOptimizationStreamProc()::estimate),
             runEstimation(new ModularityOptimizationWriteProc()::estimate, "writeProperty", "foo"),
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.kcore.KCoreDecompositionCompanion.DESCRIPTION;
+import static org.neo4j.graphalgo.config.GraphCreateConfigValidations.validateIsUndirectedGraph;
+import static org.neo4j.procedure.Mode.READ;
+
+public class KCoreDecompositionMutateProc extends MutatePropertyProc<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionMutateProc.MutateResult, KCoreDecompositionMutateConfig> {
+
+    @Procedure(value = "gds.beta.kcore.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return mutate(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.kcore.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, KCoreDecompositionMutateConfig config) {
+        validateIsUndirectedGraph(graphCreateConfig, config);
+    }
+
+    @Override
+    protected KCoreDecompositionMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return KCoreDecompositionMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<KCoreDecomposition, KCoreDecompositionMutateConfig> algorithmFactory() {
+        return new KCoreDecompositionFactory<>();
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionMutateConfig> computationResult) {
+        return KCoreDecompositionCompanion.nodeProperties(computationResult);
+    }
+
+    @Override
+    protected AbstractResultBuilder<MutateResult> resultBuilder(ComputationResult<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionMutateConfig> computeResult) {
+        return KCoreDecompositionCompanion.resultBuilder(new KCoreDecompositionMutateBuilder(), computeResult);
+    }
+
+    public static class MutateResult extends KCoreDecompositionStatsProc.StatsResult {
+
+        public final long mutateMillis;
+        public final long nodePropertiesWritten;
+
+        MutateResult(
+            long degeneracy,
+            long nodeCount,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            long nodePropertiesWritten,
+            Map<String, Object> configuration
+        ) {
+            super(
+                degeneracy,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                configuration
+            );
+            this.mutateMillis = mutateMillis;
+            this.nodePropertiesWritten = nodePropertiesWritten;
+        }
+    }
+
+    static class KCoreDecompositionMutateBuilder extends KCoreDecompositionCompanion.KCoreDecompositionResultBuilder<MutateResult> {
+
+        @Override
+        public MutateResult build() {
+            return new MutateResult(
+                degeneracy,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                mutateMillis,
+                nodePropertiesWritten,
+                config.toMap()
+            );
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.graphalgo.results.StandardStatsResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.kcore.KCoreDecompositionCompanion.DESCRIPTION;
+import static org.neo4j.graphalgo.config.GraphCreateConfigValidations.validateIsUndirectedGraph;
+import static org.neo4j.procedure.Mode.READ;
+
+public class KCoreDecompositionStatsProc extends StatsProc<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionStatsProc.StatsResult, KCoreDecompositionStatsConfig> {
+
+    @Procedure(value = "gds.beta.kcore.stats", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<StatsResult> stats(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return stats(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.kcore.stats.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, KCoreDecompositionStatsConfig config) {
+        validateIsUndirectedGraph(graphCreateConfig, config);
+    }
+
+    @Override
+    protected KCoreDecompositionStatsConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return KCoreDecompositionStatsConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<KCoreDecomposition, KCoreDecompositionStatsConfig> algorithmFactory() {
+        return new KCoreDecompositionFactory<>();
+    }
+
+    @Override
+    protected AbstractResultBuilder<StatsResult> resultBuilder(ComputationResult<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionStatsConfig> computeResult) {
+        return KCoreDecompositionCompanion.resultBuilder(new KCoreDecompositionStatsBuilder(), computeResult);
+    }
+
+    public static class StatsResult extends StandardStatsResult {
+
+        public final long degeneracy;
+        public final long nodeCount;
+
+        StatsResult(
+            long degeneracy,
+            long nodeCount,
+            long createMillis,
+            long computeMillis,
+            Map<String, Object> configuration
+        ) {
+            // core values need no post-processing
+            super(createMillis, computeMillis, 0L, configuration);
+            this.degeneracy = degeneracy;
+            this.nodeCount = nodeCount;
+        }
+    }
+
+    static class KCoreDecompositionStatsBuilder extends KCoreDecompositionCompanion.KCoreDecompositionResultBuilder<StatsResult> {
+
+        @Override
+        public StatsResult build() {
+            return new StatsResult(
+                degeneracy,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                config.toMap()
+            );
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.WriteProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.kcore.KCoreDecompositionCompanion.DESCRIPTION;
+import static org.neo4j.graphalgo.config.GraphCreateConfigValidations.validateIsUndirectedGraph;
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class KCoreDecompositionWriteProc extends WriteProc<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionWriteProc.WriteResult, KCoreDecompositionWriteConfig> {
+
+    @Procedure(value = "gds.beta.kcore.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return write(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.kcore.write.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, KCoreDecompositionWriteConfig config) {
+        validateIsUndirectedGraph(graphCreateConfig, config);
+    }
+
+    @Override
+    protected KCoreDecompositionWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return KCoreDecompositionWriteConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<KCoreDecomposition, KCoreDecompositionWriteConfig> algorithmFactory() {
+        return new KCoreDecompositionFactory<>();
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionWriteConfig> computationResult) {
+        return KCoreDecompositionCompanion.nodeProperties(computationResult);
+    }
+
+    @Override
+    protected AbstractResultBuilder<WriteResult> resultBuilder(ComputationResult<KCoreDecomposition, KCoreDecomposition.Result, KCoreDecompositionWriteConfig> computeResult) {
+        return KCoreDecompositionCompanion.resultBuilder(new KCoreDecompositionWriteBuilder(), computeResult);
+    }
+
+    public static class WriteResult extends KCoreDecompositionStatsProc.StatsResult {
+
+        public final long writeMillis;
+        public final long nodePropertiesWritten;
+
+        WriteResult(
+            long degeneracy,
+            long nodeCount,
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long nodePropertiesWritten,
+            Map<String, Object> configuration
+        ) {
+            super(
+                degeneracy,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                configuration
+            );
+            this.writeMillis = writeMillis;
+            this.nodePropertiesWritten = nodePropertiesWritten;
+        }
+    }
+
+    static class KCoreDecompositionWriteBuilder extends KCoreDecompositionCompanion.KCoreDecompositionResultBuilder<WriteResult> {
+
+        @Override
+        public WriteResult build() {
+            return new WriteResult(
+                degeneracy,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                writeMillis,
+                nodePropertiesWritten,
+                config.toMap()
+            );
+        }
+    }
+}
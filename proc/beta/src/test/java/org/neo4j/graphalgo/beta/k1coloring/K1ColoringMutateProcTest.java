@@ -103,9 +103,9 @@ public class K1ColoringMutateProcTest extends K1ColoringProcBaseTest<K1ColoringM
 
         assertCypherResult(query, Arrays.asList(MapUtil.map(
             "nodeCount", 4L,
-            "bytesMin", 304080L,
-            "bytesMax", 304080L,
-            "requiredMemory", "296 KiB"
+            "bytesMin", 304056L,
+            "bytesMax", 304128L,
+            "requiredMemory", "[296 KiB ... 297 KiB]"
         )));
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphStreamNodePropertiesProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.isA;
+
+class KCoreDecompositionProcTest extends BaseProcTest {
+
+    @Language("Cypher")
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (g:Node {name: 'g'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (a)-[:REL]->(c)" +
+        ", (a)-[:REL]->(d)" +
+        ", (b)-[:REL]->(c)" +
+        ", (b)-[:REL]->(d)" +
+        ", (c)-[:REL]->(d)" +
+        ", (e)-[:REL]->(a)" +
+        ", (e)-[:REL]->(b)" +
+        ", (f)-[:REL]->(e)";
+
+    private static final List<Map<String, Object>> EXPECTED_CORE_VALUES = List.of(
+        Map.of("name", "a", "coreValue", 3L),
+        Map.of("name", "b", "coreValue", 3L),
+        Map.of("name", "c", "coreValue", 3L),
+        Map.of("name", "d", "coreValue", 3L),
+        Map.of("name", "e", "coreValue", 2L),
+        Map.of("name", "f", "coreValue", 1L),
+        Map.of("name", "g", "coreValue", 0L)
+    );
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            KCoreDecompositionStreamProc.class,
+            KCoreDecompositionStatsProc.class,
+            KCoreDecompositionMutateProc.class,
+            KCoreDecompositionWriteProc.class,
+            GraphCreateProc.class,
+            GraphStreamNodePropertiesProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', {REL: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldStreamCoreValues() {
+        assertCypherResult(
+            "CALL gds.beta.kcore.stream('graph') YIELD nodeId, coreValue " +
+            "MATCH (n) WHERE id(n) = nodeId " +
+            "RETURN n.name AS name, coreValue ORDER BY name",
+            EXPECTED_CORE_VALUES
+        );
+    }
+
+    @Test
+    void shouldComputeStats() {
+        assertCypherResult(
+            "CALL gds.beta.kcore.stats('graph')",
+            List.of(Map.of(
+                "degeneracy", 3L,
+                "nodeCount", 7L,
+                "createMillis", greaterThan(-1L),
+                "computeMillis", greaterThan(-1L),
+                "postProcessingMillis", greaterThan(-1L),
+                "configuration", isA(Map.class)
+            ))
+        );
+    }
+
+    @Test
+    void shouldMutateCoreValues() {
+        assertCypherResult(
+            "CALL gds.beta.kcore.mutate('graph', {mutateProperty: 'coreValue'}) " +
+            "YIELD degeneracy, nodePropertiesWritten",
+            List.of(Map.of("degeneracy", 3L, "nodePropertiesWritten", 7L))
+        );
+
+        assertCypherResult(
+            "CALL gds.graph.streamNodeProperty('graph', 'coreValue') YIELD nodeId, propertyValue " +
+            "MATCH (n) WHERE id(n) = nodeId " +
+            "RETURN n.name AS name, propertyValue AS coreValue ORDER BY name",
+            EXPECTED_CORE_VALUES
+        );
+    }
+
+    @Test
+    void shouldWriteCoreValues() {
+        assertCypherResult(
+            "CALL gds.beta.kcore.write('graph', {writeProperty: 'coreValue'}) " +
+            "YIELD degeneracy, nodePropertiesWritten",
+            List.of(Map.of("degeneracy", 3L, "nodePropertiesWritten", 7L))
+        );
+
+        assertCypherResult(
+            "MATCH (n:Node) RETURN n.name AS name, n.coreValue AS coreValue ORDER BY name",
+            EXPECTED_CORE_VALUES
+        );
+    }
+
+    @Test
+    void shouldEstimateMemory() {
+        assertCypherResult(
+            "CALL gds.beta.kcore.stream.estimate('graph', {}) YIELD bytesMin, bytesMax",
+            List.of(Map.of("bytesMin", greaterThan(0L), "bytesMax", greaterThan(0L)))
+        );
+    }
+
+    @Test
+    void shouldFailOnDirectedGraphs() {
+        runQuery("CALL gds.graph.create('directed', 'Node', 'REL')");
+        assertError(
+            "CALL gds.beta.kcore.stream('directed')",
+            "Procedure requires relationship projections to be UNDIRECTED."
+        );
+    }
+}
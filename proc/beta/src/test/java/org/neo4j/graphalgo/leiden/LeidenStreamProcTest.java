@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.leiden;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgoBaseProcTest;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.MemoryEstimateTest;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+
+class LeidenStreamProcTest extends BaseProcTest implements
+    AlgoBaseProcTest<Leiden, LeidenStreamConfig, Leiden>,
+    MemoryEstimateTest<Leiden, LeidenStreamConfig, Leiden> {
+
+    private static final String LEIDEN_GRAPH = "myGraph";
+
+    @Override
+    public String createQuery() {
+        return "CREATE" +
+               "  (a:Node)" +
+               ", (b:Node)" +
+               ", (c:Node)" +
+               ", (d:Node)" +
+               ", (e:Node)" +
+               ", (f:Node)" +
+               ", (g:Node)" +
+               ", (h:Node)" +
+
+               ", (a)-[:TYPE]->(b)" +
+               ", (a)-[:TYPE]->(c)" +
+               ", (a)-[:TYPE]->(d)" +
+               ", (b)-[:TYPE]->(c)" +
+               ", (b)-[:TYPE]->(d)" +
+               ", (c)-[:TYPE]->(d)" +
+
+               ", (e)-[:TYPE]->(f)" +
+               ", (e)-[:TYPE]->(g)" +
+               ", (e)-[:TYPE]->(h)" +
+               ", (f)-[:TYPE]->(g)" +
+               ", (f)-[:TYPE]->(h)" +
+               ", (g)-[:TYPE]->(h)" +
+
+               ", (d)-[:TYPE]->(e)";
+    }
+
+    @Override
+    public GraphDatabaseAPI graphDb() {
+        return db;
+    }
+
+    @Override
+    public Class<? extends AlgoBaseProc<Leiden, Leiden, LeidenStreamConfig>> getProcedureClazz() {
+        return LeidenStreamProc.class;
+    }
+
+    @Override
+    public LeidenStreamConfig createConfig(CypherMapWrapper mapWrapper) {
+        return LeidenStreamConfig.of(getUsername(), Optional.empty(), Optional.empty(), mapWrapper);
+    }
+
+    @Override
+    public void assertResultEquals(Leiden result1, Leiden result2) {
+        assertEquals(result1.levels(), result2.levels());
+        assertArrayEquals(result1.finalDendrogram().toArray(), result2.finalDendrogram().toArray());
+    }
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        registerProcedures(getProcedureClazz(), GraphCreateProc.class);
+        runQuery(createQuery());
+        runQuery(GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType(
+                "TYPE",
+                RelationshipProjection.of("TYPE", Orientation.UNDIRECTED, Aggregation.DEFAULT)
+            )
+            .graphCreate(LEIDEN_GRAPH)
+            .yields());
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        @Language("Cypher") String query = GdsCypher.call()
+            .explicitCreation(LEIDEN_GRAPH)
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .yields("nodeId", "communityId", "intermediateCommunityIds");
+
+        List<Long> actualCommunities = new ArrayList<>();
+        runQueryWithRowConsumer(query, row -> {
+            int id = row.getNumber("nodeId").intValue();
+            long community = row.getNumber("communityId").longValue();
+            assertNull(row.get("intermediateCommunityIds"));
+            actualCommunities.add(id, community);
+        });
+
+        assertCommunities(
+            actualCommunities,
+            Arrays.asList(
+                Arrays.asList(0L, 1L, 2L, 3L),
+                Arrays.asList(4L, 5L, 6L, 7L)
+            )
+        );
+    }
+
+    @Test
+    void testStreamIntermediateCommunities() {
+        @Language("Cypher") String query = GdsCypher.call()
+            .explicitCreation(LEIDEN_GRAPH)
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .addParameter("includeIntermediateCommunities", true)
+            .yields("nodeId", "communityId", "intermediateCommunityIds");
+
+        runQueryWithRowConsumer(query, row -> {
+            Object maybeList = row.get("intermediateCommunityIds");
+            assertTrue(maybeList instanceof List);
+            List<?> communities = (List<?>) maybeList;
+            assertEquals(communities.get(communities.size() - 1), row.getNumber("communityId").longValue());
+        });
+    }
+
+    @Test
+    void testStreamEstimate() {
+        @Language("Cypher") String query = GdsCypher.call()
+            .explicitCreation(LEIDEN_GRAPH)
+            .algo("gds", "beta", "leiden")
+            .estimationMode(GdsCypher.ExecutionModes.STREAM)
+            .yields("nodeCount", "bytesMin", "bytesMax");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(8L, row.getNumber("nodeCount").longValue());
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+            assertTrue(row.getNumber("bytesMax").longValue() >= row.getNumber("bytesMin").longValue());
+        });
+    }
+}
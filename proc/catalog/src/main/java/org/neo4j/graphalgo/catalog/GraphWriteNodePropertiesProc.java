@@ -97,7 +97,7 @@ public class GraphWriteNodePropertiesProc extends CatalogProc {
 
             NodePropertyExporter exporter = NodePropertyExporter
                 .builder(api, subGraph, TerminationFlag.wrap(transaction))
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .parallel(Pools.IO, config.writeConcurrency())
                 .withLog(log)
                 .build();
 
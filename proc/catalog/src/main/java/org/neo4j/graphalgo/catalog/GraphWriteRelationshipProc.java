@@ -103,7 +103,7 @@ public class GraphWriteRelationshipProc extends CatalogProc {
 
         builder
             .withLog(log)
-            .parallel(Pools.DEFAULT, config.writeConcurrency())
+            .parallel(Pools.IO, config.writeConcurrency())
             .build()
             .write(config.relationshipType(), config.relationshipProperty());
 
@@ -32,10 +32,12 @@ import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.BaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.WriteConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
 import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
@@ -45,10 +47,15 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
+import org.neo4j.graphalgo.core.utils.paged.PagePool;
+import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
 import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -58,6 +65,7 @@ import static org.neo4j.graphalgo.config.BaseConfig.SUDO_KEY;
 import static org.neo4j.graphalgo.config.ConcurrencyConfig.CONCURRENCY_KEY;
 import static org.neo4j.graphalgo.config.ConcurrencyConfig.DEFAULT_CONCURRENCY;
 import static org.neo4j.graphalgo.config.GraphCreateConfig.READ_CONCURRENCY_KEY;
+import static org.neo4j.graphalgo.config.WriteConfig.WRITE_CONCURRENCY_KEY;
 
 public abstract class AlgoBaseProc<
     ALGO extends Algorithm<ALGO, ALGO_RESULT>,
@@ -171,8 +179,37 @@ public abstract class AlgoBaseProc<
         Pair<CONFIG, Optional<String>> input = processInput(graphNameOrConfig, configuration);
         CONFIG config = input.getOne();
 
+        if (GdsFeatureToggles.USE_ADMISSION_CONTROL.isEnabled()) {
+            // the scheduler validates the memory usage, so that jobs which fit once others finish are queued
+            try (var permit = JobScheduler.instance().admit(
+                username(),
+                databaseId().name(),
+                config.concurrency(),
+                estimatedMemory(config),
+                tracker::trackedBytes,
+                TerminationFlag.wrap(transaction)
+            )) {
+                var admittedInput = exceedsConcurrency(config, permit.concurrency())
+                    ? processInputWithConcurrency(graphNameOrConfig, configuration, permit.concurrency())
+                    : input;
+                return compute(admittedInput, builder, tracker, releaseAlgorithm, releaseTopology);
+            }
+        }
+
         validateMemoryUsageIfImplemented(config);
 
+        return compute(input, builder, tracker, releaseAlgorithm, releaseTopology);
+    }
+
+    private ComputationResult<ALGO, ALGO_RESULT, CONFIG> compute(
+        Pair<CONFIG, Optional<String>> input,
+        ImmutableComputationResult.Builder<ALGO, ALGO_RESULT, CONFIG> builder,
+        AllocationTracker tracker,
+        boolean releaseAlgorithm,
+        boolean releaseTopology
+    ) {
+        CONFIG config = input.getOne();
+
         GraphStore graphStore;
         Graph graph;
 
@@ -207,7 +244,8 @@ public abstract class AlgoBaseProc<
         log.info(algoName() + ": overall memory usage %s", tracker.getUsageString());
 
         if (releaseAlgorithm) {
-            algo.release();
+            // the algorithm is done with its internal arrays, so their pages can be reused by the next run
+            PagePool.instance().recycle(algo::release);
         }
         if (releaseTopology) {
             graph.releaseTopology();
@@ -331,6 +369,55 @@ public abstract class AlgoBaseProc<
         return graphStore;
     }
 
+    private static boolean exceedsConcurrency(AlgoBaseConfig config, int concurrency) {
+        int readConcurrency = config.implicitCreateConfig().map(GraphCreateConfig::readConcurrency).orElse(0);
+        int writeConcurrency = config instanceof WriteConfig ? ((WriteConfig) config).writeConcurrency() : 0;
+        return Math.max(config.concurrency(), Math.max(readConcurrency, writeConcurrency)) > concurrency;
+    }
+
+    /**
+     * Re-creates the configuration with the concurrency that was granted by the {@link JobScheduler},
+     * so that the algorithm does not use more threads than its quota allows.
+     */
+    @SuppressWarnings("unchecked")
+    private Pair<CONFIG, Optional<String>> processInputWithConcurrency(
+        Object graphNameOrConfig,
+        Map<String, Object> configuration,
+        int concurrency
+    ) {
+        if (graphNameOrConfig instanceof String) {
+            return processInput(graphNameOrConfig, withConcurrency(configuration, concurrency));
+        }
+        return processInput(withConcurrency((Map<String, Object>) graphNameOrConfig, concurrency), configuration);
+    }
+
+    private static Map<String, Object> withConcurrency(Map<String, Object> configuration, int concurrency) {
+        var restrictedConfiguration = new HashMap<>(configuration);
+        restrictedConfiguration.put(CONCURRENCY_KEY, concurrency);
+        // explicit read and write concurrencies are capped as well, unset ones inherit the concurrency
+        for (String key : List.of(READ_CONCURRENCY_KEY, WRITE_CONCURRENCY_KEY)) {
+            restrictedConfiguration.computeIfPresent(
+                key,
+                (ignored, value) -> value instanceof Number
+                    ? Math.min(((Number) value).intValue(), concurrency)
+                    : value
+            );
+        }
+        return restrictedConfiguration;
+    }
+
+    private long estimatedMemory(CONFIG config) {
+        var sudoImplicitCreate = config.implicitCreateConfig().map(BaseConfig::sudo).orElse(false);
+        if (sudoImplicitCreate || config.sudo()) {
+            return 0L;
+        }
+        try {
+            return memoryEstimation(config).memoryTree.memoryUsage().min;
+        } catch (MemoryEstimationNotImplementedException ignored) {
+            return 0L;
+        }
+    }
+
     private void validateMemoryUsageIfImplemented(CONFIG config) {
         var sudoImplicitCreate = config.implicitCreateConfig().map(BaseConfig::sudo).orElse(false);
 
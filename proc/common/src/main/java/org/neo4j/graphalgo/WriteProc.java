@@ -79,7 +79,7 @@ public abstract class WriteProc<
             TerminationFlag terminationFlag = computationResult.algorithm().getTerminationFlag();
             NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, terminationFlag)
                 .withLog(log)
-                .parallel(Pools.DEFAULT, writePropertyConfig.writeConcurrency())
+                .parallel(Pools.IO, writePropertyConfig.writeConcurrency())
                 .build();
 
             exporter.write(nodePropertyList(computationResult));
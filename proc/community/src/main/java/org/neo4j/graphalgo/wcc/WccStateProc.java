@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.config.ConcurrencyConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphComponents;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.config.ConcurrencyConfig.CONCURRENCY_KEY;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+/**
+ * Keeps the components of a named graph in the catalog, so that batches of new
+ * relationships only need to be unioned into them instead of recomputing WCC.
+ * The state is removed together with the graph.
+ */
+public class WccStateProc extends StatsProc<Wcc, DisjointSetStruct, WccStatsProc.StatsResult, WccStatsConfig> {
+
+    private static final String CREATE_DESCRIPTION =
+        "Computes the weakly connected components of a named graph and stores them next to the graph.";
+
+    private static final String UPDATE_DESCRIPTION =
+        "Applies new relationships to the stored components of a named graph without recomputing them.";
+
+    private static final String STREAM_DESCRIPTION =
+        "Streams the stored components of a named graph.";
+
+    @Procedure(value = "gds.beta.wcc.state.create", mode = READ)
+    @Description(CREATE_DESCRIPTION)
+    public Stream<WccStatsProc.StatsResult> create(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        var computationResult = compute(graphName, configuration);
+        if (!computationResult.isGraphEmpty()) {
+            GraphStoreCatalog.setComponents(
+                username(),
+                databaseId(),
+                graphName,
+                GraphComponents.of(computationResult.result(), computationResult.graph())
+            );
+        }
+        return stats(computationResult);
+    }
+
+    @Procedure(value = "gds.beta.wcc.state.update", mode = READ)
+    @Description(UPDATE_DESCRIPTION)
+    public Stream<UpdateResult> update(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "sourceNodes") List<Long> sourceNodes,
+        @Name(value = "targetNodes") List<Long> targetNodes,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        if (sourceNodes.size() != targetNodes.size()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The number of source nodes (%d) must match the number of target nodes (%d).",
+                sourceNodes.size(),
+                targetNodes.size()
+            ));
+        }
+        var graphComponents = components(graphName);
+        var idMapping = graphComponents.idMapping();
+        int concurrency = CypherMapWrapper
+            .create(configuration)
+            .getInt(CONCURRENCY_KEY, ConcurrencyConfig.DEFAULT_CONCURRENCY);
+        ConcurrencyConfig.validateConcurrency(concurrency, CONCURRENCY_KEY);
+
+        var timer = ProgressTimer.start();
+
+        long[] mappedSources = new long[sourceNodes.size()];
+        long[] mappedTargets = new long[targetNodes.size()];
+        int applied = 0;
+        for (int i = 0; i < mappedSources.length; i++) {
+            long source = sourceNodes.get(i);
+            long target = targetNodes.get(i);
+            if (idMapping.contains(source) && idMapping.contains(target)) {
+                mappedSources[applied] = idMapping.toMappedNodeId(source);
+                mappedTargets[applied] = idMapping.toMappedNodeId(target);
+                applied++;
+            }
+        }
+
+        var wccUpdate = new WccUpdate(
+            graphComponents.components(),
+            applied == mappedSources.length ? mappedSources : Arrays.copyOf(mappedSources, applied),
+            applied == mappedTargets.length ? mappedTargets : Arrays.copyOf(mappedTargets, applied),
+            concurrency,
+            Pools.DEFAULT
+        ).withTerminationFlag(TerminationFlag.wrap(transaction));
+        runWithExceptionLogging("WCC state update failed", wccUpdate::compute);
+
+        return Stream.of(new UpdateResult(applied, mappedSources.length - applied, timer.stop().getDuration()));
+    }
+
+    @Procedure(value = "gds.beta.wcc.state.stream", mode = READ)
+    @Description(STREAM_DESCRIPTION)
+    public Stream<WccStreamProc.StreamResult> stream(@Name(value = "graphName") String graphName) {
+        var graphComponents = components(graphName);
+        var idMapping = graphComponents.idMapping();
+        var components = graphComponents.components();
+        return LongStream
+            .range(0, idMapping.nodeCount())
+            .mapToObj(nodeId -> new WccStreamProc.StreamResult(
+                idMapping.toOriginalNodeId(nodeId),
+                components.setIdOf(nodeId)
+            ));
+    }
+
+    private GraphComponents components(String graphName) {
+        return GraphStoreCatalog
+            .getComponents(username(), databaseId(), graphName)
+            .orElseThrow(() -> new IllegalArgumentException(formatWithLocale(
+                "No components are stored for graph `%s`, they need to be created with `gds.beta.wcc.state.create` first.",
+                graphName
+            )));
+    }
+
+    @Override
+    protected AbstractResultBuilder<WccStatsProc.StatsResult> resultBuilder(
+        ComputationResult<Wcc, DisjointSetStruct, WccStatsConfig> computeResult
+    ) {
+        return WccProc.resultBuilder(
+            new WccStatsProc.StatsResult.Builder(callContext, computeResult.config().concurrency(), allocationTracker()),
+            computeResult
+        );
+    }
+
+    @Override
+    protected WccStatsConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return WccStatsConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Wcc, WccStatsConfig> algorithmFactory() {
+        return WccProc.algorithmFactory();
+    }
+
+    public static class UpdateResult {
+
+        public final long relationshipsApplied;
+        public final long relationshipsSkipped;
+        public final long updateMillis;
+
+        UpdateResult(long relationshipsApplied, long relationshipsSkipped, long updateMillis) {
+            this.relationshipsApplied = relationshipsApplied;
+            this.relationshipsSkipped = relationshipsSkipped;
+            this.updateMillis = updateMillis;
+        }
+    }
+}
@@ -117,7 +117,7 @@ class LabelPropagationStreamProcTest extends LabelPropagationProcTest<LabelPropa
             "nodeCount", 12L,
             "relationshipCount", 10L,
             "bytesMin", 1656L,
-            "bytesMax", 2168L
+            "bytesMax", 2264L
         )));
     }
 
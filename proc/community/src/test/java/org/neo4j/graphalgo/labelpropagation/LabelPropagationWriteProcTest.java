@@ -429,7 +429,7 @@ class LabelPropagationWriteProcTest extends LabelPropagationProcTest<LabelPropag
             "nodeCount", 12L,
             "relationshipCount", 10L,
             "bytesMin", 1656L,
-            "bytesMax", 2168L
+            "bytesMax", 2264L
         )));
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphDropProc;
+import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WccStateProcTest extends BaseProcTest {
+
+    @Language("Cypher")
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (c)-[:REL]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(WccStateProc.class, GraphCreateProc.class, GraphDropProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', 'REL')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldCreateComponents() {
+        assertCypherResult(
+            "CALL gds.beta.wcc.state.create('graph') YIELD componentCount",
+            List.of(Map.of("componentCount", 3L))
+        );
+        assertEquals(3L, streamedComponentCount());
+    }
+
+    @Test
+    void shouldApplyNewRelationships() {
+        runQuery("CALL gds.beta.wcc.state.create('graph')");
+
+        assertCypherResult(
+            "MATCH (b {name: 'b'}), (c {name: 'c'}) " +
+            "CALL gds.beta.wcc.state.update('graph', [id(b), 1337], [id(c), id(c)]) " +
+            "YIELD relationshipsApplied, relationshipsSkipped " +
+            "RETURN relationshipsApplied, relationshipsSkipped",
+            List.of(Map.of("relationshipsApplied", 1L, "relationshipsSkipped", 1L))
+        );
+
+        assertEquals(2L, streamedComponentCount());
+        assertCypherResult(
+            "CALL gds.beta.wcc.state.stream('graph') YIELD nodeId, componentId " +
+            "MATCH (n) WHERE id(n) = nodeId AND n.name IN ['a', 'd'] " +
+            "RETURN count(n) AS nodes, count(DISTINCT componentId) AS components",
+            List.of(Map.of("nodes", 2L, "components", 1L))
+        );
+    }
+
+    @Test
+    void shouldFailToUpdateWithoutCreatedComponents() {
+        assertError(
+            "CALL gds.beta.wcc.state.update('graph', [0], [1])",
+            "No components are stored for graph `graph`"
+        );
+    }
+
+    @Test
+    void shouldFailOnDifferentNumberOfNodes() {
+        runQuery("CALL gds.beta.wcc.state.create('graph')");
+        assertError(
+            "CALL gds.beta.wcc.state.update('graph', [0, 1], [1])",
+            "The number of source nodes (2) must match the number of target nodes (1)."
+        );
+    }
+
+    @Test
+    void shouldFailToUpdateWithTooHighConcurrencyOnCommunityEdition() {
+        GdsEdition.instance().setToCommunityEdition();
+        runQuery("CALL gds.beta.wcc.state.create('graph')");
+        assertError(
+            "CALL gds.beta.wcc.state.update('graph', [0], [1], {concurrency: 10})",
+            "The configured `concurrency` value is too high"
+        );
+    }
+
+    @Test
+    void shouldDropComponentsWithTheGraph() {
+        runQuery("CALL gds.beta.wcc.state.create('graph')");
+        runQuery("CALL gds.graph.drop('graph')");
+        assertTrue(GraphStoreCatalog.getComponents(getUsername(), db.databaseId(), "graph").isEmpty());
+    }
+
+    private long streamedComponentCount() {
+        return runQuery(
+            "CALL gds.beta.wcc.state.stream('graph') YIELD componentId RETURN count(DISTINCT componentId) AS count",
+            result -> result.<Long>columnAs("count").next()
+        );
+    }
+}
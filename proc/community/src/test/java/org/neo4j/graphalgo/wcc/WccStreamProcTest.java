@@ -30,15 +30,23 @@ import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.config.ConcurrencyConfig.CONCURRENCY_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateConfig.READ_CONCURRENCY_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROJECTION_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.RELATIONSHIP_PROJECTION_KEY;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ADMISSION_CONTROL;
 
 class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
     ConsecutiveIdsConfigTest<Wcc, WccStreamConfig, DisjointSetStruct> {
@@ -79,6 +87,27 @@ class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
         CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
     }
 
+    @Test
+    void shouldRunWithTheConcurrencyAdmittedByTheJobScheduler() {
+        Map<String, Object> config = createMinimalImplicitConfig(CypherMapWrapper.create(Map.of(
+            NODE_PROJECTION_KEY, Collections.singletonList("*"),
+            RELATIONSHIP_PROJECTION_KEY, relationshipProjections(),
+            CONCURRENCY_KEY, 4,
+            READ_CONCURRENCY_KEY, 4
+        ))).toMap();
+
+        JobScheduler.instance().setMaxConcurrencyPerUser(2);
+        try {
+            USE_ADMISSION_CONTROL.enableAndRun(() -> applyOnProcedure(proc -> {
+                var result = proc.compute(config, Collections.emptyMap());
+                assertEquals(2, result.config().concurrency());
+                assertEquals(2, result.config().implicitCreateConfig().orElseThrow().readConcurrency());
+            }));
+        } finally {
+            JobScheduler.instance().resetLimits();
+        }
+    }
+
     @Test
     void testStreamRunsOnLoadedGraph() {
         GraphCreateConfig graphCreateConfig = ImmutableGraphCreateFromStoreConfig
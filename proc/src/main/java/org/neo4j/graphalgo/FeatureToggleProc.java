@@ -19,11 +19,14 @@
  */
 package org.neo4j.graphalgo;
 
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
+import org.neo4j.graphalgo.core.utils.paged.PagePool;
 import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.Locale;
 import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -87,6 +90,194 @@ public final class FeatureToggleProc {
         return Stream.of(new FeatureState(GdsFeatureToggles.USE_PROPERTY_VALUE_INDEX.isEnabled()));
     }
 
+    @Procedure("gds.features.importer.usePipelinedProjection")
+    @Description("Toggle whether the relationship store scan should overlap with the node store scan.")
+    public void usePipelinedProjection(@Name(value = "usePipelinedProjection") boolean usePipelinedProjection) {
+        GdsFeatureToggles.USE_PIPELINED_PROJECTION.toggle(usePipelinedProjection);
+    }
+
+    @Procedure("gds.features.importer.usePipelinedProjection.reset")
+    @Description("Set the behavior of whether to overlap relationship and node store scans to the default. That value is returned.")
+    public Stream<FeatureState> resetUsePipelinedProjection() {
+        GdsFeatureToggles.USE_PIPELINED_PROJECTION.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_PIPELINED_PROJECTION.isEnabled()));
+    }
+
+    @Procedure("gds.features.importer.useCompactIdMap")
+    @Description("Toggle whether the importer should map node ids using a ranked bit set instead of a sparse array.")
+    public void useCompactIdMap(@Name(value = "useCompactIdMap") boolean useCompactIdMap) {
+        GdsFeatureToggles.USE_COMPACT_ID_MAP.toggle(useCompactIdMap);
+    }
+
+    @Procedure("gds.features.importer.useCompactIdMap.reset")
+    @Description("Set the behavior of whether to map node ids using a ranked bit set to the default. That value is returned.")
+    public Stream<FeatureState> resetUseCompactIdMap() {
+        GdsFeatureToggles.USE_COMPACT_ID_MAP.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_COMPACT_ID_MAP.isEnabled()));
+    }
+
+    @Procedure("gds.features.useWorkStealing")
+    @Description("Toggle whether node-parallel work should run on a work-stealing fork-join pool.")
+    public void useWorkStealing(@Name(value = "useWorkStealing") boolean useWorkStealing) {
+        GdsFeatureToggles.USE_WORK_STEALING.toggle(useWorkStealing);
+    }
+
+    @Procedure("gds.features.useWorkStealing.reset")
+    @Description("Set the behavior of whether to run node-parallel work on a work-stealing pool to the default. That value is returned.")
+    public Stream<FeatureState> resetUseWorkStealing() {
+        GdsFeatureToggles.USE_WORK_STEALING.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_WORK_STEALING.isEnabled()));
+    }
+
+    @Procedure("gds.features.usePartitionAffinity")
+    @Description("Toggle whether partitioned algorithms should process each partition on the same thread in every iteration.")
+    public void usePartitionAffinity(@Name(value = "usePartitionAffinity") boolean usePartitionAffinity) {
+        GdsFeatureToggles.USE_PARTITION_AFFINITY.toggle(usePartitionAffinity);
+    }
+
+    @Procedure("gds.features.usePartitionAffinity.reset")
+    @Description("Set the behavior of whether to keep partitions on the same thread to the default. That value is returned.")
+    public Stream<FeatureState> resetUsePartitionAffinity() {
+        GdsFeatureToggles.USE_PARTITION_AFFINITY.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_PARTITION_AFFINITY.isEnabled()));
+    }
+
+    @Procedure("gds.features.useOffHeapArrays")
+    @Description("Toggle whether newly allocated HugeLongArrays and HugeDoubleArrays should store their values off-heap.")
+    public void useOffHeapArrays(@Name(value = "useOffHeapArrays") boolean useOffHeapArrays) {
+        GdsFeatureToggles.USE_OFF_HEAP_ARRAYS.toggle(useOffHeapArrays);
+    }
+
+    @Procedure("gds.features.useOffHeapArrays.reset")
+    @Description("Set the behavior of whether to allocate huge arrays off-heap to the default. That value is returned.")
+    public Stream<FeatureState> resetUseOffHeapArrays() {
+        GdsFeatureToggles.USE_OFF_HEAP_ARRAYS.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_OFF_HEAP_ARRAYS.isEnabled()));
+    }
+
+    @Procedure("gds.features.usePagePool")
+    @Description("Toggle whether pages of the data structures released by algorithms should be recycled for later allocations.")
+    public void usePagePool(@Name(value = "usePagePool") boolean usePagePool) {
+        GdsFeatureToggles.USE_PAGE_POOL.toggle(usePagePool);
+        if (!usePagePool) {
+            PagePool.instance().clear();
+        }
+    }
+
+    @Procedure("gds.features.usePagePool.reset")
+    @Description("Set the behavior of whether to recycle pages of released huge arrays to the default. That value is returned.")
+    public Stream<FeatureState> resetUsePagePool() {
+        GdsFeatureToggles.USE_PAGE_POOL.reset();
+        if (!GdsFeatureToggles.USE_PAGE_POOL.isEnabled()) {
+            PagePool.instance().clear();
+        }
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_PAGE_POOL.isEnabled()));
+    }
+
+    @Procedure("gds.features.useAfforest")
+    @Description("Toggle whether WCC should sample neighbours first and skip the largest component on undirected graphs.")
+    public void useAfforest(@Name(value = "useAfforest") boolean useAfforest) {
+        GdsFeatureToggles.USE_AFFOREST.toggle(useAfforest);
+    }
+
+    @Procedure("gds.features.useAfforest.reset")
+    @Description("Set the behavior of whether to use neighbour sampling in WCC to the default. That value is returned.")
+    public Stream<FeatureState> resetUseAfforest() {
+        GdsFeatureToggles.USE_AFFOREST.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_AFFOREST.isEnabled()));
+    }
+
+    @Procedure("gds.features.useParallelScc")
+    @Description("Toggle whether strongly connected components should be computed in parallel.")
+    public void useParallelScc(@Name(value = "useParallelScc") boolean useParallelScc) {
+        GdsFeatureToggles.USE_PARALLEL_SCC.toggle(useParallelScc);
+    }
+
+    @Procedure("gds.features.useParallelScc.reset")
+    @Description("Set the behavior of whether to compute strongly connected components in parallel to the default. That value is returned.")
+    public Stream<FeatureState> resetUseParallelScc() {
+        GdsFeatureToggles.USE_PARALLEL_SCC.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_PARALLEL_SCC.isEnabled()));
+    }
+
+    @Procedure("gds.features.useOrientedTriangleCount")
+    @Description("Toggle whether triangles should be counted on a degree-ordered forward adjacency.")
+    public void useOrientedTriangleCount(@Name(value = "useOrientedTriangleCount") boolean useOrientedTriangleCount) {
+        GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT.toggle(useOrientedTriangleCount);
+    }
+
+    @Procedure("gds.features.useOrientedTriangleCount.reset")
+    @Description("Set the behavior of whether to count triangles on a degree-ordered forward adjacency to the default. That value is returned.")
+    public Stream<FeatureState> resetUseOrientedTriangleCount() {
+        GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT.isEnabled()));
+    }
+
+    @Procedure("gds.features.pagePool.maxBytes")
+    @Description("Set how many bytes the pages held by the page pool may occupy in total.")
+    public void pagePoolMaxBytes(@Name(value = "maxBytes") long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid value for maxBytes, must not be negative");
+        }
+        PagePool.instance().setMaxPooledBytes(maxBytes);
+    }
+
+    @Procedure("gds.features.pagePool.reset")
+    @Description("Drop all pooled pages and set the size of the page pool to the default. That value is returned.")
+    public Stream<FeatureValue> resetPagePool() {
+        var pagePool = PagePool.instance();
+        pagePool.clear();
+        pagePool.resetMaxPooledBytes();
+        return Stream.of(new FeatureValue(pagePool.maxPooledBytes()));
+    }
+
+    @Procedure("gds.features.useAdmissionControl")
+    @Description("Toggle whether algorithm executions need to be admitted by the job scheduler before they run.")
+    public void useAdmissionControl(@Name(value = "useAdmissionControl") boolean useAdmissionControl) {
+        GdsFeatureToggles.USE_ADMISSION_CONTROL.toggle(useAdmissionControl);
+    }
+
+    @Procedure("gds.features.useAdmissionControl.reset")
+    @Description("Set the behavior of whether to use admission control for algorithm executions to the default. That value is returned.")
+    public Stream<FeatureState> resetUseAdmissionControl() {
+        GdsFeatureToggles.USE_ADMISSION_CONTROL.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_ADMISSION_CONTROL.isEnabled()));
+    }
+
+    @Procedure("gds.features.admissionControl.maxConcurrency")
+    @Description("Set how many threads all admitted algorithm executions may use in total.")
+    public void admissionControlMaxConcurrency(@Name(value = "maxConcurrency") long maxConcurrency) {
+        JobScheduler.instance().setMaxConcurrency(toIntLimit(maxConcurrency, "maxConcurrency"));
+    }
+
+    @Procedure("gds.features.admissionControl.maxConcurrencyPerUser")
+    @Description("Set how many threads the admitted algorithm executions of a single user may use in total.")
+    public void admissionControlMaxConcurrencyPerUser(@Name(value = "maxConcurrencyPerUser") long maxConcurrencyPerUser) {
+        JobScheduler.instance().setMaxConcurrencyPerUser(toIntLimit(maxConcurrencyPerUser, "maxConcurrencyPerUser"));
+    }
+
+    @Procedure("gds.features.admissionControl.maxConcurrencyPerDatabase")
+    @Description("Set how many threads the admitted algorithm executions on a single database may use in total.")
+    public void admissionControlMaxConcurrencyPerDatabase(@Name(value = "maxConcurrencyPerDatabase") long maxConcurrencyPerDatabase) {
+        JobScheduler.instance().setMaxConcurrencyPerDatabase(toIntLimit(maxConcurrencyPerDatabase, "maxConcurrencyPerDatabase"));
+    }
+
+    @Procedure("gds.features.admissionControl.userPriority")
+    @Description("Set the priority with which waiting algorithm executions of the given user are admitted.")
+    public void admissionControlUserPriority(
+        @Name(value = "username") String username,
+        @Name(value = "priority") String priority
+    ) {
+        JobScheduler.instance().setUserPriority(username, JobScheduler.Priority.valueOf(priority.toUpperCase(Locale.ENGLISH)));
+    }
+
+    @Procedure("gds.features.admissionControl.reset")
+    @Description("Set all admission control limits and user priorities to their defaults. The total concurrency limit is returned.")
+    public Stream<FeatureValue> resetAdmissionControl() {
+        JobScheduler.instance().resetLimits();
+        return Stream.of(new FeatureValue(JobScheduler.instance().maxConcurrency()));
+    }
+
     @Procedure("gds.features.maxArrayLengthShift")
     @Description("Toggle how large arrays are allowed to get before they are being paged; value is a power of two.")
     public void maxArrayLengthShift(@Name(value = "maxArrayLengthShift") long maxArrayLengthShift) {
@@ -106,6 +297,17 @@ public final class FeatureToggleProc {
         return Stream.of(new FeatureValue(GdsFeatureToggles.MAX_ARRAY_LENGTH_SHIFT_DEFAULT_SETTING));
     }
 
+    private static int toIntLimit(long limit, String name) {
+        if (limit <= 0 || limit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Invalid value for %s, must be in [1, %d]",
+                name,
+                Integer.MAX_VALUE
+            ));
+        }
+        return (int) limit;
+    }
+
     public static final class FeatureState {
         public final boolean enabled;
 
@@ -21,6 +21,8 @@ package org.neo4j.graphalgo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
+import org.neo4j.graphalgo.core.utils.paged.PagePool;
 import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 import org.neo4j.graphdb.QueryExecutionException;
 
@@ -31,9 +33,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.SKIP_ORPHANS;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ADMISSION_CONTROL;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_AFFOREST;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_COMPACT_ID_MAP;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_KERNEL_TRACKER;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_OFF_HEAP_ARRAYS;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_ORIENTED_TRIANGLE_COUNT;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PAGE_POOL;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARALLEL_SCC;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARTITION_AFFINITY;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PIPELINED_PROJECTION;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PRE_AGGREGATION;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PROPERTY_VALUE_INDEX;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_WORK_STEALING;
 
 class FeatureToggleProcTest extends BaseProcTest {
 
@@ -118,6 +130,249 @@ class FeatureToggleProcTest extends BaseProcTest {
         assertEquals(false, USE_PROPERTY_VALUE_INDEX.isEnabled());
     }
 
+    @Test
+    void toggleUsePipelinedProjection() {
+        var usePipelinedProjection = USE_PIPELINED_PROJECTION.isEnabled();
+        runQuery("CALL gds.features.importer.usePipelinedProjection($value)", Map.of("value", !usePipelinedProjection));
+        assertEquals(!usePipelinedProjection, USE_PIPELINED_PROJECTION.isEnabled());
+        runQuery("CALL gds.features.importer.usePipelinedProjection($value)", Map.of("value", usePipelinedProjection));
+        assertEquals(usePipelinedProjection, USE_PIPELINED_PROJECTION.isEnabled());
+    }
+
+    @Test
+    void resetUsePipelinedProjection() {
+        USE_PIPELINED_PROJECTION.reset();
+        assertCypherResult(
+            "CALL gds.features.importer.usePipelinedProjection.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_PIPELINED_PROJECTION.isEnabled());
+    }
+
+    @Test
+    void toggleUseCompactIdMap() {
+        var useCompactIdMap = USE_COMPACT_ID_MAP.isEnabled();
+        runQuery("CALL gds.features.importer.useCompactIdMap($value)", Map.of("value", !useCompactIdMap));
+        assertEquals(!useCompactIdMap, USE_COMPACT_ID_MAP.isEnabled());
+        runQuery("CALL gds.features.importer.useCompactIdMap($value)", Map.of("value", useCompactIdMap));
+        assertEquals(useCompactIdMap, USE_COMPACT_ID_MAP.isEnabled());
+    }
+
+    @Test
+    void resetUseCompactIdMap() {
+        USE_COMPACT_ID_MAP.reset();
+        assertCypherResult(
+            "CALL gds.features.importer.useCompactIdMap.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_COMPACT_ID_MAP.isEnabled());
+    }
+
+    @Test
+    void toggleUseWorkStealing() {
+        var useWorkStealing = USE_WORK_STEALING.isEnabled();
+        runQuery("CALL gds.features.useWorkStealing($value)", Map.of("value", !useWorkStealing));
+        assertEquals(!useWorkStealing, USE_WORK_STEALING.isEnabled());
+        runQuery("CALL gds.features.useWorkStealing($value)", Map.of("value", useWorkStealing));
+        assertEquals(useWorkStealing, USE_WORK_STEALING.isEnabled());
+    }
+
+    @Test
+    void resetUseWorkStealing() {
+        USE_WORK_STEALING.reset();
+        assertCypherResult(
+            "CALL gds.features.useWorkStealing.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_WORK_STEALING.isEnabled());
+    }
+
+    @Test
+    void toggleUsePartitionAffinity() {
+        var usePartitionAffinity = USE_PARTITION_AFFINITY.isEnabled();
+        runQuery("CALL gds.features.usePartitionAffinity($value)", Map.of("value", !usePartitionAffinity));
+        assertEquals(!usePartitionAffinity, USE_PARTITION_AFFINITY.isEnabled());
+        runQuery("CALL gds.features.usePartitionAffinity($value)", Map.of("value", usePartitionAffinity));
+        assertEquals(usePartitionAffinity, USE_PARTITION_AFFINITY.isEnabled());
+    }
+
+    @Test
+    void resetUsePartitionAffinity() {
+        USE_PARTITION_AFFINITY.reset();
+        assertCypherResult(
+            "CALL gds.features.usePartitionAffinity.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_PARTITION_AFFINITY.isEnabled());
+    }
+
+    @Test
+    void toggleUseOffHeapArrays() {
+        var useOffHeapArrays = USE_OFF_HEAP_ARRAYS.isEnabled();
+        runQuery("CALL gds.features.useOffHeapArrays($value)", Map.of("value", !useOffHeapArrays));
+        assertEquals(!useOffHeapArrays, USE_OFF_HEAP_ARRAYS.isEnabled());
+        runQuery("CALL gds.features.useOffHeapArrays($value)", Map.of("value", useOffHeapArrays));
+        assertEquals(useOffHeapArrays, USE_OFF_HEAP_ARRAYS.isEnabled());
+    }
+
+    @Test
+    void resetUseOffHeapArrays() {
+        USE_OFF_HEAP_ARRAYS.reset();
+        assertCypherResult(
+            "CALL gds.features.useOffHeapArrays.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_OFF_HEAP_ARRAYS.isEnabled());
+    }
+
+    @Test
+    void toggleUsePagePool() {
+        var usePagePool = USE_PAGE_POOL.isEnabled();
+        runQuery("CALL gds.features.usePagePool($value)", Map.of("value", !usePagePool));
+        assertEquals(!usePagePool, USE_PAGE_POOL.isEnabled());
+        runQuery("CALL gds.features.usePagePool($value)", Map.of("value", usePagePool));
+        assertEquals(usePagePool, USE_PAGE_POOL.isEnabled());
+    }
+
+    @Test
+    void resetUsePagePool() {
+        USE_PAGE_POOL.reset();
+        assertCypherResult(
+            "CALL gds.features.usePagePool.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_PAGE_POOL.isEnabled());
+    }
+
+    @Test
+    void toggleUseAfforest() {
+        var useAfforest = USE_AFFOREST.isEnabled();
+        runQuery("CALL gds.features.useAfforest($value)", Map.of("value", !useAfforest));
+        assertEquals(!useAfforest, USE_AFFOREST.isEnabled());
+        runQuery("CALL gds.features.useAfforest($value)", Map.of("value", useAfforest));
+        assertEquals(useAfforest, USE_AFFOREST.isEnabled());
+    }
+
+    @Test
+    void resetUseAfforest() {
+        USE_AFFOREST.reset();
+        assertCypherResult(
+            "CALL gds.features.useAfforest.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_AFFOREST.isEnabled());
+    }
+
+    @Test
+    void toggleUseParallelScc() {
+        var useParallelScc = USE_PARALLEL_SCC.isEnabled();
+        runQuery("CALL gds.features.useParallelScc($value)", Map.of("value", !useParallelScc));
+        assertEquals(!useParallelScc, USE_PARALLEL_SCC.isEnabled());
+        runQuery("CALL gds.features.useParallelScc($value)", Map.of("value", useParallelScc));
+        assertEquals(useParallelScc, USE_PARALLEL_SCC.isEnabled());
+    }
+
+    @Test
+    void resetUseParallelScc() {
+        USE_PARALLEL_SCC.reset();
+        assertCypherResult(
+            "CALL gds.features.useParallelScc.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_PARALLEL_SCC.isEnabled());
+    }
+
+    @Test
+    void toggleUseOrientedTriangleCount() {
+        var useOrientedTriangleCount = USE_ORIENTED_TRIANGLE_COUNT.isEnabled();
+        runQuery("CALL gds.features.useOrientedTriangleCount($value)", Map.of("value", !useOrientedTriangleCount));
+        assertEquals(!useOrientedTriangleCount, USE_ORIENTED_TRIANGLE_COUNT.isEnabled());
+        runQuery("CALL gds.features.useOrientedTriangleCount($value)", Map.of("value", useOrientedTriangleCount));
+        assertEquals(useOrientedTriangleCount, USE_ORIENTED_TRIANGLE_COUNT.isEnabled());
+    }
+
+    @Test
+    void resetUseOrientedTriangleCount() {
+        USE_ORIENTED_TRIANGLE_COUNT.reset();
+        assertCypherResult(
+            "CALL gds.features.useOrientedTriangleCount.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_ORIENTED_TRIANGLE_COUNT.isEnabled());
+    }
+
+    @Test
+    void setPagePoolMaxBytes() {
+        runQuery("CALL gds.features.pagePool.maxBytes(1024)");
+        assertEquals(1024L, PagePool.instance().maxPooledBytes());
+        var defaultMaxBytes = runQuery(
+            "CALL gds.features.pagePool.reset()",
+            result -> result.<Long>columnAs("value").next()
+        );
+        assertEquals((long) defaultMaxBytes, PagePool.instance().maxPooledBytes());
+    }
+
+    @Test
+    void toggleUseAdmissionControl() {
+        var useAdmissionControl = USE_ADMISSION_CONTROL.isEnabled();
+        runQuery("CALL gds.features.useAdmissionControl($value)", Map.of("value", !useAdmissionControl));
+        assertEquals(!useAdmissionControl, USE_ADMISSION_CONTROL.isEnabled());
+        runQuery("CALL gds.features.useAdmissionControl($value)", Map.of("value", useAdmissionControl));
+        assertEquals(useAdmissionControl, USE_ADMISSION_CONTROL.isEnabled());
+    }
+
+    @Test
+    void resetUseAdmissionControl() {
+        USE_ADMISSION_CONTROL.reset();
+        assertCypherResult(
+            "CALL gds.features.useAdmissionControl.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_ADMISSION_CONTROL.isEnabled());
+    }
+
+    @Test
+    void setAdmissionControlLimits() {
+        var scheduler = JobScheduler.instance();
+        try {
+            runQuery("CALL gds.features.admissionControl.maxConcurrency(3)");
+            runQuery("CALL gds.features.admissionControl.maxConcurrencyPerUser(2)");
+            runQuery("CALL gds.features.admissionControl.maxConcurrencyPerDatabase(1)");
+            runQuery("CALL gds.features.admissionControl.userPriority('alice', 'high')");
+            assertEquals(3, scheduler.maxConcurrency());
+            assertEquals(2, scheduler.maxConcurrencyPerUser());
+            assertEquals(1, scheduler.maxConcurrencyPerDatabase());
+            assertEquals(JobScheduler.Priority.HIGH, scheduler.userPriority("alice"));
+        } finally {
+            scheduler.resetLimits();
+        }
+    }
+
+    @Test
+    void setAdmissionControlLimitValidation() {
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.features.admissionControl.maxConcurrencyPerUser(0)")
+        );
+        assertThat(exception)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class)
+            .hasRootCauseMessage("Invalid value for maxConcurrencyPerUser, must be in [1, 2147483647]");
+        assertEquals(JobScheduler.UNLIMITED, JobScheduler.instance().maxConcurrencyPerUser());
+    }
+
+    @Test
+    void resetAdmissionControl() {
+        var scheduler = JobScheduler.instance();
+        scheduler.setMaxConcurrencyPerDatabase(1);
+        scheduler.setUserPriority("alice", JobScheduler.Priority.LOW);
+        assertCypherResult(
+            "CALL gds.features.admissionControl.reset()",
+            List.of(Map.of("value", (long) Runtime.getRuntime().availableProcessors()))
+        );
+        assertEquals(JobScheduler.UNLIMITED, scheduler.maxConcurrencyPerDatabase());
+        assertEquals(JobScheduler.Priority.NORMAL, scheduler.userPriority("alice"));
+    }
+
     @Test
     void toggleMaxArrayLengthShift() {
         var maxArrayLengthShift = GdsFeatureToggles.MAX_ARRAY_LENGTH_SHIFT.get();
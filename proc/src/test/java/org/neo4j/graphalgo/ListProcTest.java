@@ -38,6 +38,10 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringMutateProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStatsProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionMutateProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStatsProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStreamProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
@@ -60,6 +64,7 @@ import org.neo4j.graphalgo.labelpropagation.LabelPropagationMutateProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationStatsProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationStreamProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationWriteProc;
+import org.neo4j.graphalgo.leiden.LeidenStreamProc;
 import org.neo4j.graphalgo.louvain.LouvainMutateProc;
 import org.neo4j.graphalgo.louvain.LouvainStatsProc;
 import org.neo4j.graphalgo.louvain.LouvainStreamProc;
@@ -85,6 +90,7 @@ import org.neo4j.graphalgo.triangle.TriangleCountStatsProc;
 import org.neo4j.graphalgo.triangle.TriangleCountStreamProc;
 import org.neo4j.graphalgo.triangle.TriangleCountWriteProc;
 import org.neo4j.graphalgo.wcc.WccMutateProc;
+import org.neo4j.graphalgo.wcc.WccStateProc;
 import org.neo4j.graphalgo.wcc.WccStatsProc;
 import org.neo4j.graphalgo.wcc.WccStreamProc;
 import org.neo4j.graphalgo.wcc.WccWriteProc;
@@ -128,6 +134,14 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.k1coloring.stream.estimate",
         "gds.beta.k1coloring.write",
         "gds.beta.k1coloring.write.estimate",
+        "gds.beta.kcore.mutate",
+        "gds.beta.kcore.mutate.estimate",
+        "gds.beta.kcore.stats",
+        "gds.beta.kcore.stats.estimate",
+        "gds.beta.kcore.stream",
+        "gds.beta.kcore.stream.estimate",
+        "gds.beta.kcore.write",
+        "gds.beta.kcore.write.estimate",
 
         "gds.beta.knn.mutate",
         "gds.beta.knn.mutate.estimate",
@@ -138,6 +152,9 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.knn.write",
         "gds.beta.knn.write.estimate",
 
+        "gds.beta.leiden.stream",
+        "gds.beta.leiden.stream.estimate",
+
         "gds.beta.modularityOptimization.mutate",
         "gds.beta.modularityOptimization.mutate.estimate",
         "gds.beta.modularityOptimization.stream",
@@ -221,6 +238,9 @@ class ListProcTest extends BaseProcTest {
         "gds.wcc.stream.estimate",
         "gds.wcc.write",
         "gds.wcc.write.estimate",
+        "gds.beta.wcc.state.create",
+        "gds.beta.wcc.state.stream",
+        "gds.beta.wcc.state.update",
 
         "gds.triangleCount.mutate",
         "gds.triangleCount.mutate.estimate",
@@ -297,6 +317,10 @@ class ListProcTest extends BaseProcTest {
             K1ColoringStatsProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
+            KCoreDecompositionMutateProc.class,
+            KCoreDecompositionStatsProc.class,
+            KCoreDecompositionStreamProc.class,
+            KCoreDecompositionWriteProc.class,
             KnnMutateProc.class,
             KnnStatsProc.class,
             KnnStreamProc.class,
@@ -305,6 +329,7 @@ class ListProcTest extends BaseProcTest {
             LabelPropagationStreamProc.class,
             LabelPropagationStatsProc.class,
             LabelPropagationMutateProc.class,
+            LeidenStreamProc.class,
             ListProc.class,
             LouvainWriteProc.class,
             LouvainStreamProc.class,
@@ -329,6 +354,7 @@ class ListProcTest extends BaseProcTest {
             WccStreamProc.class,
             WccMutateProc.class,
             WccStatsProc.class,
+            WccStateProc.class,
             LocalClusteringCoefficientStreamProc.class,
             LocalClusteringCoefficientStatsProc.class,
             LocalClusteringCoefficientWriteProc.class,